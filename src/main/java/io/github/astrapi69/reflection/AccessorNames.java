@@ -0,0 +1,130 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link AccessorNames} holds the names of the accessor methods of a field. The names
+ * are derived once from the field name and are interned, so they can be compared and used as map
+ * keys without further string operations
+ */
+public final class AccessorNames
+{
+
+	/** The prefix of getter methods */
+	public static final String GET_PREFIX = "get";
+
+	/** The prefix of getter methods of boolean fields */
+	public static final String IS_PREFIX = "is";
+
+	/** The prefix of setter methods */
+	public static final String SET_PREFIX = "set";
+
+	/**
+	 * The name of the field
+	 */
+	@Getter
+	private final String fieldName;
+
+	/**
+	 * The name of the getter method, for instance getName
+	 */
+	@Getter
+	private final String getterName;
+
+	/**
+	 * The name of the getter method of a boolean field, for instance isMarried
+	 */
+	@Getter
+	private final String isName;
+
+	/**
+	 * The name of the setter method, for instance setName
+	 */
+	@Getter
+	private final String setterName;
+
+	/**
+	 * The name of the fluent accessor method, that is the field name itself
+	 */
+	@Getter
+	private final String fluentName;
+
+	private AccessorNames(final String fieldName)
+	{
+		this.fieldName = fieldName.intern();
+		this.getterName = methodName(GET_PREFIX, fieldName).intern();
+		this.isName = methodName(IS_PREFIX, fieldName).intern();
+		this.setterName = methodName(SET_PREFIX, fieldName).intern();
+		this.fluentName = this.fieldName;
+	}
+
+	/**
+	 * Factory method for create a new {@link AccessorNames} object from the given field name
+	 *
+	 * @param fieldName
+	 *            the field name
+	 * @return the new {@link AccessorNames} object
+	 */
+	public static AccessorNames of(final @NonNull String fieldName)
+	{
+		return new AccessorNames(fieldName);
+	}
+
+	/**
+	 * Creates the method name from the given prefix and the given field name with the first
+	 * character in upper case. The method name is written in one step without intermediate strings
+	 *
+	 * @param prefix
+	 *            the prefix
+	 * @param fieldName
+	 *            the field name
+	 * @return the method name
+	 */
+	static String methodName(final String prefix, final String fieldName)
+	{
+		if (fieldName.isEmpty())
+		{
+			return String.valueOf(prefix);
+		}
+		StringBuilder methodName = new StringBuilder(
+			String.valueOf(prefix).length() + fieldName.length());
+		methodName.append(prefix).append(Character.toUpperCase(fieldName.charAt(0)))
+			.append(fieldName, 1, fieldName.length());
+		return methodName.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "AccessorNames[" + getterName + ", " + isName + ", " + setterName + ", "
+			+ fluentName + "]";
+	}
+}
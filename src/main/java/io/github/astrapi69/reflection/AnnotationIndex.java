@@ -0,0 +1,326 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link AnnotationIndex} holds the annotations of the fields, methods and constructors
+ * of a class that are resolved only once and are cached for all further calls. The index contains
+ * the annotations that are present on an element and the meta-annotations of these annotations,
+ * so an element that is annotated with an annotation that is itself annotated with an annotation
+ * X is found as an element that carries the annotation X
+ */
+public final class AnnotationIndex
+{
+
+	private static final ReflectionCache<AnnotationIndex> CACHE = new ReflectionCache<>(
+		AnnotationIndex::new);
+
+	private static final ReflectionCache<Map<Class<? extends Annotation>, Annotation>> META_ANNOTATIONS = new ReflectionCache<>(
+		AnnotationIndex::resolveMetaAnnotations);
+
+	/**
+	 * The indexed class
+	 */
+	@Getter
+	private final Class<?> type;
+
+	private final Map<Class<? extends Annotation>, List<FieldMetadata>> fieldsByAnnotation;
+
+	private final Map<Class<? extends Annotation>, List<Method>> methodsByAnnotation;
+
+	private final Map<Class<? extends Annotation>, List<Constructor<?>>> constructorsByAnnotation;
+
+	private final Map<Method, Map<Class<? extends Annotation>, Annotation>> methodAnnotations;
+
+	private final Map<Constructor<?>, Map<Class<? extends Annotation>, Annotation>> constructorAnnotations;
+
+	private AnnotationIndex(final Class<?> type)
+	{
+		this.type = type;
+		Map<Class<? extends Annotation>, List<FieldMetadata>> fields = new HashMap<>();
+		ClassMetadata.of(type).forEachField(field -> {
+			for (Class<? extends Annotation> annotationType : field.getAllAnnotations().keySet())
+			{
+				fields.computeIfAbsent(annotationType, key -> new ArrayList<>()).add(field);
+			}
+		});
+		Map<Class<? extends Annotation>, List<Method>> methods = new HashMap<>();
+		Map<Method, Map<Class<? extends Annotation>, Annotation>> annotationsOfMethods = new HashMap<>();
+		for (Class<?> current = type; current != null
+			&& current != Object.class; current = current.getSuperclass())
+		{
+			for (Method method : current.getDeclaredMethods())
+			{
+				if (!method.isSynthetic() && !method.isBridge())
+				{
+					index(method, methods, annotationsOfMethods);
+				}
+			}
+		}
+		Map<Class<? extends Annotation>, List<Constructor<?>>> constructors = new HashMap<>();
+		Map<Constructor<?>, Map<Class<? extends Annotation>, Annotation>> annotationsOfConstructors = new HashMap<>();
+		for (Constructor<?> constructor : type.getDeclaredConstructors())
+		{
+			if (!constructor.isSynthetic())
+			{
+				index(constructor, constructors, annotationsOfConstructors);
+			}
+		}
+		this.fieldsByAnnotation = unmodifiable(fields);
+		this.methodsByAnnotation = unmodifiable(methods);
+		this.constructorsByAnnotation = unmodifiable(constructors);
+		this.methodAnnotations = annotationsOfMethods;
+		this.constructorAnnotations = annotationsOfConstructors;
+	}
+
+	/**
+	 * Gets the cached {@link AnnotationIndex} object of the given class. If no index exists yet it
+	 * will be resolved and cached
+	 *
+	 * @param cls
+	 *            the class object
+	 * @return the {@link AnnotationIndex} object of the given class
+	 */
+	public static AnnotationIndex of(final @NonNull Class<?> cls)
+	{
+		return CACHE.get(cls);
+	}
+
+	/**
+	 * Resolves the annotations that are present on the given element together with their
+	 * meta-annotations. An annotation that is present on the element takes precedence over a
+	 * meta-annotation of the same type
+	 *
+	 * @param element
+	 *            the annotated element
+	 * @return a new map with the annotation types as keys and the annotations as values
+	 */
+	static Map<Class<? extends Annotation>, Annotation> resolveAnnotations(
+		final AnnotatedElement element)
+	{
+		Annotation[] annotations = element.getDeclaredAnnotations();
+		Map<Class<? extends Annotation>, Annotation> resolved = new LinkedHashMap<>(
+			InstanceFactory.hashCapacity(annotations.length));
+		for (Annotation annotation : annotations)
+		{
+			resolved.put(annotation.annotationType(), annotation);
+		}
+		for (Annotation annotation : annotations)
+		{
+			for (Map.Entry<Class<? extends Annotation>, Annotation> metaAnnotation : META_ANNOTATIONS
+				.get(annotation.annotationType()).entrySet())
+			{
+				resolved.putIfAbsent(metaAnnotation.getKey(), metaAnnotation.getValue());
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * Finds the annotation of the given type on the given element. The annotation is found if it
+	 * is present on the element or if it is a meta-annotation of an annotation that is present on
+	 * the element
+	 *
+	 * @param <A>
+	 *            the generic type of the annotation
+	 * @param element
+	 *            the annotated element
+	 * @param annotationType
+	 *            the annotation type
+	 * @return the found annotation or null if the annotation is not found
+	 */
+	public static <A extends Annotation> A findAnnotation(final @NonNull AnnotatedElement element,
+		final @NonNull Class<A> annotationType)
+	{
+		A annotation = element.getAnnotation(annotationType);
+		if (annotation != null)
+		{
+			return annotation;
+		}
+		for (Annotation present : element.getDeclaredAnnotations())
+		{
+			Annotation metaAnnotation = META_ANNOTATIONS.get(present.annotationType())
+				.get(annotationType);
+			if (metaAnnotation != null)
+			{
+				return annotationType.cast(metaAnnotation);
+			}
+		}
+		return null;
+	}
+
+	private static Map<Class<? extends Annotation>, Annotation> resolveMetaAnnotations(
+		final Class<?> annotationType)
+	{
+		Map<Class<? extends Annotation>, Annotation> metaAnnotations = new LinkedHashMap<>();
+		Deque<Class<?>> pending = new ArrayDeque<>();
+		pending.add(annotationType);
+		while (!pending.isEmpty())
+		{
+			for (Annotation annotation : pending.poll().getDeclaredAnnotations())
+			{
+				Class<? extends Annotation> metaAnnotationType = annotation.annotationType();
+				if (metaAnnotationType != annotationType
+					&& !"java.lang.annotation".equals(metaAnnotationType.getPackageName())
+					&& metaAnnotations.putIfAbsent(metaAnnotationType, annotation) == null)
+				{
+					pending.add(metaAnnotationType);
+				}
+			}
+		}
+		return Collections.unmodifiableMap(metaAnnotations);
+	}
+
+	private static <E extends AnnotatedElement> void index(final E element,
+		final Map<Class<? extends Annotation>, List<E>> elementsByAnnotation,
+		final Map<E, Map<Class<? extends Annotation>, Annotation>> annotationsOfElements)
+	{
+		Map<Class<? extends Annotation>, Annotation> annotations = resolveAnnotations(element);
+		if (annotations.isEmpty())
+		{
+			return;
+		}
+		annotationsOfElements.put(element, Collections.unmodifiableMap(annotations));
+		for (Class<? extends Annotation> annotationType : annotations.keySet())
+		{
+			elementsByAnnotation.computeIfAbsent(annotationType, key -> new ArrayList<>())
+				.add(element);
+		}
+	}
+
+	private static <E> Map<Class<? extends Annotation>, List<E>> unmodifiable(
+		final Map<Class<? extends Annotation>, List<E>> elementsByAnnotation)
+	{
+		for (Map.Entry<Class<? extends Annotation>, List<E>> entry : elementsByAnnotation
+			.entrySet())
+		{
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		return elementsByAnnotation;
+	}
+
+	/**
+	 * Gets all fields of the class and all superclasses that carry the given annotation directly
+	 * or as meta-annotation
+	 *
+	 * @param annotationType
+	 *            the annotation type
+	 * @return an unmodifiable list with the fields that carry the given annotation
+	 */
+	public List<FieldMetadata> getFieldsAnnotatedWith(
+		final @NonNull Class<? extends Annotation> annotationType)
+	{
+		return fieldsByAnnotation.getOrDefault(annotationType, Collections.emptyList());
+	}
+
+	/**
+	 * Gets all methods that are declared in the class and all superclasses and carry the given
+	 * annotation directly or as meta-annotation
+	 *
+	 * @param annotationType
+	 *            the annotation type
+	 * @return an unmodifiable list with the methods that carry the given annotation
+	 */
+	public List<Method> getMethodsAnnotatedWith(
+		final @NonNull Class<? extends Annotation> annotationType)
+	{
+		return methodsByAnnotation.getOrDefault(annotationType, Collections.emptyList());
+	}
+
+	/**
+	 * Gets all constructors of the class that carry the given annotation directly or as
+	 * meta-annotation
+	 *
+	 * @param annotationType
+	 *            the annotation type
+	 * @return an unmodifiable list with the constructors that carry the given annotation
+	 */
+	public List<Constructor<?>> getConstructorsAnnotatedWith(
+		final @NonNull Class<? extends Annotation> annotationType)
+	{
+		return constructorsByAnnotation.getOrDefault(annotationType, Collections.emptyList());
+	}
+
+	/**
+	 * Gets the annotation of the given type of the given method from the index
+	 *
+	 * @param <A>
+	 *            the generic type of the annotation
+	 * @param method
+	 *            the method that is declared in the class or in one of the superclasses
+	 * @param annotationType
+	 *            the annotation type
+	 * @return the annotation or null if the method does not carry the given annotation
+	 */
+	public <A extends Annotation> A getAnnotation(final @NonNull Method method,
+		final @NonNull Class<A> annotationType)
+	{
+		return annotationType.cast(
+			methodAnnotations.getOrDefault(method, Collections.emptyMap()).get(annotationType));
+	}
+
+	/**
+	 * Gets the annotation of the given type of the given constructor from the index
+	 *
+	 * @param <A>
+	 *            the generic type of the annotation
+	 * @param constructor
+	 *            the constructor of the class
+	 * @param annotationType
+	 *            the annotation type
+	 * @return the annotation or null if the constructor does not carry the given annotation
+	 */
+	public <A extends Annotation> A getAnnotation(final @NonNull Constructor<?> constructor,
+		final @NonNull Class<A> annotationType)
+	{
+		return annotationType.cast(constructorAnnotations
+			.getOrDefault(constructor, Collections.emptyMap()).get(annotationType));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "AnnotationIndex[" + type.getName() + "]";
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.reflect.Array;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link ArrayAllocator} creates new arrays over the component type. The primitive
+ * component types are dispatched over a precomputed table and the arrays of reference component
+ * types are created with {@link Array#newInstance(Class, int)}
+ */
+public final class ArrayAllocator
+{
+
+	private static final Map<Class<?>, IntFunction<Object>> PRIMITIVE_ALLOCATORS = newPrimitiveAllocators();
+
+	private ArrayAllocator()
+	{
+	}
+
+	/**
+	 * Creates a new array with the given component type and the given length
+	 *
+	 * @param componentType
+	 *            the component type of the array
+	 * @param length
+	 *            the length of the array
+	 * @return the new array
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given component type is void
+	 * @throws NegativeArraySizeException
+	 *             is thrown if the given length is negative
+	 */
+	public static Object newArray(final @NonNull Class<?> componentType, final int length)
+	{
+		if (componentType.isPrimitive())
+		{
+			return getPrimitiveAllocator(componentType).apply(length);
+		}
+		return Array.newInstance(componentType, length);
+	}
+
+	/**
+	 * Creates a new rectangular multi-dimensional array with the given component type and the
+	 * given dimensions in one call, for instance the component type int.class and the dimensions
+	 * 2 and 3 creates an int[2][3] array
+	 *
+	 * @param componentType
+	 *            the component type of the innermost arrays
+	 * @param dimensions
+	 *            the lengths of the dimensions
+	 * @return the new multi-dimensional array
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given component type is void, no dimensions are given or the
+	 *             number of dimensions exceeds the maximum number of array dimensions
+	 * @throws NegativeArraySizeException
+	 *             is thrown if one of the given dimensions is negative
+	 */
+	public static Object newMultiArray(final @NonNull Class<?> componentType,
+		final int @NonNull... dimensions)
+	{
+		if (dimensions.length == 1)
+		{
+			return newArray(componentType, dimensions[0]);
+		}
+		return Array.newInstance(componentType, dimensions);
+	}
+
+	/**
+	 * Creates a new jagged two-dimensional array with the given component type, the length of the
+	 * outer array is the number of the given row lengths and every row is created with its own
+	 * length, for instance the component type int.class and the row lengths 1, 2 and 3 creates an
+	 * int[3][] array with the rows int[1], int[2] and int[3]
+	 *
+	 * @param componentType
+	 *            the component type of the rows
+	 * @param rowLengths
+	 *            the lengths of the rows
+	 * @return the new jagged array
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given component type is void
+	 * @throws NegativeArraySizeException
+	 *             is thrown if one of the given row lengths is negative
+	 */
+	public static Object[] newJaggedArray(final @NonNull Class<?> componentType,
+		final int @NonNull... rowLengths)
+	{
+		Object[] rows = (Object[])Array.newInstance(componentType.arrayType(), rowLengths.length);
+		for (int i = 0; i < rowLengths.length; i++)
+		{
+			rows[i] = newArray(componentType, rowLengths[i]);
+		}
+		return rows;
+	}
+
+	private static Map<Class<?>, IntFunction<Object>> newPrimitiveAllocators()
+	{
+		Map<Class<?>, IntFunction<Object>> allocators = new IdentityHashMap<>();
+		allocators.put(boolean.class, boolean[]::new);
+		allocators.put(byte.class, byte[]::new);
+		allocators.put(char.class, char[]::new);
+		allocators.put(short.class, short[]::new);
+		allocators.put(int.class, int[]::new);
+		allocators.put(long.class, long[]::new);
+		allocators.put(float.class, float[]::new);
+		allocators.put(double.class, double[]::new);
+		return allocators;
+	}
+
+	private static IntFunction<Object> getPrimitiveAllocator(final Class<?> componentType)
+	{
+		IntFunction<Object> allocator = PRIMITIVE_ALLOCATORS.get(componentType);
+		if (allocator == null)
+		{
+			throw new IllegalArgumentException("Arrays of void can not be created");
+		}
+		return allocator;
+	}
+}
@@ -0,0 +1,257 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link BeanMapConverter} provides utility methods for convert java beans to maps and
+ * maps back to java beans. The conversion plan of a class is resolved only once and is cached for
+ * all further conversions of the same class
+ */
+public final class BeanMapConverter
+{
+
+	private static final ReflectionCache<ConversionPlan> PLANS = new ReflectionCache<>(
+		ConversionPlan::new);
+
+	private BeanMapConverter()
+	{
+	}
+
+	/**
+	 * Converts the given bean to a map with the property names as keys and the property values as
+	 * values
+	 *
+	 * @param bean
+	 *            the bean to convert
+	 * @return the new map with the property names and values of the given bean
+	 */
+	public static Map<String, Object> toMap(final @NonNull Object bean)
+	{
+		return getConversionPlan(bean.getClass()).toMap(bean);
+	}
+
+	/**
+	 * Converts all the given beans to maps with the property names as keys and the property values
+	 * as values
+	 *
+	 * @param beans
+	 *            the beans to convert
+	 * @return the list with the new maps in the same order as the given beans
+	 */
+	public static List<Map<String, Object>> toMaps(final @NonNull Collection<?> beans)
+	{
+		List<Map<String, Object>> maps = new ArrayList<>(beans.size());
+		ConversionPlan plan = null;
+		for (Object bean : beans)
+		{
+			if (plan == null || plan.type != bean.getClass())
+			{
+				plan = getConversionPlan(bean.getClass());
+			}
+			maps.add(plan.toMap(bean));
+		}
+		return maps;
+	}
+
+	/**
+	 * Converts the given map to a new instance of the given class. The map keys are the property
+	 * names and the map values are the property values. Records are created over their canonical
+	 * constructor
+	 *
+	 * @param <T>
+	 *            the generic type of the bean
+	 * @param map
+	 *            the map with the property names and values
+	 * @param cls
+	 *            the class of the bean
+	 * @return the new bean with the property values from the given map
+	 */
+	public static <T> T toObject(final @NonNull Map<String, ?> map, final @NonNull Class<T> cls)
+	{
+		return cls.cast(getConversionPlan(cls).toObject(map));
+	}
+
+	/**
+	 * Converts all the given maps to new instances of the given class
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param maps
+	 *            the maps with the property names and values
+	 * @param cls
+	 *            the class of the beans
+	 * @return the list with the new beans in the same order as the given maps
+	 */
+	public static <T> List<T> toObjects(final @NonNull Collection<? extends Map<String, ?>> maps,
+		final @NonNull Class<T> cls)
+	{
+		ConversionPlan plan = getConversionPlan(cls);
+		List<T> beans = new ArrayList<>(maps.size());
+		for (Map<String, ?> map : maps)
+		{
+			beans.add(cls.cast(plan.toObject(map)));
+		}
+		return beans;
+	}
+
+	/**
+	 * Sets all property values from the given map to the given bean. Properties that are not
+	 * contained in the given map are not touched
+	 *
+	 * @param <T>
+	 *            the generic type of the bean
+	 * @param map
+	 *            the map with the property names and values
+	 * @param bean
+	 *            the bean to populate
+	 * @return the given bean
+	 */
+	public static <T> T populate(final @NonNull Map<String, ?> map, final @NonNull T bean)
+	{
+		getConversionPlan(bean.getClass()).populate(map, bean);
+		return bean;
+	}
+
+	private static ConversionPlan getConversionPlan(final Class<?> cls)
+	{
+		return PLANS.get(cls);
+	}
+
+	private static final class ConversionPlan
+	{
+
+		private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+		private final Class<?> type;
+
+		private final PropertyAccessor[] readers;
+
+		private final PropertyAccessor[] writers;
+
+		private final MethodHandle constructor;
+
+		private final RecordMetadata<?> recordMetadata;
+
+		private ConversionPlan(final Class<?> type)
+		{
+			this.type = type;
+			this.recordMetadata = type.isRecord()
+				? RecordMetadata.of(type.asSubclass(Record.class))
+				: null;
+			List<PropertyAccessor> readable = new ArrayList<>();
+			List<PropertyAccessor> writable = new ArrayList<>();
+			for (PropertyAccessor accessor : ClassMetadata.of(type).getPropertyAccessors())
+			{
+				if (accessor.isReadable())
+				{
+					readable.add(accessor);
+				}
+				if (accessor.isWritable())
+				{
+					writable.add(accessor);
+				}
+			}
+			this.readers = readable.toArray(new PropertyAccessor[0]);
+			this.writers = writable.toArray(new PropertyAccessor[0]);
+			this.constructor = recordMetadata == null ? resolveDefaultConstructor(type) : null;
+		}
+
+		private static MethodHandle resolveDefaultConstructor(final Class<?> type)
+		{
+			try
+			{
+				Constructor<?> defaultConstructor = type.getDeclaredConstructor();
+				if (defaultConstructor.trySetAccessible())
+				{
+					return MethodHandles.lookup().unreflectConstructor(defaultConstructor)
+						.asType(CONSTRUCTOR_TYPE);
+				}
+			}
+			catch (NoSuchMethodException | IllegalAccessException e)
+			{
+				// the instance will be created over the InstanceFactory
+			}
+			return null;
+		}
+
+		@SneakyThrows
+		private Object newInstance()
+		{
+			if (constructor != null)
+			{
+				return (Object)constructor.invokeExact();
+			}
+			return InstanceFactory.newInstance(type);
+		}
+
+		private Object toObject(final Map<String, ?> map)
+		{
+			if (recordMetadata != null)
+			{
+				return recordMetadata.fromMap(map);
+			}
+			return populate(map, newInstance());
+		}
+
+		private Map<String, Object> toMap(final Object bean)
+		{
+			Map<String, Object> map = new LinkedHashMap<>(
+				InstanceFactory.hashCapacity(readers.length));
+			for (PropertyAccessor reader : readers)
+			{
+				map.put(reader.getName(), reader.getValue(bean));
+			}
+			return map;
+		}
+
+		private Object populate(final Map<String, ?> map, final Object bean)
+		{
+			for (PropertyAccessor writer : writers)
+			{
+				Object value = map.get(writer.getName());
+				if (value == null && (writer.getType().isPrimitive()
+					|| !map.containsKey(writer.getName())))
+				{
+					continue;
+				}
+				writer.setValue(bean, value);
+			}
+			return bean;
+		}
+	}
+}
@@ -0,0 +1,381 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import io.github.astrapi69.lang.ClassType;
+import io.github.astrapi69.lang.ObjectExtensions;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link BeanMapper} maps the field values of a source class to the fields of a
+ * different target class. The fields are matched by their names and compatible types once and
+ * the resulting plan holds one composed {@link MethodHandle} for every mapped field that reads the
+ * source field, converts the value and writes the target field. Primitive values are mapped
+ * without boxing. Arrays, collections and maps are copied like in
+ * {@link ReflectionExtensions#setFieldValue(Object, Field, Object)}, enum constants are
+ * translated with the {@link EnumTranslator} and final or static target fields are not mapped
+ *
+ * @param <S>
+ *            the generic type of the source class
+ * @param <T>
+ *            the generic type of the target class
+ */
+public final class BeanMapper<S, T>
+{
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodHandle APPLY;
+
+	private static final MethodHandle COPY_ARRAY;
+
+	private static final MethodHandle COPY_CONTAINER;
+
+	private static final MethodHandle COPY_ENUM;
+
+	private static final MethodHandle NON_NULL;
+
+	static
+	{
+		try
+		{
+			APPLY = LOOKUP.findVirtual(Function.class, "apply",
+				MethodType.methodType(Object.class, Object.class));
+			COPY_ARRAY = LOOKUP.findStatic(ReflectionExtensions.class, "copyOfArray",
+				MethodType.methodType(Object.class, Object.class));
+			COPY_CONTAINER = LOOKUP.findStatic(ReflectionExtensions.class, "copyOfContainer",
+				MethodType.methodType(Object.class, Object.class, Class.class));
+			COPY_ENUM = LOOKUP.findStatic(ReflectionExtensions.class, "copyOfEnumValue",
+				MethodType.methodType(Object.class, Object.class, Class.class));
+			NON_NULL = LOOKUP.findStatic(Objects.class, "nonNull",
+				MethodType.methodType(boolean.class, Object.class));
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static final ClassPairCache<BeanMapper<?, ?>> MAPPERS = new ClassPairCache<>(
+		(sourceType, targetType) -> new BeanMapper<>(sourceType, targetType,
+			Collections.emptyMap(), Collections.emptyMap()));
+
+	/**
+	 * The source class
+	 */
+	@Getter
+	private final Class<S> sourceType;
+
+	/**
+	 * The target class
+	 */
+	@Getter
+	private final Class<T> targetType;
+
+	/**
+	 * The names of the mapped target fields as keys and the names of their source fields as values
+	 */
+	@Getter
+	private final Map<String, String> mappedFields;
+
+	/**
+	 * The composed handles with the type (Object, Object)void that map one field from the source
+	 * object in the second argument to the target object in the first argument
+	 */
+	private final MethodHandle[] steps;
+
+	private BeanMapper(final Class<S> sourceType, final Class<T> targetType,
+		final Map<String, String> renames, final Map<String, ? extends Function<?, ?>> converters)
+	{
+		this.sourceType = sourceType;
+		this.targetType = targetType;
+		Map<String, String> sourceNames = new HashMap<>(InstanceFactory.hashCapacity(renames.size()));
+		for (Map.Entry<String, String> rename : renames.entrySet())
+		{
+			sourceNames.put(rename.getValue(), rename.getKey());
+		}
+		ClassMetadata sourceMetadata = ClassMetadata.of(sourceType);
+		List<FieldMetadata> targetFields = ClassMetadata.of(targetType).getInstanceFields();
+		Map<String, String> mapped = new LinkedHashMap<>(
+			InstanceFactory.hashCapacity(targetFields.size()));
+		MethodHandle[] compiled = new MethodHandle[targetFields.size()];
+		int count = 0;
+		for (FieldMetadata targetField : targetFields)
+		{
+			String sourceName = sourceNames.getOrDefault(targetField.getName(),
+				targetField.getName());
+			FieldMetadata sourceField = sourceMetadata.findField(sourceName);
+			if (targetField.isFinal() || sourceField == null || sourceField.isStatic())
+			{
+				continue;
+			}
+			Function<?, ?> converter = converters.get(targetField.getName());
+			MethodHandle step = compile(sourceField, targetField, converter);
+			if (step == null)
+			{
+				if (sourceNames.containsKey(targetField.getName()))
+				{
+					throw new IllegalArgumentException("Renamed field " + sourceField
+						+ " has no type that is compatible to the field " + targetField);
+				}
+				continue;
+			}
+			compiled[count++] = step;
+			mapped.put(targetField.getName(), sourceName);
+		}
+		for (Map.Entry<String, String> rename : renames.entrySet())
+		{
+			if (!rename.getKey().equals(mapped.get(rename.getValue())))
+			{
+				throw new IllegalArgumentException("Renamed field " + rename.getKey() + " of "
+					+ sourceType.getName() + " can not be mapped to a field " + rename.getValue()
+					+ " of " + targetType.getName());
+			}
+		}
+		for (String converterName : converters.keySet())
+		{
+			if (!mapped.containsKey(converterName))
+			{
+				throw new IllegalArgumentException("Converter of the field " + converterName
+					+ " is not used, because " + targetType.getName()
+					+ " has no such field with a matching field of " + sourceType.getName());
+			}
+		}
+		this.steps = count == compiled.length ? compiled : Arrays.copyOf(compiled, count);
+		this.mappedFields = Collections.unmodifiableMap(mapped);
+	}
+
+	/**
+	 * Gets the cached {@link BeanMapper} object that maps the fields of the given source class to
+	 * the fields with the same name and a compatible type of the given target class
+	 *
+	 * @param <S>
+	 *            the generic type of the source class
+	 * @param <T>
+	 *            the generic type of the target class
+	 * @param sourceType
+	 *            the source class
+	 * @param targetType
+	 *            the target class
+	 * @return the cached {@link BeanMapper} object
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S, T> BeanMapper<S, T> of(final @NonNull Class<S> sourceType,
+		final @NonNull Class<T> targetType)
+	{
+		return (BeanMapper<S, T>)MAPPERS.get(sourceType, targetType);
+	}
+
+	/**
+	 * Factory method for create a new {@link BeanMapper} object that maps the fields of the given
+	 * source class to the fields of the given target class. The given rename map maps the names of
+	 * source fields to the names of target fields, all other fields are mapped by their names. The
+	 * given converters convert the source value of the target field with the name of the key. The
+	 * returned object is not cached and should be held from the caller
+	 *
+	 * @param <S>
+	 *            the generic type of the source class
+	 * @param <T>
+	 *            the generic type of the target class
+	 * @param sourceType
+	 *            the source class
+	 * @param targetType
+	 *            the target class
+	 * @param renames
+	 *            the map with the names of the source fields as keys and the names of the target
+	 *            fields as values
+	 * @param converters
+	 *            the map with the names of the target fields as keys and the converters of the
+	 *            source values as values
+	 * @return the new {@link BeanMapper} object
+	 * @throws IllegalArgumentException
+	 *             is thrown if a renamed field has no compatible type and no converter, if a key
+	 *             of the given rename map is not a source field that is mapped to the renamed
+	 *             target field or if a key of the given converters is not a mapped target field
+	 */
+	public static <S, T> BeanMapper<S, T> of(final @NonNull Class<S> sourceType,
+		final @NonNull Class<T> targetType, final @NonNull Map<String, String> renames,
+		final @NonNull Map<String, ? extends Function<?, ?>> converters)
+	{
+		return new BeanMapper<>(sourceType, targetType, renames, converters);
+	}
+
+	private static MethodHandle compile(final FieldMetadata sourceField,
+		final FieldMetadata targetField, final Function<?, ?> converter)
+	{
+		Class<?> sourceFieldType = sourceField.getType();
+		Class<?> targetFieldType = targetField.getType();
+		Field source = sourceField.getField();
+		Field target = targetField.getField();
+		source.trySetAccessible();
+		target.trySetAccessible();
+		MethodHandle getter;
+		MethodHandle setter;
+		try
+		{
+			getter = LOOKUP.unreflectGetter(source)
+				.asType(MethodType.methodType(sourceFieldType, Object.class));
+			setter = LOOKUP.unreflectSetter(target)
+				.asType(MethodType.methodType(void.class, Object.class, targetFieldType));
+		}
+		catch (IllegalAccessException e)
+		{
+			return null;
+		}
+		MethodHandle value;
+		if (converter != null)
+		{
+			value = MethodHandles.filterReturnValue(
+				getter.asType(MethodType.methodType(Object.class, Object.class)),
+				APPLY.bindTo(converter));
+		}
+		else if (sourceFieldType.isEnum() && targetFieldType.isEnum())
+		{
+			value = MethodHandles.filterReturnValue(
+				getter.asType(MethodType.methodType(Object.class, Object.class)),
+				MethodHandles.insertArguments(COPY_ENUM, 1, targetFieldType));
+		}
+		else if (targetFieldType.isAssignableFrom(sourceFieldType))
+		{
+			value = copyOf(getter, targetFieldType);
+		}
+		else if (wrap(sourceFieldType) == wrap(targetFieldType)
+			|| sourceFieldType.isPrimitive() && targetFieldType.isPrimitive()
+				&& OverloadResolver.isWidening(sourceFieldType, targetFieldType))
+		{
+			value = getter;
+		}
+		else
+		{
+			return null;
+		}
+		if (targetFieldType.isPrimitive() && !value.type().returnType().isPrimitive())
+		{
+			return skipNull(setter, value);
+		}
+		return MethodHandles.filterArguments(setter, 1,
+			value.asType(MethodType.methodType(targetFieldType, Object.class)));
+	}
+
+	/**
+	 * Composes the given setter of a primitive field with the given value handle that returns a
+	 * reference, so a null value is not unboxed and leaves the target field unchanged
+	 */
+	private static MethodHandle skipNull(final MethodHandle setter, final MethodHandle value)
+	{
+		MethodType stepType = MethodType.methodType(void.class, Object.class, Object.class);
+		MethodHandle guardedSetter = MethodHandles.guardWithTest(
+			MethodHandles.dropArguments(NON_NULL, 0, Object.class), setter.asType(stepType),
+			MethodHandles.empty(stepType));
+		return MethodHandles.filterArguments(guardedSetter, 1,
+			value.asType(MethodType.methodType(Object.class, Object.class)));
+	}
+
+	/**
+	 * Composes the given getter with a copy of arrays, collections and maps. A null value is not
+	 * copied and a collection or map that can not be copied to a container that fits to the given
+	 * field type is not copied but shared
+	 */
+	private static MethodHandle copyOf(final MethodHandle getter, final Class<?> fieldType)
+	{
+		ClassType classType = ObjectExtensions.getClassType(fieldType);
+		MethodHandle copy;
+		switch (classType)
+		{
+			case ARRAY :
+				copy = MethodHandles.guardWithTest(NON_NULL, COPY_ARRAY,
+					MethodHandles.identity(Object.class));
+				break;
+			case COLLECTION :
+			case MAP :
+				copy = MethodHandles.insertArguments(COPY_CONTAINER, 1, fieldType);
+				break;
+			default :
+				return getter;
+		}
+		return MethodHandles.filterReturnValue(
+			getter.asType(MethodType.methodType(Object.class, Object.class)), copy);
+	}
+
+	private static Class<?> wrap(final Class<?> type)
+	{
+		return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+	}
+
+	/**
+	 * Maps the field values of the given source object to the given target object
+	 *
+	 * @param source
+	 *            the source object
+	 * @param target
+	 *            the target object
+	 * @return the given target object
+	 */
+	@SneakyThrows
+	public T map(final @NonNull S source, final @NonNull T target)
+	{
+		for (MethodHandle step : steps)
+		{
+			step.invokeExact(target, source);
+		}
+		return target;
+	}
+
+	/**
+	 * Maps the field values of the given source object to a new instance of the target class
+	 *
+	 * @param source
+	 *            the source object
+	 * @return the new target object
+	 */
+	public T map(final @NonNull S source)
+	{
+		return map(source, InstanceFactory.newInstance(targetType));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "BeanMapper[" + sourceType.getName() + " to " + targetType.getName() + "]";
+	}
+}
@@ -0,0 +1,442 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link BeanView} implements an interface as view over a bean with a generated hidden
+ * class. The methods of the interface are delegated to the method of the bean with the same
+ * signature or if no such method exists the getter and setter methods are delegated to the field
+ * of the bean with the property name. Every generated method calls a constant
+ * {@link MethodHandle}, so in difference to a {@link Proxy} the arguments are not boxed and the
+ * call can be inlined. The hidden class is defined in the package of the interface, so it is
+ * loaded by the class loader of the interface. If the package of the interface is not open to this
+ * library or the interface is in another module, the views are created as {@link Proxy} over the
+ * same method handles
+ *
+ * @param <T>
+ *            the generic type of the interface
+ */
+public final class BeanView<T>
+{
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final String BEAN_FIELD_NAME = "bean";
+
+	private static final String HANDLE_FIELD_PREFIX = "handle";
+
+	private static final String OBJECT = ClassFileWriter.internalName(Object.class);
+
+	private static final String OBJECT_DESCRIPTOR = Object.class.descriptorString();
+
+	private static final String METHOD_HANDLE = ClassFileWriter
+		.internalName(MethodHandle.class);
+
+	private static final String METHOD_HANDLE_DESCRIPTOR = MethodHandle.class.descriptorString();
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class,
+		Object.class);
+
+	private static final MethodType PROXY_HANDLE_TYPE = MethodType.methodType(Object.class,
+		Object.class, Object[].class);
+
+	private static final MethodHandle PROXY_FACTORY = findProxyFactory();
+
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+
+	private static final ClassPairCache<BeanView<?>> VIEWS = new ClassPairCache<>(
+		BeanView::new);
+
+	/**
+	 * The interface that is implemented by the views
+	 */
+	@Getter
+	private final Class<T> viewType;
+
+	/**
+	 * The class of the beans
+	 */
+	@Getter
+	private final Class<?> beanType;
+
+	/**
+	 * The constructor handle of the hidden class or the factory of the proxies with the type
+	 * (Object)Object
+	 */
+	private final MethodHandle constructor;
+
+	private BeanView(final Class<T> viewType, final Class<?> beanType)
+	{
+		this.viewType = viewType;
+		this.beanType = beanType;
+		this.constructor = defineViewClass(viewType, beanType);
+	}
+
+	/**
+	 * Gets the cached {@link BeanView} object that implements the given interface for beans of the
+	 * given class. If no view class exists yet it will be generated and cached
+	 *
+	 * @param <T>
+	 *            the generic type of the interface
+	 * @param viewType
+	 *            the interface
+	 * @param beanType
+	 *            the class of the beans
+	 * @return the cached {@link BeanView} object
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given type is not a public interface or if an abstract method
+	 *             of the interface has no matching method or field in the bean class
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> BeanView<T> of(final @NonNull Class<T> viewType,
+		final @NonNull Class<?> beanType)
+	{
+		return (BeanView<T>)VIEWS.get(viewType, beanType);
+	}
+
+	/**
+	 * Factory method for create a new view of the given interface over the given bean
+	 *
+	 * @param <T>
+	 *            the generic type of the interface
+	 * @param viewType
+	 *            the interface
+	 * @param bean
+	 *            the bean
+	 * @return the new view over the given bean
+	 */
+	public static <T> T view(final @NonNull Class<T> viewType, final @NonNull Object bean)
+	{
+		return of(viewType, bean.getClass()).newView(bean);
+	}
+
+	/**
+	 * Factory method for create a new view over the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @return the new view over the given bean
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given bean is not an instance of the bean class
+	 */
+	@SneakyThrows
+	public T newView(final @NonNull Object bean)
+	{
+		if (!beanType.isInstance(bean))
+		{
+			throw new IllegalArgumentException("Bean of " + bean.getClass().getName()
+				+ " is not an instance of " + beanType.getName());
+		}
+		return viewType.cast((Object)constructor.invokeExact(bean));
+	}
+
+	private static MethodHandle defineViewClass(final Class<?> viewType, final Class<?> beanType)
+	{
+		if (!viewType.isInterface() || !Modifier.isPublic(viewType.getModifiers()))
+		{
+			throw new IllegalArgumentException(
+				"Type " + viewType.getName() + " is not a public interface");
+		}
+		BeanView.class.getModule().addReads(viewType.getModule());
+		Map<String, Method> viewMethods = new LinkedHashMap<>();
+		for (Method method : viewType.getMethods())
+		{
+			if (!Modifier.isStatic(method.getModifiers()))
+			{
+				viewMethods.putIfAbsent(method.getName() + MethodType
+					.methodType(method.getReturnType(), method.getParameterTypes())
+					.toMethodDescriptorString(), method);
+			}
+		}
+		List<Method> methods = new ArrayList<>();
+		List<MethodHandle> handles = new ArrayList<>();
+		for (Method method : viewMethods.values())
+		{
+			MethodHandle handle = findTarget(method, beanType);
+			if (handle == null)
+			{
+				if (method.isDefault())
+				{
+					continue;
+				}
+				throw new IllegalArgumentException("No method or field of " + beanType.getName()
+					+ " matches to the method " + method);
+			}
+			MethodType type = MethodType.methodType(method.getReturnType(), Object.class,
+				method.getParameterTypes());
+			try
+			{
+				handles.add(handle.asType(type));
+			}
+			catch (WrongMethodTypeException e)
+			{
+				throw new IllegalArgumentException("The method or field of " + beanType.getName()
+					+ " that matches to the method " + method + " has incompatible types", e);
+			}
+			methods.add(method);
+		}
+		MethodHandles.Lookup hostLookup = findHostLookup(viewType);
+		if (hostLookup == null)
+		{
+			return newProxyFactory(viewType, methods, handles);
+		}
+		byte[] classFile = writeViewClass(viewType, methods);
+		try
+		{
+			MethodHandles.Lookup lookup = hostLookup.defineHiddenClassWithClassData(classFile,
+				List.copyOf(handles), true);
+			return lookup
+				.findConstructor(lookup.lookupClass(),
+					MethodType.methodType(void.class, Object.class))
+				.asType(CONSTRUCTOR_TYPE);
+		}
+		catch (IllegalAccessException | NoSuchMethodException e)
+		{
+			throw new IllegalStateException(
+				"View class of " + viewType.getName() + " could not be defined", e);
+		}
+	}
+
+	/**
+	 * Finds the lookup in the given interface that can define the hidden class in the package of
+	 * the interface
+	 *
+	 * @param viewType
+	 *            the interface
+	 * @return the lookup with full privilege access in the given interface or null if the
+	 *         package of the interface is not open to this library or the interface is in
+	 *         another module
+	 */
+	private static MethodHandles.Lookup findHostLookup(final Class<?> viewType)
+	{
+		try
+		{
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(viewType, LOOKUP);
+			return lookup.hasFullPrivilegeAccess() ? lookup : null;
+		}
+		catch (IllegalAccessException e)
+		{
+			return null;
+		}
+	}
+
+	private static MethodHandle newProxyFactory(final Class<?> viewType,
+		final List<Method> methods, final List<MethodHandle> handles)
+	{
+		Map<Method, MethodHandle> proxyHandles = new HashMap<>(
+			InstanceFactory.hashCapacity(methods.size()));
+		for (int i = 0; i < methods.size(); i++)
+		{
+			MethodHandle handle = handles.get(i);
+			proxyHandles.put(methods.get(i),
+				handle.asSpreader(Object[].class, handle.type().parameterCount() - 1)
+					.asType(PROXY_HANDLE_TYPE));
+		}
+		return MethodHandles.insertArguments(PROXY_FACTORY, 0, viewType, proxyHandles);
+	}
+
+	private static MethodHandle findProxyFactory()
+	{
+		try
+		{
+			return LOOKUP.findStatic(BeanView.class, "newProxy", MethodType
+				.methodType(Object.class, Class.class, Map.class, Object.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static Object newProxy(final Class<?> viewType,
+		final Map<Method, MethodHandle> proxyHandles, final Object bean)
+	{
+		InvocationHandler handler = (proxy, method, arguments) -> {
+			MethodHandle handle = proxyHandles.get(method);
+			if (handle != null)
+			{
+				Object[] methodArguments = arguments == null ? NO_ARGUMENTS : arguments;
+				return (Object)handle.invokeExact(bean, methodArguments);
+			}
+			if (method.isDefault())
+			{
+				return InvocationHandler.invokeDefault(proxy, method, arguments);
+			}
+			switch (method.getName())
+			{
+				case "equals" :
+					return proxy == arguments[0];
+				case "hashCode" :
+					return System.identityHashCode(proxy);
+				default :
+					return viewType.getName() + "@"
+						+ Integer.toHexString(System.identityHashCode(proxy));
+			}
+		};
+		return Proxy.newProxyInstance(viewType.getClassLoader(), new Class<?>[] { viewType },
+			handler);
+	}
+
+	private static MethodHandle findTarget(final Method method, final Class<?> beanType)
+	{
+		try
+		{
+			try
+			{
+				Method beanMethod = MethodInvoker.findMethod(beanType, method.getName(),
+					method.getParameterTypes());
+				if (!Modifier.isStatic(beanMethod.getModifiers()))
+				{
+					beanMethod.trySetAccessible();
+					return LOOKUP.unreflect(beanMethod).asFixedArity();
+				}
+			}
+			catch (NoSuchMethodException e)
+			{
+				// the method is delegated to a field
+			}
+			boolean getter = BeanMethodResolver.isGetter(method);
+			if (!getter && !BeanMethodResolver.isSetter(method))
+			{
+				return null;
+			}
+			String methodName = method.getName();
+			String propertyName = methodName.substring(methodName.startsWith("is") ? 2 : 3);
+			FieldMetadata field = ClassMetadata.of(beanType).findField(
+				Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1));
+			if (field == null || field.isStatic())
+			{
+				return null;
+			}
+			field.getField().trySetAccessible();
+			return getter
+				? LOOKUP.unreflectGetter(field.getField())
+				: LOOKUP.unreflectSetter(field.getField());
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new IllegalArgumentException("The method or field of " + beanType.getName()
+				+ " that matches to the method " + method + " can not be accessed", e);
+		}
+	}
+
+	private static byte[] writeViewClass(final Class<?> viewType, final List<Method> methods)
+	{
+		String className = ClassFileWriter.internalName(viewType) + "$"
+			+ BeanView.class.getSimpleName();
+		ClassFileWriter writer = new ClassFileWriter(
+			ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER,
+			className, OBJECT, ClassFileWriter.internalName(viewType));
+		writer.addField(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_FINAL,
+			BEAN_FIELD_NAME, OBJECT_DESCRIPTOR);
+		for (int i = 0; i < methods.size(); i++)
+		{
+			writer.addField(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_STATIC
+				| ClassFileWriter.ACC_FINAL, HANDLE_FIELD_PREFIX + i, METHOD_HANDLE_DESCRIPTOR);
+		}
+		// constructor: super(); this.bean = bean;
+		writer.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "(Ljava/lang/Object;)V").op(0x2A)
+			.invoke(0xB7, OBJECT, "<init>", "()V").op(0x2A).op(0x2B)
+			.field(0xB5, className, BEAN_FIELD_NAME, OBJECT_DESCRIPTOR).op(0xB1).end(2, 2);
+		// static initializer: the handles are loaded from the class data
+		ClassFileWriter.Code initializer = writer
+			.addMethod(ClassFileWriter.ACC_STATIC, "<clinit>", "()V")
+			.invoke(0xB8, ClassFileWriter.internalName(MethodHandles.class), "lookup",
+				"()Ljava/lang/invoke/MethodHandles$Lookup;")
+			.ldcString("_").ldcClass(ClassFileWriter.internalName(List.class))
+			.invoke(0xB8, ClassFileWriter.internalName(MethodHandles.class), "classData",
+				"(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)"
+					+ OBJECT_DESCRIPTOR)
+			.type(0xC0, ClassFileWriter.internalName(List.class)).op(0x4B);
+		for (int i = 0; i < methods.size(); i++)
+		{
+			initializer.op(0x2A).push(i)
+				.invokeInterface(ClassFileWriter.internalName(List.class), "get",
+					"(I)Ljava/lang/Object;", 2)
+				.type(0xC0, METHOD_HANDLE)
+				.field(0xB3, className, HANDLE_FIELD_PREFIX + i, METHOD_HANDLE_DESCRIPTOR);
+		}
+		initializer.op(0xB1).end(3, 1);
+		// view methods: return handle.invokeExact(this.bean, arguments...)
+		for (int i = 0; i < methods.size(); i++)
+		{
+			Method method = methods.get(i);
+			Class<?> returnType = method.getReturnType();
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			ClassFileWriter.Code code = writer
+				.addMethod(ClassFileWriter.ACC_PUBLIC, method.getName(),
+					MethodType.methodType(returnType, parameterTypes).toMethodDescriptorString())
+				.field(0xB2, className, HANDLE_FIELD_PREFIX + i, METHOD_HANDLE_DESCRIPTOR)
+				.op(0x2A).field(0xB4, className, BEAN_FIELD_NAME, OBJECT_DESCRIPTOR);
+			int slot = 1;
+			for (Class<?> parameterType : parameterTypes)
+			{
+				code.load(parameterType, slot);
+				slot += slots(parameterType);
+			}
+			code.invoke(0xB6, METHOD_HANDLE, "invokeExact",
+				MethodType.methodType(returnType, Object.class, parameterTypes)
+					.toMethodDescriptorString())
+				.returnValue(returnType).end(Math.max(slot + 1, slots(returnType)), slot);
+		}
+		return writer.toByteArray();
+	}
+
+	private static int slots(final Class<?> type)
+	{
+		if (type == void.class)
+		{
+			return 0;
+		}
+		return type == long.class || type == double.class ? 2 : 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "BeanView[" + viewType.getName() + " over " + beanType.getName() + "]";
+	}
+}
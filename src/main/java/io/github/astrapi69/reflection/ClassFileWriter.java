@@ -0,0 +1,511 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class {@link ClassFileWriter} writes a minimal class file with fields and methods without
+ * branches, so no stack map frames are needed. It is used for generate the hidden classes of this
+ * library
+ */
+final class ClassFileWriter
+{
+
+	static final int ACC_PUBLIC = 0x0001;
+
+	static final int ACC_PRIVATE = 0x0002;
+
+	static final int ACC_STATIC = 0x0008;
+
+	static final int ACC_FINAL = 0x0010;
+
+	static final int ACC_SUPER = 0x0020;
+
+	/**
+	 * The class file version of java 17
+	 */
+	private static final int MAJOR_VERSION = 61;
+
+	private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+
+	private final DataOutputStream constantPoolOutput = new DataOutputStream(constantPool);
+
+	private final Map<String, Integer> constants = new HashMap<>();
+
+	private final List<byte[]> fields = new ArrayList<>();
+
+	private final List<byte[]> methods = new ArrayList<>();
+
+	private final int access;
+
+	private final int thisClass;
+
+	private final int superClass;
+
+	private final int[] interfaces;
+
+	private int constantCount = 1;
+
+	/**
+	 * Instantiates a new {@link ClassFileWriter}
+	 *
+	 * @param access
+	 *            the access flags of the class
+	 * @param internalName
+	 *            the internal name of the class
+	 * @param superName
+	 *            the internal name of the superclass
+	 * @param interfaceNames
+	 *            the internal names of the interfaces
+	 */
+	ClassFileWriter(final int access, final String internalName, final String superName,
+		final String... interfaceNames)
+	{
+		this.access = access;
+		this.thisClass = classConstant(internalName);
+		this.superClass = classConstant(superName);
+		this.interfaces = new int[interfaceNames.length];
+		for (int i = 0; i < interfaceNames.length; i++)
+		{
+			this.interfaces[i] = classConstant(interfaceNames[i]);
+		}
+	}
+
+	/**
+	 * Gets the internal name of the given class
+	 *
+	 * @param cls
+	 *            the class object
+	 * @return the internal name of the given class
+	 */
+	static String internalName(final Class<?> cls)
+	{
+		return cls.getName().replace('.', '/');
+	}
+
+	/**
+	 * Adds a field without attributes
+	 *
+	 * @param fieldAccess
+	 *            the access flags of the field
+	 * @param name
+	 *            the field name
+	 * @param descriptor
+	 *            the field descriptor
+	 */
+	void addField(final int fieldAccess, final String name, final String descriptor)
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(8);
+		try (DataOutputStream output = new DataOutputStream(bytes))
+		{
+			output.writeShort(fieldAccess);
+			output.writeShort(utf8Constant(name));
+			output.writeShort(utf8Constant(descriptor));
+			output.writeShort(0);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		fields.add(bytes.toByteArray());
+	}
+
+	/**
+	 * Begins a new method, the method is added to the class file with {@link Code#end(int, int)}
+	 *
+	 * @param methodAccess
+	 *            the access flags of the method
+	 * @param name
+	 *            the method name
+	 * @param descriptor
+	 *            the method descriptor
+	 * @return the {@link Code} object for write the byte code of the method
+	 */
+	Code addMethod(final int methodAccess, final String name, final String descriptor)
+	{
+		return new Code(methodAccess, utf8Constant(name), utf8Constant(descriptor));
+	}
+
+	/**
+	 * Writes the class file
+	 *
+	 * @return the bytes of the class file
+	 */
+	byte[] toByteArray()
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(constantPool.size() + 256);
+		try (DataOutputStream output = new DataOutputStream(bytes))
+		{
+			output.writeInt(0xCAFEBABE);
+			output.writeShort(0);
+			output.writeShort(MAJOR_VERSION);
+			output.writeShort(constantCount);
+			constantPool.writeTo(output);
+			output.writeShort(access);
+			output.writeShort(thisClass);
+			output.writeShort(superClass);
+			output.writeShort(interfaces.length);
+			for (int index : interfaces)
+			{
+				output.writeShort(index);
+			}
+			output.writeShort(fields.size());
+			for (byte[] field : fields)
+			{
+				output.write(field);
+			}
+			output.writeShort(methods.size());
+			for (byte[] method : methods)
+			{
+				output.write(method);
+			}
+			output.writeShort(0);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private int utf8Constant(final String value)
+	{
+		return constant("U" + value, 1, output -> output.writeUTF(value));
+	}
+
+	private int classConstant(final String internalName)
+	{
+		int nameIndex = utf8Constant(internalName);
+		return constant("C" + internalName, 7, output -> output.writeShort(nameIndex));
+	}
+
+	private int stringConstant(final String value)
+	{
+		int valueIndex = utf8Constant(value);
+		return constant("S" + value, 8, output -> output.writeShort(valueIndex));
+	}
+
+	private int memberConstant(final int tag, final String owner, final String name,
+		final String descriptor)
+	{
+		int classIndex = classConstant(owner);
+		int nameIndex = utf8Constant(name);
+		int descriptorIndex = utf8Constant(descriptor);
+		int nameAndTypeIndex = constant("N" + name + ":" + descriptor, 12, output -> {
+			output.writeShort(nameIndex);
+			output.writeShort(descriptorIndex);
+		});
+		return constant(tag + owner + "." + name + ":" + descriptor, tag, output -> {
+			output.writeShort(classIndex);
+			output.writeShort(nameAndTypeIndex);
+		});
+	}
+
+	private int constant(final String key, final int tag, final ConstantWriter writer)
+	{
+		Integer index = constants.get(key);
+		if (index == null)
+		{
+			try
+			{
+				constantPoolOutput.writeByte(tag);
+				writer.write(constantPoolOutput);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+			index = constantCount++;
+			constants.put(key, index);
+		}
+		return index;
+	}
+
+	@FunctionalInterface
+	private interface ConstantWriter
+	{
+		void write(DataOutputStream output) throws IOException;
+	}
+
+	/**
+	 * The class {@link Code} writes the byte code of a method
+	 */
+	final class Code
+	{
+
+		private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+
+		private final int methodAccess;
+
+		private final int nameIndex;
+
+		private final int descriptorIndex;
+
+		private Code(final int methodAccess, final int nameIndex, final int descriptorIndex)
+		{
+			this.methodAccess = methodAccess;
+			this.nameIndex = nameIndex;
+			this.descriptorIndex = descriptorIndex;
+		}
+
+		private Code u1(final int value)
+		{
+			code.write(value);
+			return this;
+		}
+
+		private Code u2(final int value)
+		{
+			code.write(value >>> 8);
+			code.write(value);
+			return this;
+		}
+
+		/**
+		 * Writes an instruction without operands
+		 *
+		 * @param opcode
+		 *            the opcode
+		 * @return this {@link Code} object
+		 */
+		Code op(final int opcode)
+		{
+			return u1(opcode);
+		}
+
+		/**
+		 * Writes an instruction that loads a local variable of the given type
+		 *
+		 * @param type
+		 *            the type of the local variable
+		 * @param slot
+		 *            the slot of the local variable
+		 * @return this {@link Code} object
+		 */
+		Code load(final Class<?> type, final int slot)
+		{
+			int opcode;
+			if (type == long.class)
+			{
+				opcode = 0x16;
+			}
+			else if (type == float.class)
+			{
+				opcode = 0x17;
+			}
+			else if (type == double.class)
+			{
+				opcode = 0x18;
+			}
+			else if (type.isPrimitive())
+			{
+				opcode = 0x15;
+			}
+			else
+			{
+				opcode = 0x19;
+			}
+			return u1(opcode).u1(slot);
+		}
+
+		/**
+		 * Writes the return instruction for the given type
+		 *
+		 * @param type
+		 *            the return type
+		 * @return this {@link Code} object
+		 */
+		Code returnValue(final Class<?> type)
+		{
+			if (type == void.class)
+			{
+				return u1(0xB1);
+			}
+			if (type == long.class)
+			{
+				return u1(0xAD);
+			}
+			if (type == float.class)
+			{
+				return u1(0xAE);
+			}
+			if (type == double.class)
+			{
+				return u1(0xAF);
+			}
+			return u1(type.isPrimitive() ? 0xAC : 0xB0);
+		}
+
+		/**
+		 * Writes an instruction that pushes the given value between -32768 and 32767
+		 *
+		 * @param value
+		 *            the value
+		 * @return this {@link Code} object
+		 */
+		Code push(final int value)
+		{
+			return u1(0x11).u2(value);
+		}
+
+		/**
+		 * Writes an instruction that loads a string constant
+		 *
+		 * @param value
+		 *            the string value
+		 * @return this {@link Code} object
+		 */
+		Code ldcString(final String value)
+		{
+			return u1(0x13).u2(stringConstant(value));
+		}
+
+		/**
+		 * Writes an instruction that loads a class constant
+		 *
+		 * @param internalName
+		 *            the internal name of the class
+		 * @return this {@link Code} object
+		 */
+		Code ldcClass(final String internalName)
+		{
+			return u1(0x13).u2(classConstant(internalName));
+		}
+
+		/**
+		 * Writes an instruction with a class operand like checkcast
+		 *
+		 * @param opcode
+		 *            the opcode
+		 * @param internalName
+		 *            the internal name of the class
+		 * @return this {@link Code} object
+		 */
+		Code type(final int opcode, final String internalName)
+		{
+			return u1(opcode).u2(classConstant(internalName));
+		}
+
+		/**
+		 * Writes a field instruction like getfield or putstatic
+		 *
+		 * @param opcode
+		 *            the opcode
+		 * @param owner
+		 *            the internal name of the class that declares the field
+		 * @param name
+		 *            the field name
+		 * @param descriptor
+		 *            the field descriptor
+		 * @return this {@link Code} object
+		 */
+		Code field(final int opcode, final String owner, final String name,
+			final String descriptor)
+		{
+			return u1(opcode).u2(memberConstant(9, owner, name, descriptor));
+		}
+
+		/**
+		 * Writes an invoke instruction for a class method like invokevirtual or invokestatic
+		 *
+		 * @param opcode
+		 *            the opcode
+		 * @param owner
+		 *            the internal name of the class that declares the method
+		 * @param name
+		 *            the method name
+		 * @param descriptor
+		 *            the method descriptor
+		 * @return this {@link Code} object
+		 */
+		Code invoke(final int opcode, final String owner, final String name,
+			final String descriptor)
+		{
+			return u1(opcode).u2(memberConstant(10, owner, name, descriptor));
+		}
+
+		/**
+		 * Writes an invokeinterface instruction
+		 *
+		 * @param owner
+		 *            the internal name of the interface that declares the method
+		 * @param name
+		 *            the method name
+		 * @param descriptor
+		 *            the method descriptor
+		 * @param argumentSlots
+		 *            the number of argument slots including the target object
+		 * @return this {@link Code} object
+		 */
+		Code invokeInterface(final String owner, final String name, final String descriptor,
+			final int argumentSlots)
+		{
+			return u1(0xB9).u2(memberConstant(11, owner, name, descriptor)).u1(argumentSlots)
+				.u1(0);
+		}
+
+		/**
+		 * Ends the method and adds it to the class file
+		 *
+		 * @param maxStack
+		 *            the maximum depth of the operand stack
+		 * @param maxLocals
+		 *            the number of local variable slots
+		 */
+		void end(final int maxStack, final int maxLocals)
+		{
+			int codeAttributeName = utf8Constant("Code");
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(code.size() + 32);
+			try (DataOutputStream output = new DataOutputStream(bytes))
+			{
+				output.writeShort(methodAccess);
+				output.writeShort(nameIndex);
+				output.writeShort(descriptorIndex);
+				output.writeShort(1);
+				output.writeShort(codeAttributeName);
+				output.writeInt(12 + code.size());
+				output.writeShort(maxStack);
+				output.writeShort(maxLocals);
+				output.writeInt(code.size());
+				code.writeTo(output);
+				output.writeShort(0);
+				output.writeShort(0);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+			methods.add(bytes.toByteArray());
+		}
+	}
+}
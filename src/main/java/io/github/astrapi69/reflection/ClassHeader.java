@@ -0,0 +1,333 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.reflect.Modifier;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * The class {@link ClassHeader} holds the header data of a class file that is parsed without
+ * loading the class. Only the constant pool, the access flags, the class names of the super types
+ * and the runtime visible annotations of the class are read, the fields and methods are skipped
+ */
+@Getter
+public final class ClassHeader
+{
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+	/**
+	 * The binary name of the class
+	 */
+	private final String className;
+
+	/**
+	 * The binary name of the superclass or null if the class has no superclass
+	 */
+	private final String superclassName;
+
+	/**
+	 * The binary names of the directly implemented interfaces
+	 */
+	private final List<String> interfaceNames;
+
+	/**
+	 * The binary names of the runtime visible annotations of the class
+	 */
+	private final List<String> annotationNames;
+
+	/**
+	 * The access flags of the class
+	 */
+	private final int accessFlags;
+
+	private ClassHeader(final String className, final String superclassName,
+		final List<String> interfaceNames, final List<String> annotationNames,
+		final int accessFlags)
+	{
+		this.className = className;
+		this.superclassName = superclassName;
+		this.interfaceNames = interfaceNames;
+		this.annotationNames = annotationNames;
+		this.accessFlags = accessFlags;
+	}
+
+	/**
+	 * Parses the header of the class file in the given buffer
+	 *
+	 * @param buffer
+	 *            the buffer with the bytes of the class file
+	 * @return the parsed {@link ClassHeader} object
+	 * @throws IllegalArgumentException
+	 *             if the given buffer does not contain a valid class file
+	 */
+	static ClassHeader parse(final ByteBuffer buffer)
+	{
+		try
+		{
+			return read(buffer);
+		}
+		catch (BufferUnderflowException | IndexOutOfBoundsException exception)
+		{
+			throw new IllegalArgumentException("Truncated or malformed class file", exception);
+		}
+	}
+
+	private static ClassHeader read(final ByteBuffer buffer)
+	{
+		if (buffer.getInt() != MAGIC)
+		{
+			throw new IllegalArgumentException("No class file: invalid magic number");
+		}
+		// skip minor and major version
+		buffer.position(buffer.position() + 4);
+		int constantPoolCount = buffer.getShort() & 0xFFFF;
+		// the positions of the utf8 entries and the name indexes of the class entries
+		int[] entries = new int[constantPoolCount];
+		byte[] tags = new byte[constantPoolCount];
+		for (int index = 1; index < constantPoolCount; index++)
+		{
+			byte tag = buffer.get();
+			tags[index] = tag;
+			switch (tag)
+			{
+				case 1 :
+					entries[index] = buffer.position();
+					buffer.position(buffer.position() + 2 + (buffer.getShort() & 0xFFFF));
+					break;
+				case 7 :
+					entries[index] = buffer.getShort() & 0xFFFF;
+					break;
+				case 8 :
+				case 16 :
+				case 19 :
+				case 20 :
+					buffer.position(buffer.position() + 2);
+					break;
+				case 15 :
+					buffer.position(buffer.position() + 3);
+					break;
+				case 3 :
+				case 4 :
+				case 9 :
+				case 10 :
+				case 11 :
+				case 12 :
+				case 17 :
+				case 18 :
+					buffer.position(buffer.position() + 4);
+					break;
+				case 5 :
+				case 6 :
+					buffer.position(buffer.position() + 8);
+					index++;
+					break;
+				default :
+					throw new IllegalArgumentException(
+						"Invalid constant pool tag " + tag + " at index " + index);
+			}
+		}
+		int accessFlags = buffer.getShort() & 0xFFFF;
+		String className = className(buffer, tags, entries, buffer.getShort() & 0xFFFF);
+		int superclassIndex = buffer.getShort() & 0xFFFF;
+		String superclassName = superclassIndex == 0
+			? null
+			: className(buffer, tags, entries, superclassIndex);
+		int interfaceCount = buffer.getShort() & 0xFFFF;
+		List<String> interfaceNames = new ArrayList<>(interfaceCount);
+		for (int i = 0; i < interfaceCount; i++)
+		{
+			interfaceNames.add(className(buffer, tags, entries, buffer.getShort() & 0xFFFF));
+		}
+		// skip fields and methods
+		skipMembers(buffer);
+		skipMembers(buffer);
+		List<String> annotationNames = Collections.emptyList();
+		int attributeCount = buffer.getShort() & 0xFFFF;
+		for (int i = 0; i < attributeCount; i++)
+		{
+			String attributeName = utf8(buffer, tags, entries, buffer.getShort() & 0xFFFF);
+			int length = buffer.getInt();
+			int end = buffer.position() + length;
+			if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName))
+			{
+				int annotationCount = buffer.getShort() & 0xFFFF;
+				annotationNames = new ArrayList<>(annotationCount);
+				for (int j = 0; j < annotationCount; j++)
+				{
+					String descriptor = utf8(buffer, tags, entries, buffer.getShort() & 0xFFFF);
+					annotationNames.add(
+						descriptor.substring(1, descriptor.length() - 1).replace('/', '.'));
+					skipElementValuePairs(buffer);
+				}
+			}
+			buffer.position(end);
+		}
+		return new ClassHeader(className, superclassName,
+			Collections.unmodifiableList(interfaceNames),
+			Collections.unmodifiableList(annotationNames), accessFlags);
+	}
+
+	private static void skipMembers(final ByteBuffer buffer)
+	{
+		int memberCount = buffer.getShort() & 0xFFFF;
+		for (int i = 0; i < memberCount; i++)
+		{
+			// skip access flags, name index and descriptor index
+			buffer.position(buffer.position() + 6);
+			int attributeCount = buffer.getShort() & 0xFFFF;
+			for (int j = 0; j < attributeCount; j++)
+			{
+				buffer.position(buffer.position() + 2);
+				int length = buffer.getInt();
+				buffer.position(buffer.position() + length);
+			}
+		}
+	}
+
+	private static void skipElementValuePairs(final ByteBuffer buffer)
+	{
+		int pairCount = buffer.getShort() & 0xFFFF;
+		for (int i = 0; i < pairCount; i++)
+		{
+			buffer.position(buffer.position() + 2);
+			skipElementValue(buffer);
+		}
+	}
+
+	private static void skipElementValue(final ByteBuffer buffer)
+	{
+		byte tag = buffer.get();
+		switch (tag)
+		{
+			case 'e' :
+				buffer.position(buffer.position() + 4);
+				break;
+			case '@' :
+				buffer.position(buffer.position() + 2);
+				skipElementValuePairs(buffer);
+				break;
+			case '[' :
+				int valueCount = buffer.getShort() & 0xFFFF;
+				for (int i = 0; i < valueCount; i++)
+				{
+					skipElementValue(buffer);
+				}
+				break;
+			default :
+				buffer.position(buffer.position() + 2);
+				break;
+		}
+	}
+
+	private static String className(final ByteBuffer buffer, final byte[] tags,
+		final int[] entries, final int index)
+	{
+		if (tags[index] != 7)
+		{
+			throw new IllegalArgumentException("No class entry at constant pool index " + index);
+		}
+		return utf8(buffer, tags, entries, entries[index]).replace('/', '.');
+	}
+
+	private static String utf8(final ByteBuffer buffer, final byte[] tags, final int[] entries,
+		final int index)
+	{
+		if (tags[index] != 1)
+		{
+			throw new IllegalArgumentException("No utf8 entry at constant pool index " + index);
+		}
+		int position = entries[index];
+		int length = buffer.getShort(position) & 0xFFFF;
+		int offset = position + 2;
+		char[] chars = new char[length];
+		int count = 0;
+		for (int i = offset; i < offset + length; count++)
+		{
+			int first = buffer.get(i++) & 0xFF;
+			if (first < 0x80)
+			{
+				chars[count] = (char)first;
+			}
+			else if (first < 0xE0)
+			{
+				chars[count] = (char)(((first & 0x1F) << 6) | (buffer.get(i++) & 0x3F));
+			}
+			else
+			{
+				chars[count] = (char)(((first & 0x0F) << 12) | ((buffer.get(i++) & 0x3F) << 6)
+					| (buffer.get(i++) & 0x3F));
+			}
+		}
+		return new String(chars, 0, count);
+	}
+
+	/**
+	 * Checks if the class file is an interface
+	 *
+	 * @return true, if the class file is an interface otherwise false
+	 */
+	public boolean isInterface()
+	{
+		return Modifier.isInterface(accessFlags);
+	}
+
+	/**
+	 * Checks if the class file is an annotation type
+	 *
+	 * @return true, if the class file is an annotation type otherwise false
+	 */
+	public boolean isAnnotation()
+	{
+		return (accessFlags & 0x2000) != 0;
+	}
+
+	/**
+	 * Checks if the class file is abstract
+	 *
+	 * @return true, if the class file is abstract otherwise false
+	 */
+	public boolean isAbstract()
+	{
+		return Modifier.isAbstract(accessFlags);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ClassHeader[" + className + "]";
+	}
+}
@@ -0,0 +1,418 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link ClassMetadata} holds the reflection data of a class that is resolved only once
+ * and is cached for all further calls. Every class of a hierarchy has its own cached metadata with
+ * the declared fields of the class and the metadata of the superclass is resolved lazily on the
+ * first request. So classes that share a superclass share also the metadata of the superclass
+ */
+public final class ClassMetadata
+{
+
+	private static final ReflectionCache<ClassMetadata> CACHE = new ReflectionCache<>(
+		ClassMetadata::new);
+
+	private static final FieldMetadata[] NO_FIELDS = new FieldMetadata[0];
+
+	/**
+	 * The class of this metadata
+	 */
+	@Getter
+	private final Class<?> type;
+
+	/**
+	 * The non synthetic fields that are declared in the class
+	 */
+	private final FieldMetadata[] declaredFields;
+
+	/**
+	 * The non synthetic fields that are declared in the class mapped by their names
+	 */
+	private final Map<String, FieldMetadata> declaredFieldsByName;
+
+	/**
+	 * The flag if the class has a superclass other than {@link Object}
+	 */
+	private final boolean hasSuperclass;
+
+	/**
+	 * The metadata of the superclass is resolved on the first request
+	 */
+	private volatile ClassMetadata superclassMetadata;
+
+	/**
+	 * All non synthetic fields from the class and all superclasses are resolved on the first
+	 * request
+	 */
+	private volatile FieldMetadata[] fields;
+
+	/**
+	 * All non static and non synthetic fields from the class and all superclasses are resolved on
+	 * the first request
+	 */
+	private volatile FieldMetadata[] instanceFields;
+
+	/**
+	 * The accessor names of all fields mapped by the field names are resolved on the first request
+	 */
+	private volatile Map<String, AccessorNames> accessorNames;
+
+	/**
+	 * The property accessors are resolved on the first request
+	 */
+	private volatile List<PropertyAccessor> propertyAccessors;
+
+	private ClassMetadata(final Class<?> type)
+	{
+		this.type = type;
+		Class<?> superclass = type.getSuperclass();
+		this.hasSuperclass = superclass != null && superclass != Object.class;
+		List<FieldMetadata> ownFields = new ArrayList<>();
+		for (Field field : type.getDeclaredFields())
+		{
+			if (ReflectionExtensions.isNotSynthetic(field))
+			{
+				ownFields.add(FieldMetadata.of(field));
+			}
+		}
+		this.declaredFields = ownFields.toArray(NO_FIELDS);
+		this.declaredFieldsByName = new HashMap<>(
+			InstanceFactory.hashCapacity(declaredFields.length));
+		for (FieldMetadata field : declaredFields)
+		{
+			declaredFieldsByName.put(field.getName(), field);
+		}
+	}
+
+	/**
+	 * Gets the cached {@link ClassMetadata} object of the given class. If no metadata exists yet it
+	 * will be resolved and cached. Concurrent requests of an uncached class resolve the metadata
+	 * only once
+	 *
+	 * @param cls
+	 *            the class object
+	 * @return the {@link ClassMetadata} object of the given class
+	 */
+	public static ClassMetadata of(final @NonNull Class<?> cls)
+	{
+		return CACHE.get(cls);
+	}
+
+	/**
+	 * Gets the classes that have cached metadata
+	 *
+	 * @return a new list with the classes that have cached metadata
+	 */
+	static List<Class<?>> getCachedClasses()
+	{
+		return CACHE.getCachedClasses();
+	}
+
+	/**
+	 * Gets the metadata of the superclass. The metadata of the superclass is resolved on the first
+	 * call of this method
+	 *
+	 * @return the metadata of the superclass or null if the class has no superclass other than
+	 *         {@link Object}
+	 */
+	public ClassMetadata getSuperclassMetadata()
+	{
+		if (!hasSuperclass)
+		{
+			return null;
+		}
+		ClassMetadata metadata = superclassMetadata;
+		if (metadata == null)
+		{
+			metadata = of(type.getSuperclass());
+			superclassMetadata = metadata;
+		}
+		return metadata;
+	}
+
+	/**
+	 * Gets the non synthetic fields that are declared in the class without the fields of the
+	 * superclasses
+	 *
+	 * @return an unmodifiable list with the declared non synthetic fields
+	 */
+	public List<FieldMetadata> getDeclaredFields()
+	{
+		return Collections.unmodifiableList(Arrays.asList(declaredFields));
+	}
+
+	/**
+	 * Finds the field with the given name in the class or in the superclasses. The superclasses
+	 * are resolved only until the field is found. If a field is shadowed by a field with the same
+	 * name of a subclass the field of the subclass is returned
+	 *
+	 * @param name
+	 *            the name of the field
+	 * @return the field metadata or null if no field with the given name exists in the hierarchy
+	 */
+	public FieldMetadata findField(final @NonNull String name)
+	{
+		for (ClassMetadata metadata = this; metadata != null; metadata = metadata
+			.getSuperclassMetadata())
+		{
+			FieldMetadata field = metadata.declaredFieldsByName.get(name);
+			if (field != null)
+			{
+				return field;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets all non synthetic fields from the class and all superclasses. The fields of the class
+	 * come first and are followed by the fields of the superclasses
+	 *
+	 * @return an unmodifiable list with all non synthetic fields
+	 */
+	public List<FieldMetadata> getFields()
+	{
+		return Collections.unmodifiableList(Arrays.asList(fields()));
+	}
+
+	/**
+	 * Gets all non static and non synthetic fields from the class and all superclasses
+	 *
+	 * @return an unmodifiable list with all non static and non synthetic fields
+	 */
+	public List<FieldMetadata> getInstanceFields()
+	{
+		return Collections.unmodifiableList(Arrays.asList(instanceFields()));
+	}
+
+	/**
+	 * Gets all non synthetic fields from the class and all superclasses that match the given
+	 * selector
+	 *
+	 * @param selector
+	 *            the selector, for instance
+	 *            {@link FieldMetadata#withoutModifiers(FieldModifier...)}
+	 * @return an unmodifiable list with all non synthetic fields that match the given selector
+	 */
+	public List<FieldMetadata> getFields(final @NonNull Predicate<? super FieldMetadata> selector)
+	{
+		FieldMetadata[] allFields = fields();
+		List<FieldMetadata> selectedFields = new ArrayList<>(allFields.length);
+		for (int i = 0; i < allFields.length; i++)
+		{
+			if (selector.test(allFields[i]))
+			{
+				selectedFields.add(allFields[i]);
+			}
+		}
+		return Collections.unmodifiableList(selectedFields);
+	}
+
+	FieldMetadata[] fields()
+	{
+		FieldMetadata[] result = fields;
+		if (result == null)
+		{
+			ClassMetadata superclass = getSuperclassMetadata();
+			result = superclass == null
+				? declaredFields
+				: concat(declaredFields, superclass.fields());
+			fields = result;
+		}
+		return result;
+	}
+
+	FieldMetadata[] instanceFields()
+	{
+		FieldMetadata[] result = instanceFields;
+		if (result == null)
+		{
+			List<FieldMetadata> nonStaticFields = new ArrayList<>();
+			for (FieldMetadata field : fields())
+			{
+				if (!field.isStatic())
+				{
+					nonStaticFields.add(field);
+				}
+			}
+			result = nonStaticFields.toArray(NO_FIELDS);
+			instanceFields = result;
+		}
+		return result;
+	}
+
+	private static FieldMetadata[] concat(final FieldMetadata[] first,
+		final FieldMetadata[] second)
+	{
+		if (second.length == 0)
+		{
+			return first;
+		}
+		FieldMetadata[] result = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+	/**
+	 * Passes all non synthetic fields from the class and all superclasses to the given visitor. The
+	 * superclasses are resolved level by level while the fields are visited
+	 *
+	 * @param visitor
+	 *            the visitor
+	 */
+	public void forEachField(final @NonNull FieldVisitor visitor)
+	{
+		for (ClassMetadata metadata = this; metadata != null; metadata = metadata
+			.getSuperclassMetadata())
+		{
+			FieldMetadata[] levelFields = metadata.declaredFields;
+			for (int i = 0; i < levelFields.length; i++)
+			{
+				visitor.visit(levelFields[i]);
+			}
+		}
+	}
+
+	/**
+	 * Passes all non static and non synthetic fields from the class and all superclasses to the
+	 * given visitor
+	 *
+	 * @param visitor
+	 *            the visitor
+	 */
+	public void forEachInstanceField(final @NonNull FieldVisitor visitor)
+	{
+		FieldMetadata[] nonStaticFields = instanceFields();
+		for (int i = 0; i < nonStaticFields.length; i++)
+		{
+			visitor.visit(nonStaticFields[i]);
+		}
+	}
+
+	/**
+	 * Passes the values of all readable non static fields of the given object to the given visitor.
+	 * The given object has to be an instance of the class of this metadata
+	 *
+	 * @param object
+	 *            the object
+	 * @param visitor
+	 *            the visitor
+	 */
+	public void forEachFieldValue(final @NonNull Object object,
+		final @NonNull FieldValueVisitor visitor)
+	{
+		FieldMetadata[] nonStaticFields = instanceFields();
+		for (int i = 0; i < nonStaticFields.length; i++)
+		{
+			FieldMetadata field = nonStaticFields[i];
+			if (field.isReadable())
+			{
+				field.accept(object, visitor);
+			}
+		}
+	}
+
+	/**
+	 * Gets the accessor names of all non synthetic fields from the class and all superclasses
+	 * mapped by the field names. If a field is shadowed by a field with the same name of a
+	 * subclass only the field of the subclass is taken
+	 *
+	 * @return an unmodifiable map with the accessor names mapped by the field names
+	 */
+	public Map<String, AccessorNames> getAccessorNames()
+	{
+		Map<String, AccessorNames> names = accessorNames;
+		if (names == null)
+		{
+			FieldMetadata[] allFields = fields();
+			names = new LinkedHashMap<>(InstanceFactory.hashCapacity(allFields.length));
+			for (FieldMetadata field : allFields)
+			{
+				names.putIfAbsent(field.getName(), field.getAccessorNames());
+			}
+			names = Collections.unmodifiableMap(names);
+			accessorNames = names;
+		}
+		return names;
+	}
+
+	/**
+	 * Gets the property accessors of all non static fields of the class. If a field is shadowed by
+	 * a field with the same name of a subclass only the field of the subclass is taken
+	 *
+	 * @return an unmodifiable list with the property accessors
+	 */
+	public List<PropertyAccessor> getPropertyAccessors()
+	{
+		List<PropertyAccessor> accessors = propertyAccessors;
+		if (accessors == null)
+		{
+			accessors = resolvePropertyAccessors();
+			propertyAccessors = accessors;
+		}
+		return accessors;
+	}
+
+	private List<PropertyAccessor> resolvePropertyAccessors()
+	{
+		FieldMetadata[] nonStaticFields = instanceFields();
+		Set<String> names = new HashSet<>();
+		List<PropertyAccessor> accessors = new ArrayList<>(nonStaticFields.length);
+		for (FieldMetadata field : nonStaticFields)
+		{
+			if (names.add(field.getName()))
+			{
+				accessors.add(PropertyAccessor.of(type, field));
+			}
+		}
+		return Collections.unmodifiableList(accessors);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ClassMetadata[" + type.getName() + "]";
+	}
+}
@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.ref.WeakReference;
+import java.util.function.BiFunction;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link ClassPairCache} caches values that are resolved from a pair of classes. A value
+ * references both classes, so it is attached to the class whose class loader is the same as or a
+ * descendant of the class loader of the other class. This class references the other class
+ * already over its class loader, so a cached value never keeps a class loader alive that could
+ * be collected otherwise. The values of two classes from unrelated class loaders are only held
+ * weakly and are computed again after they are collected
+ *
+ * @param <V>
+ *            the generic type of the cached values
+ */
+final class ClassPairCache<V>
+{
+
+	private final BiFunction<Class<?>, Class<?>, ? extends V> loader;
+
+	/**
+	 * The values that are attached to the second class of a pair
+	 */
+	private final ReflectionCache<ReflectionCache<V>> bySecond;
+
+	/**
+	 * The values that are attached to the first class of a pair
+	 */
+	private final ReflectionCache<ReflectionCache<V>> byFirst;
+
+	/**
+	 * The weak values of pairs from unrelated class loaders
+	 */
+	private final ReflectionCache<ReflectionCache<WeakValue<V>>> unrelated;
+
+	/**
+	 * Creates a new {@link ClassPairCache} object that computes the values with the given loader
+	 *
+	 * @param loader
+	 *            the function that computes the value of the first and the second class, the
+	 *            function must not return null
+	 */
+	ClassPairCache(final @NonNull BiFunction<Class<?>, Class<?>, ? extends V> loader)
+	{
+		this.loader = loader;
+		this.bySecond = new ReflectionCache<>(first -> new ReflectionCache<V>(
+			second -> loader.apply(first, second)));
+		this.byFirst = new ReflectionCache<>(second -> new ReflectionCache<V>(
+			first -> loader.apply(first, second)));
+		this.unrelated = new ReflectionCache<>(
+			first -> new ReflectionCache<WeakValue<V>>(second -> new WeakValue<>()));
+	}
+
+	/**
+	 * Gets the value of the given pair of classes. If the value is not cached it will be computed
+	 * and cached
+	 *
+	 * @param first
+	 *            the first class
+	 * @param second
+	 *            the second class
+	 * @return the value of the given pair of classes
+	 */
+	V get(final @NonNull Class<?> first, final @NonNull Class<?> second)
+	{
+		ClassLoader firstLoader = first.getClassLoader();
+		ClassLoader secondLoader = second.getClassLoader();
+		if (isAncestor(firstLoader, secondLoader))
+		{
+			return bySecond.get(first).get(second);
+		}
+		if (isAncestor(secondLoader, firstLoader))
+		{
+			return byFirst.get(second).get(first);
+		}
+		WeakValue<V> weakValue = unrelated.get(first).get(second);
+		V value = weakValue.reference.get();
+		if (value == null)
+		{
+			value = loader.apply(first, second);
+			weakValue.reference = new WeakReference<>(value);
+		}
+		return value;
+	}
+
+	/**
+	 * Checks if the given ancestor is the same as or an ancestor of the given class loader. The
+	 * bootstrap class loader is represented by null and is the ancestor of all class loaders
+	 */
+	private static boolean isAncestor(final ClassLoader ancestor, final ClassLoader classLoader)
+	{
+		for (ClassLoader current = classLoader; current != null; current = current.getParent())
+		{
+			if (current == ancestor)
+			{
+				return true;
+			}
+		}
+		return ancestor == null;
+	}
+
+	private static final class WeakValue<V>
+	{
+		volatile WeakReference<V> reference = new WeakReference<>(null);
+	}
+}
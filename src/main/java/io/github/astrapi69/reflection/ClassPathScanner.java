@@ -0,0 +1,419 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link ClassPathScanner} finds the classes of packages in directories and jar files
+ * without loading them. The class files are read in parallel and only the headers are parsed, so
+ * only the classes that match a filter are loaded. The {@link ClassMetadata} of the loaded classes
+ * is resolved and cached on loading
+ */
+public final class ClassPathScanner
+{
+
+	private static final String CLASS_FILE_SUFFIX = ".class";
+
+	/**
+	 * The class loader that finds the resources and loads the classes
+	 */
+	@Getter
+	private final ClassLoader classLoader;
+
+	/**
+	 * The names of the packages to scan
+	 */
+	@Getter
+	private final List<String> packageNames;
+
+	/**
+	 * The parsed class headers are scanned on the first request
+	 */
+	private volatile Map<String, ClassHeader> classHeaders;
+
+	private ClassPathScanner(final ClassLoader classLoader, final List<String> packageNames)
+	{
+		this.classLoader = classLoader;
+		this.packageNames = packageNames;
+	}
+
+	/**
+	 * Factory method for create a new {@link ClassPathScanner} for the given packages and the class
+	 * loader of the current thread
+	 *
+	 * @param packageNames
+	 *            the names of the packages to scan
+	 * @return the new {@link ClassPathScanner} object
+	 */
+	public static ClassPathScanner of(final @NonNull String... packageNames)
+	{
+		return of(Thread.currentThread().getContextClassLoader(), packageNames);
+	}
+
+	/**
+	 * Factory method for create a new {@link ClassPathScanner} for the given packages and the given
+	 * class loader
+	 *
+	 * @param classLoader
+	 *            the class loader that finds the resources and loads the classes
+	 * @param packageNames
+	 *            the names of the packages to scan
+	 * @return the new {@link ClassPathScanner} object
+	 */
+	public static ClassPathScanner of(final @NonNull ClassLoader classLoader,
+		final @NonNull String... packageNames)
+	{
+		return new ClassPathScanner(classLoader,
+			Collections.unmodifiableList(Arrays.asList(packageNames.clone())));
+	}
+
+	/**
+	 * Gets the headers of all class files in the packages and their subpackages. The class files
+	 * are read and parsed in parallel only once
+	 *
+	 * @return an unmodifiable list with the class headers sorted by the class name
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public List<ClassHeader> getClassHeaders() throws IOException
+	{
+		return List.copyOf(classHeaders().values());
+	}
+
+	/**
+	 * Finds and loads all classes in the packages that are assignable to the given type, the given
+	 * type itself is not included. Super types outside of the scanned packages are loaded only if
+	 * the type hierarchy leaves the scanned packages
+	 *
+	 * @param <T>
+	 *            the generic type of the super type
+	 * @param type
+	 *            the super type
+	 * @return a list with the found classes sorted by the class name
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             occurs if a found class could not be loaded
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<Class<? extends T>> findSubTypesOf(final @NonNull Class<T> type)
+		throws IOException, ClassNotFoundException
+	{
+		Map<String, ClassHeader> headers = classHeaders();
+		Map<String, Boolean> visited = new HashMap<>();
+		List<Class<?>> classes = loadClasses(
+			header -> !header.getClassName().equals(type.getName())
+				&& isSubType(header.getClassName(), type, headers, visited));
+		return (List<Class<? extends T>>)(List<?>)classes;
+	}
+
+	/**
+	 * Finds and loads all classes in the packages that carry the given annotation directly or as
+	 * meta-annotation
+	 *
+	 * @param annotationType
+	 *            the annotation type
+	 * @return a list with the found classes sorted by the class name
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             occurs if a found class could not be loaded
+	 */
+	public List<Class<?>> findAnnotatedWith(
+		final @NonNull Class<? extends Annotation> annotationType)
+		throws IOException, ClassNotFoundException
+	{
+		Map<String, Boolean> matches = new HashMap<>();
+		List<Class<?>> classes = new ArrayList<>();
+		for (ClassHeader header : classHeaders().values())
+		{
+			for (String annotationName : header.getAnnotationNames())
+			{
+				Boolean match = matches.get(annotationName);
+				if (match == null)
+				{
+					match = annotationName.equals(annotationType.getName())
+						|| isMetaAnnotated(annotationName, annotationType);
+					matches.put(annotationName, match);
+				}
+				if (match)
+				{
+					classes.add(loadClass(header.getClassName()));
+					break;
+				}
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Loads all classes in the packages whose header matches the given filter. The classes are
+	 * loaded without initialization and their {@link ClassMetadata} is resolved and cached
+	 *
+	 * @param filter
+	 *            the filter for the class headers
+	 * @return a list with the loaded classes sorted by the class name
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             occurs if a class could not be loaded
+	 */
+	public List<Class<?>> loadClasses(final @NonNull Predicate<ClassHeader> filter)
+		throws IOException, ClassNotFoundException
+	{
+		List<Class<?>> classes = new ArrayList<>();
+		for (ClassHeader header : classHeaders().values())
+		{
+			if (filter.test(header))
+			{
+				classes.add(loadClass(header.getClassName()));
+			}
+		}
+		return classes;
+	}
+
+	private Class<?> loadClass(final String className) throws ClassNotFoundException
+	{
+		Class<?> cls = Class.forName(className, false, classLoader);
+		if (!cls.isAnnotation())
+		{
+			ClassMetadata.of(cls);
+		}
+		return cls;
+	}
+
+	private boolean isMetaAnnotated(final String annotationName,
+		final Class<? extends Annotation> annotationType)
+	{
+		try
+		{
+			return AnnotationIndex.findAnnotation(
+				Class.forName(annotationName, false, classLoader), annotationType) != null;
+		}
+		catch (ClassNotFoundException | LinkageError exception)
+		{
+			// annotations that are missing at runtime are ignored like the jvm does
+			return false;
+		}
+	}
+
+	private boolean isSubType(final String className, final Class<?> type,
+		final Map<String, ClassHeader> headers, final Map<String, Boolean> visited)
+	{
+		if (className == null)
+		{
+			return false;
+		}
+		if (className.equals(type.getName()))
+		{
+			return true;
+		}
+		Boolean subType = visited.get(className);
+		if (subType != null)
+		{
+			return subType;
+		}
+		// mark the class as visited before the super types are checked
+		visited.put(className, false);
+		ClassHeader header = headers.get(className);
+		if (header == null)
+		{
+			try
+			{
+				subType = type.isAssignableFrom(Class.forName(className, false, classLoader));
+			}
+			catch (ClassNotFoundException | LinkageError exception)
+			{
+				subType = false;
+			}
+		}
+		else
+		{
+			subType = isSubType(header.getSuperclassName(), type, headers, visited);
+			for (int i = 0; !subType && i < header.getInterfaceNames().size(); i++)
+			{
+				subType = isSubType(header.getInterfaceNames().get(i), type, headers, visited);
+			}
+		}
+		visited.put(className, subType);
+		return subType;
+	}
+
+	private Map<String, ClassHeader> classHeaders() throws IOException
+	{
+		Map<String, ClassHeader> headers = classHeaders;
+		if (headers == null)
+		{
+			headers = scan();
+			classHeaders = headers;
+		}
+		return headers;
+	}
+
+	private Map<String, ClassHeader> scan() throws IOException
+	{
+		List<ClassFileSource> sources = new ArrayList<>();
+		List<JarFile> jarFiles = new ArrayList<>();
+		try
+		{
+			for (String packageName : packageNames)
+			{
+				String packagePath = packageName.replace('.', '/');
+				Enumeration<URL> resources = classLoader.getResources(packagePath);
+				while (resources.hasMoreElements())
+				{
+					collect(resources.nextElement(), packagePath, sources, jarFiles);
+				}
+			}
+			List<ClassHeader> headers;
+			try
+			{
+				headers = sources.parallelStream().map(ClassFileSource::read)
+					.map(ClassHeader::parse).collect(Collectors.toList());
+			}
+			catch (UncheckedIOException exception)
+			{
+				throw exception.getCause();
+			}
+			headers.sort(Comparator.comparing(ClassHeader::getClassName));
+			Map<String, ClassHeader> headersByName = new LinkedHashMap<>(
+				InstanceFactory.hashCapacity(headers.size()));
+			for (ClassHeader header : headers)
+			{
+				headersByName.putIfAbsent(header.getClassName(), header);
+			}
+			return Collections.unmodifiableMap(headersByName);
+		}
+		finally
+		{
+			for (JarFile jarFile : jarFiles)
+			{
+				jarFile.close();
+			}
+		}
+	}
+
+	private static void collect(final URL resource, final String packagePath,
+		final List<ClassFileSource> sources, final List<JarFile> jarFiles) throws IOException
+	{
+		if ("file".equals(resource.getProtocol()))
+		{
+			Path directory;
+			try
+			{
+				directory = Paths.get(resource.toURI());
+			}
+			catch (URISyntaxException exception)
+			{
+				throw new IOException("Invalid directory url " + resource, exception);
+			}
+			try (Stream<Path> paths = Files.walk(directory))
+			{
+				paths.filter(path -> isClassFile(path.getFileName().toString()))
+					.forEach(path -> sources.add(() -> Files.readAllBytes(path)));
+			}
+		}
+		else if ("jar".equals(resource.getProtocol()))
+		{
+			JarURLConnection connection = (JarURLConnection)resource.openConnection();
+			connection.setUseCaches(false);
+			JarFile jarFile = connection.getJarFile();
+			jarFiles.add(jarFile);
+			String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+			Enumeration<? extends ZipEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements())
+			{
+				ZipEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (name.startsWith(prefix) && !entry.isDirectory()
+					&& isClassFile(name.substring(name.lastIndexOf('/') + 1)))
+				{
+					sources.add(() -> {
+						try (InputStream inputStream = jarFile.getInputStream(entry))
+						{
+							return inputStream.readAllBytes();
+						}
+					});
+				}
+			}
+		}
+	}
+
+	private static boolean isClassFile(final String fileName)
+	{
+		return fileName.endsWith(CLASS_FILE_SUFFIX) && !fileName.equals("module-info.class")
+			&& !fileName.equals("package-info.class");
+	}
+
+	/**
+	 * The interface {@link ClassFileSource} reads the bytes of a class file
+	 */
+	@FunctionalInterface
+	private interface ClassFileSource
+	{
+
+		byte[] readBytes() throws IOException;
+
+		default ByteBuffer read()
+		{
+			try
+			{
+				return ByteBuffer.wrap(readBytes());
+			}
+			catch (IOException exception)
+			{
+				throw new UncheckedIOException(exception);
+			}
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+/**
+ * The interface {@link ContainerSupplier} creates a new empty container like a collection or a map
+ * from a source container. The source container can be used to take over properties like the
+ * comparator or the enum type and the expected size can be used to pre-size the new container
+ *
+ * @param <T>
+ *            the generic type of the container
+ */
+@FunctionalInterface
+public interface ContainerSupplier<T>
+{
+
+	/**
+	 * Creates a new empty container for the given source container
+	 *
+	 * @param source
+	 *            the source container
+	 * @param expectedSize
+	 *            the expected number of elements of the new container
+	 * @return the new empty container
+	 */
+	T newInstance(T source, int expectedSize);
+}
@@ -0,0 +1,342 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link ContainerSuppliers} holds the registry of the {@link ContainerSupplier} objects
+ * that create new empty collections and maps of the same type as a source container. The
+ * registry contains suppliers for the common implementations of the collections framework and can
+ * be extended with suppliers for other implementations. The supplier of a class is resolved only
+ * once and is cached for all further calls
+ */
+public final class ContainerSuppliers
+{
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+	/**
+	 * The registered suppliers are held in a {@link ClassValue}, so a registration does not keep
+	 * the container class and its class loader reachable
+	 */
+	private static final ClassValue<AtomicReference<ContainerSupplier<?>>> REGISTERED = new ClassValue<>()
+	{
+		@Override
+		protected AtomicReference<ContainerSupplier<?>> computeValue(final Class<?> type)
+		{
+			return new AtomicReference<>();
+		}
+	};
+
+	private static final ReflectionCache<ContainerSupplier<?>> SUPPLIERS = new ReflectionCache<>(
+		ContainerSuppliers::resolve);
+
+	/**
+	 * The fallback suppliers of the container classes without a registered supplier and without a
+	 * public default constructor. They do not depend on the registry, so they are not affected by
+	 * a later registration or removal of a supplier
+	 */
+	private static final ContainerSupplier<Map<?, ?>> MAP_FALLBACK = (source,
+		size) -> new HashMap<>(InstanceFactory.hashCapacity(size));
+
+	private static final ContainerSupplier<Set<?>> SET_FALLBACK = (source,
+		size) -> new HashSet<>(InstanceFactory.hashCapacity(size));
+
+	private static final ContainerSupplier<Queue<?>> QUEUE_FALLBACK = (source,
+		size) -> new ArrayDeque<>(size);
+
+	private static final ContainerSupplier<Collection<?>> COLLECTION_FALLBACK = (source,
+		size) -> new ArrayList<>(size);
+
+	static
+	{
+		registerDefaults();
+	}
+
+	private ContainerSuppliers()
+	{
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void registerDefaults()
+	{
+		register(HashMap.class, size -> new HashMap<>(InstanceFactory.hashCapacity(size)));
+		register(LinkedHashMap.class,
+			size -> new LinkedHashMap<>(InstanceFactory.hashCapacity(size)));
+		register(Hashtable.class, size -> new Hashtable<>(InstanceFactory.hashCapacity(size)));
+		register(WeakHashMap.class, size -> new WeakHashMap<>(InstanceFactory.hashCapacity(size)));
+		register(IdentityHashMap.class, IdentityHashMap::new);
+		register(ConcurrentHashMap.class, ConcurrentHashMap::new);
+		registerSourceAware(TreeMap.class, (source, size) -> new TreeMap<>(source.comparator()));
+		registerSourceAware(ConcurrentSkipListMap.class,
+			(source, size) -> new ConcurrentSkipListMap<>(source.comparator()));
+		registerSourceAware(EnumMap.class, (source, size) -> {
+			EnumMap<?, ?> enumMap = source.clone();
+			enumMap.clear();
+			return enumMap;
+		});
+		register(ArrayList.class, ArrayList::new);
+		register(LinkedList.class, size -> new LinkedList<>());
+		register(Vector.class, size -> new Vector<>(Math.max(size, 1)));
+		register(CopyOnWriteArrayList.class, size -> new CopyOnWriteArrayList<>());
+		register(HashSet.class, size -> new HashSet<>(InstanceFactory.hashCapacity(size)));
+		register(LinkedHashSet.class,
+			size -> new LinkedHashSet<>(InstanceFactory.hashCapacity(size)));
+		register(CopyOnWriteArraySet.class, size -> new CopyOnWriteArraySet<>());
+		registerSourceAware(TreeSet.class, (source, size) -> new TreeSet<>(source.comparator()));
+		registerSourceAware(ConcurrentSkipListSet.class,
+			(source, size) -> new ConcurrentSkipListSet<>(source.comparator()));
+		register(ArrayDeque.class, ArrayDeque::new);
+		registerSourceAware(PriorityQueue.class,
+			(source, size) -> new PriorityQueue<>(Math.max(size, 1), source.comparator()));
+		register(ConcurrentLinkedQueue.class, size -> new ConcurrentLinkedQueue<>());
+		register(ConcurrentLinkedDeque.class, size -> new ConcurrentLinkedDeque<>());
+		register(LinkedBlockingQueue.class, size -> new LinkedBlockingQueue<>());
+		register(LinkedBlockingDeque.class, size -> new LinkedBlockingDeque<>());
+		registerSourceAware(ArrayBlockingQueue.class, (source, size) -> new ArrayBlockingQueue<>(
+			Math.max(source.size() + source.remainingCapacity(), 1)));
+	}
+
+	/**
+	 * Registers the given supplier for the given container class. The supplier gets the expected
+	 * size of the new container. A supplier that was registered before for the given class will
+	 * be replaced
+	 *
+	 * @param <T>
+	 *            the generic type of the container
+	 * @param type
+	 *            the container class
+	 * @param supplier
+	 *            the supplier that creates a new container with the given expected size
+	 */
+	public static <T> void register(final @NonNull Class<T> type,
+		final @NonNull IntFunction<? extends T> supplier)
+	{
+		registerSourceAware(type, (source, size) -> supplier.apply(size));
+	}
+
+	/**
+	 * Registers the given supplier for the given container class. The supplier gets the source
+	 * container and the expected size of the new container. A supplier that was registered before
+	 * for the given class will be replaced
+	 *
+	 * @param <T>
+	 *            the generic type of the container
+	 * @param type
+	 *            the container class
+	 * @param supplier
+	 *            the supplier that creates a new container from the source container
+	 */
+	public static <T> void registerSourceAware(final @NonNull Class<T> type,
+		final @NonNull ContainerSupplier<T> supplier)
+	{
+		REGISTERED.get(type).set(supplier);
+		SUPPLIERS.invalidate(type);
+	}
+
+	/**
+	 * Removes the registered supplier of the given container class
+	 *
+	 * @param type
+	 *            the container class
+	 */
+	public static void unregister(final @NonNull Class<?> type)
+	{
+		REGISTERED.get(type).set(null);
+		SUPPLIERS.invalidate(type);
+	}
+
+	/**
+	 * Creates a new empty container of the same type as the given collection or map that is
+	 * pre-sized to the size of the given source
+	 *
+	 * @param <T>
+	 *            the generic type of the container
+	 * @param source
+	 *            the source collection or map
+	 * @return the new empty container
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given source is neither a collection nor a map
+	 */
+	public static <T> T newInstance(final @NonNull T source)
+	{
+		return newInstance(source, sizeOf(source));
+	}
+
+	/**
+	 * Creates a new empty container of the same type as the given collection or map that is
+	 * pre-sized to the given expected size
+	 *
+	 * @param <T>
+	 *            the generic type of the container
+	 * @param source
+	 *            the source collection or map
+	 * @param expectedSize
+	 *            the expected number of elements of the new container
+	 * @return the new empty container
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given source is neither a collection nor a map
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T newInstance(final @NonNull T source, final int expectedSize)
+	{
+		ContainerSupplier<T> supplier = (ContainerSupplier<T>)SUPPLIERS.get(source.getClass());
+		return supplier.newInstance(source, Math.max(expectedSize, 0));
+	}
+
+	private static int sizeOf(final Object source)
+	{
+		if (source instanceof Collection)
+		{
+			return ((Collection<?>)source).size();
+		}
+		if (source instanceof Map)
+		{
+			return ((Map<?, ?>)source).size();
+		}
+		throw new IllegalArgumentException(
+			source.getClass().getName() + " is neither a collection nor a map");
+	}
+
+	private static ContainerSupplier<?> resolve(final Class<?> type)
+	{
+		ContainerSupplier<?> supplier = REGISTERED.get(type).get();
+		if (supplier != null)
+		{
+			return supplier;
+		}
+		if (EnumSet.class.isAssignableFrom(type))
+		{
+			return (ContainerSupplier<EnumSet<?>>)(source, size) -> {
+				EnumSet<?> enumSet = source.clone();
+				enumSet.clear();
+				return enumSet;
+			};
+		}
+		MethodHandle constructor = resolveDefaultConstructor(type);
+		if (constructor != null)
+		{
+			return (source, size) -> newInstance(constructor);
+		}
+		return resolveByInterface(type);
+	}
+
+	private static ContainerSupplier<?> resolveByInterface(final Class<?> type)
+	{
+		if (SortedMap.class.isAssignableFrom(type))
+		{
+			return (ContainerSupplier<SortedMap<?, ?>>)(source, size) -> new TreeMap<>(
+				source.comparator());
+		}
+		if (Map.class.isAssignableFrom(type))
+		{
+			return MAP_FALLBACK;
+		}
+		if (SortedSet.class.isAssignableFrom(type))
+		{
+			return (ContainerSupplier<SortedSet<?>>)(source, size) -> new TreeSet<>(
+				source.comparator());
+		}
+		if (Set.class.isAssignableFrom(type))
+		{
+			return SET_FALLBACK;
+		}
+		if (Queue.class.isAssignableFrom(type))
+		{
+			return QUEUE_FALLBACK;
+		}
+		if (Collection.class.isAssignableFrom(type))
+		{
+			return COLLECTION_FALLBACK;
+		}
+		throw new IllegalArgumentException(type.getName() + " is neither a collection nor a map");
+	}
+
+	private static MethodHandle resolveDefaultConstructor(final Class<?> type)
+	{
+		if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers()))
+		{
+			return null;
+		}
+		try
+		{
+			Constructor<?> defaultConstructor = type.getConstructor();
+			return MethodHandles.publicLookup().unreflectConstructor(defaultConstructor)
+				.asType(CONSTRUCTOR_TYPE);
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			return null;
+		}
+	}
+
+	@SneakyThrows
+	private static Object newInstance(final MethodHandle constructor)
+	{
+		return (Object)constructor.invokeExact();
+	}
+}
@@ -0,0 +1,567 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link CopyExtensions} provides utility methods for copy collections, maps and whole
+ * object graphs. The copy plan of a class is resolved only once and is cached for all further
+ * copies of the same class. Large collections and maps are deep copied in parallel on the common
+ * {@link ForkJoinPool} if the copies of their elements can not contain a set or a map
+ */
+public final class CopyExtensions
+{
+
+	/**
+	 * The minimum number of elements of a collection or a map from which the elements are deep
+	 * copied in parallel
+	 */
+	public static final int PARALLEL_THRESHOLD = 8192;
+
+	private static final MethodType CLONE_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final ReflectionCache<CopyPlan> PLANS = new ReflectionCache<>(CopyPlan::new);
+
+	private CopyExtensions()
+	{
+	}
+
+	/**
+	 * Copies the given collection to a new collection of the same type that is pre-sized to the
+	 * size of the given collection. The elements are not copied
+	 *
+	 * @param <C>
+	 *            the generic type of the collection
+	 * @param source
+	 *            the collection to copy
+	 * @return the new collection with the elements of the given collection or null if the given
+	 *         collection is null
+	 */
+	@SuppressWarnings("unchecked")
+	public static <C extends Collection<?>> C copyCollection(final C source)
+	{
+		if (source == null)
+		{
+			return null;
+		}
+		Collection<Object> target = (Collection<Object>)ContainerSuppliers.newInstance(source);
+		target.addAll(source);
+		return (C)target;
+	}
+
+	/**
+	 * Copies the given map to a new map of the same type that is pre-sized to the size of the
+	 * given map. The keys and values are not copied
+	 *
+	 * @param <M>
+	 *            the generic type of the map
+	 * @param source
+	 *            the map to copy
+	 * @return the new map with the entries of the given map or null if the given map is null
+	 */
+	@SuppressWarnings("unchecked")
+	public static <M extends Map<?, ?>> M copyMap(final M source)
+	{
+		if (source == null)
+		{
+			return null;
+		}
+		Map<Object, Object> target = (Map<Object, Object>)ContainerSuppliers.newInstance(source);
+		target.putAll(source);
+		return (M)target;
+	}
+
+	/**
+	 * Copies the given object with all referenced objects. Collections and maps are copied to
+	 * the same type with deep copies of their elements, arrays are copied with deep copies of
+	 * their elements, records are created with deep copies of their components and all other
+	 * objects are created with deep copies of their field values. Immutable objects like strings,
+	 * boxed primitives and enum constants are shared. Objects that are referenced more than once
+	 * are copied only once, so the copy has the same structure as the given object graph including
+	 * cycles
+	 *
+	 * @param <T>
+	 *            the generic type of the object
+	 * @param object
+	 *            the object to copy
+	 * @return the deep copy of the given object or null if the given object is null
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T deepCopy(final T object)
+	{
+		return (T)new CopyContext().copy(object);
+	}
+
+	private enum CopyKind
+	{
+		/** The object is immutable and is shared */
+		IMMUTABLE,
+		/** The object can not be copied over its fields and is shared */
+		SHARED,
+		/** The object is copied over its public clone method */
+		CLONE,
+		/** The object is an array */
+		ARRAY,
+		/** The object is a collection */
+		COLLECTION,
+		/** The object is a map */
+		MAP,
+		/** The object is a record */
+		RECORD,
+		/** The object is copied over its fields */
+		FIELDS
+	}
+
+	private static final class CopyPlan
+	{
+
+		private final Class<?> type;
+
+		private final CopyKind kind;
+
+		private final FieldMetadata[] fields;
+
+		private final MethodHandle cloneMethod;
+
+		/**
+		 * The flag if a copy of an object of the class may contain a set or a map is resolved on
+		 * the first request
+		 */
+		private volatile Boolean reachesHashedContainer;
+
+		private CopyPlan(final Class<?> type)
+		{
+			this.type = type;
+			FieldMetadata[] copyFields = null;
+			MethodHandle clone = null;
+			if (isImmutable(type))
+			{
+				this.kind = CopyKind.IMMUTABLE;
+			}
+			else if (type.isArray())
+			{
+				this.kind = CopyKind.ARRAY;
+			}
+			else if (Collection.class.isAssignableFrom(type))
+			{
+				this.kind = CopyKind.COLLECTION;
+			}
+			else if (Map.class.isAssignableFrom(type))
+			{
+				this.kind = CopyKind.MAP;
+			}
+			else if (type.isRecord())
+			{
+				this.kind = CopyKind.RECORD;
+			}
+			else if ((copyFields = resolveFields(type)) != null)
+			{
+				this.kind = CopyKind.FIELDS;
+			}
+			else if ((clone = resolveClone(type)) != null)
+			{
+				this.kind = CopyKind.CLONE;
+			}
+			else
+			{
+				this.kind = CopyKind.SHARED;
+			}
+			this.fields = copyFields;
+			this.cloneMethod = clone;
+		}
+
+		/**
+		 * Checks if a copy of an object of the class may contain a set or a map. The elements of
+		 * sets and maps are hashed or compared when they are added, so they must not be copies
+		 * that are still populated by another thread
+		 *
+		 * @return true, if a copy of an object of the class may contain a set or a map otherwise
+		 *         false
+		 */
+		private boolean mayReachHashedContainer()
+		{
+			Boolean reaches = reachesHashedContainer;
+			if (reaches == null)
+			{
+				reaches = mayReachHashedContainer(type, true, new HashSet<>());
+				reachesHashedContainer = reaches;
+			}
+			return reaches;
+		}
+
+		private static boolean mayReachHashedContainer(final Class<?> type, final boolean exact,
+			final Set<Class<?>> visited)
+		{
+			if (type.isPrimitive())
+			{
+				return false;
+			}
+			if (type.isArray())
+			{
+				return mayReachHashedContainer(type.getComponentType(), false, visited);
+			}
+			CopyPlan plan = PLANS.get(type);
+			if (plan.kind == CopyKind.IMMUTABLE)
+			{
+				return false;
+			}
+			if (!exact && !Modifier.isFinal(type.getModifiers()))
+			{
+				return true;
+			}
+			switch (plan.kind)
+			{
+				case SHARED :
+				case CLONE :
+					return false;
+				case RECORD :
+				case FIELDS :
+					if (!visited.add(type))
+					{
+						return false;
+					}
+					for (FieldMetadata field : ClassMetadata.of(type).instanceFields())
+					{
+						if (mayReachHashedContainer(field.getType(), false, visited))
+						{
+							return true;
+						}
+					}
+					return false;
+				default :
+					return true;
+			}
+		}
+
+		private static boolean isImmutable(final Class<?> type)
+		{
+			return type == String.class || type == Boolean.class || type == Character.class
+				|| type == Byte.class || type == Short.class || type == Integer.class
+				|| type == Long.class || type == Float.class || type == Double.class
+				|| type == BigInteger.class || type == BigDecimal.class || type == UUID.class
+				|| type == Class.class || type.isEnum() || Enum.class.isAssignableFrom(type)
+				|| "java.time".equals(type.getPackageName());
+		}
+
+		private static FieldMetadata[] resolveFields(final Class<?> type)
+		{
+			FieldMetadata[] instanceFields = ClassMetadata.of(type).instanceFields();
+			for (FieldMetadata field : instanceFields)
+			{
+				if (!field.isReadable() || !field.isWritable())
+				{
+					return null;
+				}
+			}
+			return instanceFields;
+		}
+
+		private static MethodHandle resolveClone(final Class<?> type)
+		{
+			if (!Cloneable.class.isAssignableFrom(type))
+			{
+				return null;
+			}
+			try
+			{
+				Method clone = type.getMethod("clone");
+				if (!Modifier.isPublic(clone.getDeclaringClass().getModifiers()))
+				{
+					return null;
+				}
+				return MethodHandles.publicLookup().unreflect(clone).asType(CLONE_TYPE);
+			}
+			catch (NoSuchMethodException | IllegalAccessException e)
+			{
+				return null;
+			}
+		}
+	}
+
+	private static final class IdentityKey
+	{
+
+		private final Object object;
+
+		private IdentityKey(final Object object)
+		{
+			this.object = object;
+		}
+
+		@Override
+		public boolean equals(final Object other)
+		{
+			return other instanceof IdentityKey && ((IdentityKey)other).object == object;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return System.identityHashCode(object);
+		}
+	}
+
+	private static final class CopyContext
+	{
+
+		private final Map<IdentityKey, Object> copies = new ConcurrentHashMap<>();
+
+		private Object copy(final Object source)
+		{
+			if (source == null)
+			{
+				return null;
+			}
+			CopyPlan plan = PLANS.get(source.getClass());
+			switch (plan.kind)
+			{
+				case IMMUTABLE :
+				case SHARED :
+					return source;
+				default :
+					break;
+			}
+			IdentityKey key = new IdentityKey(source);
+			Object copy = copies.get(key);
+			if (copy != null)
+			{
+				return copy;
+			}
+			switch (plan.kind)
+			{
+				case CLONE :
+					return register(key, invokeClone(plan, source));
+				case ARRAY :
+					return copyArray(key, source);
+				case COLLECTION :
+					return copyCollection(key, (Collection<?>)source);
+				case MAP :
+					return copyMap(key, (Map<?, ?>)source);
+				case RECORD :
+					return copyRecord(key, (Record)source);
+				default :
+					return copyFields(key, plan, source);
+			}
+		}
+
+		private Object register(final IdentityKey key, final Object copy)
+		{
+			Object existing = copies.putIfAbsent(key, copy);
+			return existing != null ? existing : copy;
+		}
+
+		@SneakyThrows
+		private Object invokeClone(final CopyPlan plan, final Object source)
+		{
+			return (Object)plan.cloneMethod.invokeExact(source);
+		}
+
+		private Object copyArray(final IdentityKey key, final Object source)
+		{
+			Class<?> componentType = source.getClass().getComponentType();
+			if (componentType.isPrimitive())
+			{
+				return register(key, ReflectionExtensions.copyOfArray(source));
+			}
+			Object[] sourceArray = (Object[])source;
+			Object[] target = (Object[])Array.newInstance(componentType, sourceArray.length);
+			Object registered = register(key, target);
+			if (registered != target)
+			{
+				return registered;
+			}
+			Object[] elements = sourceArray.clone();
+			copyElements(elements);
+			System.arraycopy(elements, 0, target, 0, elements.length);
+			return target;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object copyCollection(final IdentityKey key, final Collection<?> source)
+		{
+			Collection<Object> target = (Collection<Object>)ContainerSuppliers
+				.newInstance(source);
+			Object registered = register(key, target);
+			if (registered != target)
+			{
+				return registered;
+			}
+			Object[] elements = source.toArray();
+			copyElements(elements);
+			target.addAll(Arrays.asList(elements));
+			return target;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object copyMap(final IdentityKey key, final Map<?, ?> source)
+		{
+			Map<Object, Object> target = (Map<Object, Object>)ContainerSuppliers
+				.newInstance(source);
+			Object registered = register(key, target);
+			if (registered != target)
+			{
+				return registered;
+			}
+			Object[] keysAndValues = new Object[source.size() * 2];
+			int index = 0;
+			for (Map.Entry<?, ?> entry : source.entrySet())
+			{
+				keysAndValues[index++] = entry.getKey();
+				keysAndValues[index++] = entry.getValue();
+			}
+			copyElements(keysAndValues);
+			for (int i = 0; i < keysAndValues.length; i += 2)
+			{
+				target.put(keysAndValues[i], keysAndValues[i + 1]);
+			}
+			return target;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object copyRecord(final IdentityKey key, final Record source)
+		{
+			RecordMetadata<Record> recordMetadata = RecordMetadata
+				.of((Class<Record>)source.getClass());
+			Object[] components = recordMetadata.getComponentValues(source);
+			copyElements(components);
+			return register(key, recordMetadata.newInstance(components));
+		}
+
+		private Object copyFields(final IdentityKey key, final CopyPlan plan, final Object source)
+		{
+			Object target = InstanceFactory.newInstanceWithModjenesis(plan.type);
+			Object registered = register(key, target);
+			if (registered != target)
+			{
+				return registered;
+			}
+			for (FieldMetadata field : plan.fields)
+			{
+				field.setValue(target, copy(field.getValue(source)));
+			}
+			return target;
+		}
+
+		/**
+		 * Copies the given elements in place. The elements are copied in parallel only if none of
+		 * their copies may contain a set or a map, because a copy is registered before it is
+		 * populated and another thread could add a copy with incomplete state to a set or a map
+		 */
+		private void copyElements(final Object[] elements)
+		{
+			if (elements.length >= PARALLEL_THRESHOLD && !mayReachHashedContainer(elements))
+			{
+				CopyElementsTask task = new CopyElementsTask(this, elements, 0, elements.length);
+				if (ForkJoinTask.inForkJoinPool())
+				{
+					task.invoke();
+				}
+				else
+				{
+					ForkJoinPool.commonPool().invoke(task);
+				}
+				return;
+			}
+			copyElements(elements, 0, elements.length);
+		}
+
+		private static boolean mayReachHashedContainer(final Object[] elements)
+		{
+			for (Object element : elements)
+			{
+				if (element != null && PLANS.get(element.getClass()).mayReachHashedContainer())
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void copyElements(final Object[] elements, final int from, final int to)
+		{
+			for (int i = from; i < to; i++)
+			{
+				elements[i] = copy(elements[i]);
+			}
+		}
+	}
+
+	private static final class CopyElementsTask extends RecursiveAction
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient CopyContext context;
+
+		private final transient Object[] elements;
+
+		private final int from;
+
+		private final int to;
+
+		private CopyElementsTask(final CopyContext context, final Object[] elements,
+			final int from, final int to)
+		{
+			this.context = context;
+			this.elements = elements;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from <= PARALLEL_THRESHOLD / 2)
+			{
+				context.copyElements(elements, from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new CopyElementsTask(context, elements, from, middle),
+				new CopyElementsTask(context, elements, middle, to));
+		}
+	}
+}
@@ -0,0 +1,507 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link DeltaPatches} provides utility methods for encode the changed fields between
+ * two versions of an object as compact binary patch and for apply such a patch to an object of the
+ * same class. The patch contains a fingerprint of the field layout, a bitmap with one bit for
+ * every non static and non final field and the values of the changed fields. Primitive values are
+ * written in their natural width, strings, enum constants and boxed primitives are written with a
+ * type tag and all other references are written with java serialization. A serialized value is
+ * only decoded if the stream contains no other classes than the declared type of the field, the
+ * common value classes and the common collection classes of the jdk. The same check is done on the
+ * diff, so a value that can not be decoded is already rejected when the patch is created
+ */
+public final class DeltaPatches
+{
+
+	private static final int TAG_NULL = 0;
+
+	private static final int TAG_STRING = 1;
+
+	private static final int TAG_ENUM = 2;
+
+	private static final int TAG_BOOLEAN = 3;
+
+	private static final int TAG_INTEGER = 4;
+
+	private static final int TAG_LONG = 5;
+
+	private static final int TAG_DOUBLE = 6;
+
+	private static final int TAG_SERIALIZED = 7;
+
+	/**
+	 * The maximum depth of the object graph of a serialized value
+	 */
+	private static final int MAX_SERIALIZED_DEPTH = 20;
+
+	/**
+	 * The classes besides the declared field type that are allowed in a serialized value
+	 */
+	private static final Set<Class<?>> SERIALIZABLE_VALUE_CLASSES = Set.of(Boolean.class,
+		Character.class, Number.class, Byte.class, Short.class, Integer.class, Long.class,
+		Float.class, Double.class, String.class, BigInteger.class, BigDecimal.class, Enum.class,
+		Date.class, UUID.class, ArrayList.class, LinkedList.class, ArrayDeque.class, HashSet.class,
+		LinkedHashSet.class, TreeSet.class, HashMap.class, LinkedHashMap.class, TreeMap.class);
+
+	private DeltaPatches()
+	{
+	}
+
+	/**
+	 * Encodes the fields that are changed between the given previous and the given current
+	 * version of an object as binary patch
+	 *
+	 * @param <T>
+	 *            the generic type of the object
+	 * @param previous
+	 *            the previous version of the object
+	 * @param current
+	 *            the current version of the object
+	 * @return the binary patch
+	 * @throws IllegalArgumentException
+	 *             is thrown if the versions are not of the same class or a changed value can not be
+	 *             encoded
+	 */
+	public static <T> byte[] diff(final @NonNull T previous, final @NonNull T current)
+	{
+		return diff(Snapshot.of(previous), current);
+	}
+
+	/**
+	 * Encodes the fields that are changed between the given snapshot and the given current
+	 * version of an object as binary patch
+	 *
+	 * @param <T>
+	 *            the generic type of the object
+	 * @param snapshot
+	 *            the snapshot of the previous version of the object
+	 * @param current
+	 *            the current version of the object
+	 * @return the binary patch
+	 * @throws IllegalArgumentException
+	 *             is thrown if the current version is not of the class of the snapshot or a
+	 *             changed value can not be encoded
+	 */
+	public static <T> byte[] diff(final @NonNull Snapshot<T> snapshot, final @NonNull T current)
+	{
+		if (current.getClass() != snapshot.getType())
+		{
+			throw new IllegalArgumentException("Object of " + current.getClass().getName()
+				+ " can not be compared with a snapshot of " + snapshot.getType().getName());
+		}
+		FieldLayout layout = snapshot.layout;
+		int primitiveCount = layout.primitiveFields.length;
+		byte[] bitmap = new byte[(primitiveCount + layout.referenceFields.length + 7) >>> 3];
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		try (DataOutputStream output = new DataOutputStream(bytes))
+		{
+			for (int i = 0; i < primitiveCount; i++)
+			{
+				long value = layout.readPrimitive(current, i);
+				if (value != snapshot.primitives[i])
+				{
+					bitmap[i >>> 3] |= (byte)(1 << (i & 7));
+					writePrimitive(output, layout.primitiveKinds[i], value);
+				}
+			}
+			for (int i = 0; i < layout.referenceFields.length; i++)
+			{
+				Object value = layout.referenceFields[i].getValue(current);
+				if (DirtyChecker.isChanged(snapshot.references[i], value))
+				{
+					int index = primitiveCount + i;
+					bitmap[index >>> 3] |= (byte)(1 << (index & 7));
+					writeReference(output, layout.referenceFields[i], value);
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		ByteArrayOutputStream patch = new ByteArrayOutputStream(4 + bitmap.length + bytes.size());
+		try (DataOutputStream output = new DataOutputStream(patch))
+		{
+			output.writeInt(layout.fingerprint);
+			output.write(bitmap);
+			bytes.writeTo(output);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return patch.toByteArray();
+	}
+
+	/**
+	 * Applies the given binary patch to the given object
+	 *
+	 * @param <T>
+	 *            the generic type of the object
+	 * @param patch
+	 *            the binary patch
+	 * @param target
+	 *            the object to patch
+	 * @return the given object
+	 * @throws IllegalArgumentException
+	 *             is thrown if the patch was not created for the class of the given object or is
+	 *             malformed
+	 */
+	public static <T> T apply(final @NonNull byte[] patch, final @NonNull T target)
+	{
+		FieldLayout layout = FieldLayout.of(target.getClass());
+		int primitiveCount = layout.primitiveFields.length;
+		int referenceCount = layout.referenceFields.length;
+		byte[] bitmap = new byte[(primitiveCount + referenceCount + 7) >>> 3];
+		long[] primitives = new long[primitiveCount];
+		Object[] references = new Object[referenceCount];
+		try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(patch)))
+		{
+			if (input.readInt() != layout.fingerprint)
+			{
+				throw new IllegalArgumentException("Patch was not created for the field layout of "
+					+ target.getClass().getName());
+			}
+			input.readFully(bitmap);
+			for (int i = 0; i < primitiveCount; i++)
+			{
+				if (isSet(bitmap, i))
+				{
+					primitives[i] = readPrimitive(input, layout.primitiveKinds[i]);
+				}
+			}
+			for (int i = 0; i < referenceCount; i++)
+			{
+				if (isSet(bitmap, primitiveCount + i))
+				{
+					FieldMetadata field = layout.referenceFields[i];
+					Object value = readReference(input, field);
+					if (value != null && !field.getType().isInstance(value))
+					{
+						throw new IllegalArgumentException("Value of " + value.getClass().getName()
+							+ " does not match to the field " + field);
+					}
+					references[i] = value;
+				}
+			}
+			if (input.available() > 0)
+			{
+				throw new IllegalArgumentException(
+					"Patch has " + input.available() + " trailing bytes");
+			}
+		}
+		catch (EOFException e)
+		{
+			throw new IllegalArgumentException("Patch is truncated", e);
+		}
+		catch (IOException e)
+		{
+			throw new IllegalArgumentException("Patch is malformed", e);
+		}
+		for (int i = 0; i < primitiveCount; i++)
+		{
+			if (isSet(bitmap, i))
+			{
+				layout.writePrimitive(target, i, primitives[i]);
+			}
+		}
+		for (int i = 0; i < referenceCount; i++)
+		{
+			if (isSet(bitmap, primitiveCount + i))
+			{
+				layout.referenceFields[i].setValue(target, references[i]);
+			}
+		}
+		return target;
+	}
+
+	private static boolean isSet(final byte[] bitmap, final int index)
+	{
+		return (bitmap[index >>> 3] & (1 << (index & 7))) != 0;
+	}
+
+	private static void writePrimitive(final DataOutputStream output, final FieldKind kind,
+		final long value) throws IOException
+	{
+		switch (kind)
+		{
+			case BOOLEAN :
+			case BYTE :
+				output.writeByte((int)value);
+				break;
+			case CHAR :
+			case SHORT :
+				output.writeShort((int)value);
+				break;
+			case INT :
+			case FLOAT :
+				output.writeInt((int)value);
+				break;
+			default :
+				output.writeLong(value);
+				break;
+		}
+	}
+
+	private static long readPrimitive(final DataInputStream input, final FieldKind kind)
+		throws IOException
+	{
+		switch (kind)
+		{
+			case BOOLEAN :
+			case BYTE :
+				return input.readByte();
+			case CHAR :
+				return input.readChar();
+			case SHORT :
+				return input.readShort();
+			case INT :
+			case FLOAT :
+				return input.readInt();
+			default :
+				return input.readLong();
+		}
+	}
+
+	private static void writeReference(final DataOutputStream output, final FieldMetadata field,
+		final Object value) throws IOException
+	{
+		if (value == null)
+		{
+			output.writeByte(TAG_NULL);
+		}
+		else if (value instanceof String)
+		{
+			output.writeByte(TAG_STRING);
+			writeString(output, (String)value);
+		}
+		else if (value instanceof Enum && field.getType().isEnum())
+		{
+			output.writeByte(TAG_ENUM);
+			writeString(output, ((Enum<?>)value).name());
+		}
+		else if (value instanceof Boolean)
+		{
+			output.writeByte(TAG_BOOLEAN);
+			output.writeBoolean((Boolean)value);
+		}
+		else if (value instanceof Integer)
+		{
+			output.writeByte(TAG_INTEGER);
+			output.writeInt((Integer)value);
+		}
+		else if (value instanceof Long)
+		{
+			output.writeByte(TAG_LONG);
+			output.writeLong((Long)value);
+		}
+		else if (value instanceof Double)
+		{
+			output.writeByte(TAG_DOUBLE);
+			output.writeDouble((Double)value);
+		}
+		else if (value instanceof Serializable)
+		{
+			output.writeByte(TAG_SERIALIZED);
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes))
+			{
+				objectOutput.writeObject(value);
+			}
+			try
+			{
+				readSerialized(bytes.toByteArray(), field);
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IllegalArgumentException("Value of field " + field + " of "
+					+ value.getClass().getName() + " can not be encoded", e);
+			}
+			output.writeInt(bytes.size());
+			bytes.writeTo(output);
+		}
+		else
+		{
+			throw new IllegalArgumentException("Value of field " + field + " of "
+				+ value.getClass().getName() + " can not be encoded");
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object readReference(final DataInputStream input, final FieldMetadata field)
+		throws IOException
+	{
+		int tag = input.readByte();
+		switch (tag)
+		{
+			case TAG_NULL :
+				return null;
+			case TAG_STRING :
+				return readString(input);
+			case TAG_ENUM :
+				return Enum.valueOf((Class<? extends Enum>)field.getType(), readString(input));
+			case TAG_BOOLEAN :
+				return input.readBoolean();
+			case TAG_INTEGER :
+				return input.readInt();
+			case TAG_LONG :
+				return input.readLong();
+			case TAG_DOUBLE :
+				return input.readDouble();
+			case TAG_SERIALIZED :
+				return readSerialized(readBytes(input), field);
+			default :
+				throw new IllegalArgumentException(
+					"Invalid type tag " + tag + " for field " + field);
+		}
+	}
+
+	/**
+	 * Decodes the given serialized value of the given field with the filter of the field. The
+	 * values are decoded on the diff as well, so a patch is only created if it can be applied
+	 */
+	private static Object readSerialized(final byte[] bytes, final FieldMetadata field)
+	{
+		try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+		{
+			objectInput.setObjectInputFilter(newFilter(field.getType(), bytes.length));
+			return objectInput.readObject();
+		}
+		catch (ClassNotFoundException | IOException e)
+		{
+			throw new IllegalArgumentException("Value of field " + field + " can not be decoded",
+				e);
+		}
+	}
+
+	private static void writeString(final DataOutputStream output, final String value)
+		throws IOException
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(final DataInputStream input) throws IOException
+	{
+		return new String(readBytes(input), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads a length and the bytes with this length. The length is checked against the remaining
+	 * bytes, so a malformed length does not allocate a huge array
+	 */
+	private static byte[] readBytes(final DataInputStream input) throws IOException
+	{
+		int length = input.readInt();
+		if (length < 0 || length > input.available())
+		{
+			throw new IllegalArgumentException("Invalid length " + length + " of a value");
+		}
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Creates the filter for a serialized value of a field with the given type. The filter allows
+	 * only the given field type, the common value and collection classes of the jdk, enum
+	 * constants, arrays of them and object arrays, whose elements are checked on their own, and
+	 * limits the depth, the number of references and the array lengths to the size of the
+	 * serialized value
+	 */
+	private static ObjectInputFilter newFilter(final Class<?> fieldType, final int length)
+	{
+		return info -> {
+			if (info.depth() > MAX_SERIALIZED_DEPTH || info.references() > length
+				|| info.arrayLength() > length || info.streamBytes() > length)
+			{
+				return ObjectInputFilter.Status.REJECTED;
+			}
+			Class<?> serialClass = info.serialClass();
+			if (serialClass == null)
+			{
+				return ObjectInputFilter.Status.UNDECIDED;
+			}
+			boolean array = serialClass.isArray();
+			while (serialClass.isArray())
+			{
+				serialClass = serialClass.getComponentType();
+			}
+			return serialClass.isPrimitive() || array && serialClass == Object.class
+				|| serialClass == fieldType
+				|| SERIALIZABLE_VALUE_CLASSES.contains(serialClass) || serialClass.isEnum()
+				|| isJdkContainerClass(serialClass)
+				|| "java.time".equals(serialClass.getPackageName())
+					? ObjectInputFilter.Status.ALLOWED
+					: ObjectInputFilter.Status.REJECTED;
+		};
+	}
+
+	/**
+	 * Checks if the given class is one of the immutable, unmodifiable or synchronized collections
+	 * of the jdk or their serial forms
+	 */
+	private static boolean isJdkContainerClass(final Class<?> serialClass)
+	{
+		String name = serialClass.getName();
+		return serialClass.getClassLoader() == null && (name.equals("java.util.CollSer")
+			|| name.equals("java.util.Arrays$ArrayList")
+			|| name.startsWith("java.util.ImmutableCollections$")
+			|| name.startsWith("java.util.Collections$"));
+	}
+}
@@ -0,0 +1,183 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link DirtyChecker} provides utility methods for find the fields of objects that are
+ * changed since a {@link Snapshot} was taken. The fields are compared with the cached field layout
+ * of the snapshot, primitive values are compared without boxing and references are compared first
+ * on identity and then with {@link Object#equals(Object)}. Objects that are changed in place
+ * without changing the reference of the field are not detected, because the snapshot does not
+ * copy the referenced objects
+ */
+public final class DirtyChecker
+{
+
+	/**
+	 * The minimum number of objects from which the objects are checked in parallel
+	 */
+	public static final int PARALLEL_THRESHOLD = 1024;
+
+	private DirtyChecker()
+	{
+	}
+
+	/**
+	 * Checks if any field of the given object is changed since the given snapshot was taken
+	 *
+	 * @param <T>
+	 *            the generic type of the object
+	 * @param snapshot
+	 *            the snapshot of the object
+	 * @param object
+	 *            the current object
+	 * @return true, if any field is changed otherwise false
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given object is not of the class of the snapshot
+	 */
+	public static <T> boolean isDirty(final @NonNull Snapshot<T> snapshot, final @NonNull T object)
+	{
+		FieldLayout layout = checkType(snapshot, object);
+		long[] primitives = snapshot.primitives;
+		for (int i = 0; i < primitives.length; i++)
+		{
+			if (layout.readPrimitive(object, i) != primitives[i])
+			{
+				return true;
+			}
+		}
+		Object[] references = snapshot.references;
+		for (int i = 0; i < references.length; i++)
+		{
+			if (isChanged(references[i], layout.referenceFields[i].getValue(object)))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the fields of the given object that are changed since the given snapshot was taken
+	 *
+	 * @param <T>
+	 *            the generic type of the object
+	 * @param snapshot
+	 *            the snapshot of the object
+	 * @param object
+	 *            the current object
+	 * @return an unmodifiable list with the changed fields, the primitive fields first
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given object is not of the class of the snapshot
+	 */
+	public static <T> List<FieldMetadata> getDirtyFields(final @NonNull Snapshot<T> snapshot,
+		final @NonNull T object)
+	{
+		FieldLayout layout = checkType(snapshot, object);
+		List<FieldMetadata> dirtyFields = null;
+		long[] primitives = snapshot.primitives;
+		for (int i = 0; i < primitives.length; i++)
+		{
+			if (layout.readPrimitive(object, i) != primitives[i])
+			{
+				dirtyFields = add(dirtyFields, layout.primitiveFields[i]);
+			}
+		}
+		Object[] references = snapshot.references;
+		for (int i = 0; i < references.length; i++)
+		{
+			FieldMetadata field = layout.referenceFields[i];
+			if (isChanged(references[i], field.getValue(object)))
+			{
+				dirtyFields = add(dirtyFields, field);
+			}
+		}
+		return dirtyFields == null
+			? Collections.emptyList()
+			: Collections.unmodifiableList(dirtyFields);
+	}
+
+	/**
+	 * Gets the changed fields of all objects in the given map that are changed since their
+	 * snapshot was taken. From {@link #PARALLEL_THRESHOLD} objects on the objects are checked in
+	 * parallel
+	 *
+	 * @param <T>
+	 *            the generic type of the objects
+	 * @param snapshots
+	 *            the map with the current objects as keys and their snapshots as values
+	 * @return a new identity map with the changed objects as keys and their changed fields as
+	 *         values, unchanged objects are not contained
+	 * @throws IllegalArgumentException
+	 *             is thrown if an object is not of the class of its snapshot
+	 */
+	public static <T> Map<T, List<FieldMetadata>> getDirtyFields(
+		final @NonNull Map<T, Snapshot<T>> snapshots)
+	{
+		Stream<Map.Entry<T, Snapshot<T>>> entries = snapshots.size() < PARALLEL_THRESHOLD
+			? snapshots.entrySet().stream()
+			: new ArrayList<>(snapshots.entrySet()).parallelStream();
+		return entries
+			.map(entry -> Map.entry(entry.getKey(),
+				getDirtyFields(entry.getValue(), entry.getKey())))
+			.filter(entry -> !entry.getValue().isEmpty())
+			.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+				(first, second) -> first, IdentityHashMap::new));
+	}
+
+	private static FieldLayout checkType(final Snapshot<?> snapshot, final Object object)
+	{
+		if (object.getClass() != snapshot.getType())
+		{
+			throw new IllegalArgumentException("Object of " + object.getClass().getName()
+				+ " can not be compared with a snapshot of " + snapshot.getType().getName());
+		}
+		return snapshot.layout;
+	}
+
+	static boolean isChanged(final Object captured, final Object current)
+	{
+		return captured != current && !Objects.equals(captured, current);
+	}
+
+	private static List<FieldMetadata> add(final List<FieldMetadata> fields,
+		final FieldMetadata field)
+	{
+		List<FieldMetadata> list = fields == null ? new ArrayList<>(4) : fields;
+		list.add(field);
+		return list;
+	}
+}
@@ -0,0 +1,209 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link EnumTranslator} translates the constants of a source enum to the constants of a
+ * target enum. The translation table is computed once and is indexed by the ordinal of the source
+ * constant, so every translation is an array access. The constants are mapped by their names and
+ * renamed constants can be mapped with a rename map
+ *
+ * @param <S>
+ *            the generic type of the source enum
+ * @param <T>
+ *            the generic type of the target enum
+ */
+public final class EnumTranslator<S extends Enum<S>, T extends Enum<T>>
+{
+
+	private static final ClassPairCache<EnumTranslator<?, ?>> TRANSLATORS = new ClassPairCache<>(
+		(sourceType, targetType) -> new EnumTranslator<>(sourceType, targetType,
+			Collections.emptyMap()));
+
+	/**
+	 * The source enum type
+	 */
+	@Getter
+	private final Class<S> sourceType;
+
+	/**
+	 * The target enum type
+	 */
+	@Getter
+	private final Class<T> targetType;
+
+	/**
+	 * The target constants indexed by the ordinal of the source constants. An entry is null if no
+	 * target constant exists for the source constant
+	 */
+	private final T[] table;
+
+	@SuppressWarnings("unchecked")
+	private EnumTranslator(final Class<?> sourceType, final Class<?> targetType,
+		final Map<String, String> renames)
+	{
+		if (!sourceType.isEnum())
+		{
+			throw new IllegalArgumentException(sourceType.getName() + " is not an enum type");
+		}
+		if (!targetType.isEnum())
+		{
+			throw new IllegalArgumentException(targetType.getName() + " is not an enum type");
+		}
+		this.sourceType = (Class<S>)sourceType;
+		this.targetType = (Class<T>)targetType;
+		S[] sourceConstants = this.sourceType.getEnumConstants();
+		T[] targetConstants = this.targetType.getEnumConstants();
+		this.table = (T[])Array.newInstance(targetType, sourceConstants.length);
+		if (sourceType == targetType)
+		{
+			System.arraycopy(targetConstants, 0, table, 0, targetConstants.length);
+			return;
+		}
+		Map<String, T> targetConstantsByName = new HashMap<>(
+			InstanceFactory.hashCapacity(targetConstants.length));
+		for (T targetConstant : targetConstants)
+		{
+			targetConstantsByName.put(targetConstant.name(), targetConstant);
+		}
+		for (S sourceConstant : sourceConstants)
+		{
+			String name = sourceConstant.name();
+			table[sourceConstant.ordinal()] = targetConstantsByName
+				.get(renames.getOrDefault(name, name));
+		}
+	}
+
+	/**
+	 * Gets the cached {@link EnumTranslator} object that translates the constants of the given
+	 * source enum to the constants with the same name of the given target enum
+	 *
+	 * @param <S>
+	 *            the generic type of the source enum
+	 * @param <T>
+	 *            the generic type of the target enum
+	 * @param sourceType
+	 *            the source enum type
+	 * @param targetType
+	 *            the target enum type
+	 * @return the cached {@link EnumTranslator} object
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S extends Enum<S>, T extends Enum<T>> EnumTranslator<S, T> of(
+		final @NonNull Class<S> sourceType, final @NonNull Class<T> targetType)
+	{
+		return (EnumTranslator<S, T>)TRANSLATORS.get(sourceType, targetType);
+	}
+
+	/**
+	 * Factory method for create a new {@link EnumTranslator} object that translates the constants
+	 * of the given source enum to the constants of the given target enum. The given rename map
+	 * maps the names of source constants to the names of target constants, all other constants
+	 * are mapped by their names. The returned object is not cached and should be held from the
+	 * caller
+	 *
+	 * @param <S>
+	 *            the generic type of the source enum
+	 * @param <T>
+	 *            the generic type of the target enum
+	 * @param sourceType
+	 *            the source enum type
+	 * @param targetType
+	 *            the target enum type
+	 * @param renames
+	 *            the map with the names of the source constants as keys and the names of the
+	 *            target constants as values
+	 * @return the new {@link EnumTranslator} object
+	 */
+	public static <S extends Enum<S>, T extends Enum<T>> EnumTranslator<S, T> of(
+		final @NonNull Class<S> sourceType, final @NonNull Class<T> targetType,
+		final @NonNull Map<String, String> renames)
+	{
+		return new EnumTranslator<>(sourceType, targetType, renames);
+	}
+
+	/**
+	 * Translates the given enum constant to the constant of the given target enum type with the
+	 * cached {@link EnumTranslator} object of the declaring enum of the given constant
+	 *
+	 * @param value
+	 *            the enum constant
+	 * @param targetType
+	 *            the target enum type
+	 * @return the translated enum constant
+	 * @throws IllegalArgumentException
+	 *             is thrown if the target enum type has no constant for the given constant
+	 */
+	static Object translateValue(final @NonNull Enum<?> value, final @NonNull Class<?> targetType)
+	{
+		return TRANSLATORS.get(value.getDeclaringClass(), targetType).lookup(value);
+	}
+
+	/**
+	 * Translates the given source constant to the target constant
+	 *
+	 * @param value
+	 *            the source constant
+	 * @return the target constant or null if the given source constant is null
+	 * @throws IllegalArgumentException
+	 *             is thrown if the target enum type has no constant for the given source constant
+	 */
+	public T translate(final S value)
+	{
+		if (value == null)
+		{
+			return null;
+		}
+		return lookup(value);
+	}
+
+	private T lookup(final Enum<?> value)
+	{
+		T translated = table[value.ordinal()];
+		if (translated == null)
+		{
+			throw new IllegalArgumentException("No enum constant " + targetType.getName()
+				+ " for the constant " + sourceType.getName() + "." + value.name());
+		}
+		return translated;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "EnumTranslator[" + sourceType.getName() + " -> " + targetType.getName() + "]";
+	}
+}
@@ -0,0 +1,124 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The enum {@link FieldKind} classifies the type of a field in the eight primitive types and the
+ * reference type, so the access to the field value can be dispatched without comparing classes
+ */
+public enum FieldKind
+{
+
+	/** The primitive type boolean */
+	BOOLEAN(boolean.class),
+	/** The primitive type byte */
+	BYTE(byte.class),
+	/** The primitive type char */
+	CHAR(char.class),
+	/** The primitive type short */
+	SHORT(short.class),
+	/** The primitive type int */
+	INT(int.class),
+	/** The primitive type long */
+	LONG(long.class),
+	/** The primitive type float */
+	FLOAT(float.class),
+	/** The primitive type double */
+	DOUBLE(double.class),
+	/** All non primitive types */
+	REFERENCE(Object.class);
+
+	/**
+	 * The type that represents this kind
+	 */
+	@Getter
+	private final Class<?> type;
+
+	FieldKind(final Class<?> type)
+	{
+		this.type = type;
+	}
+
+	/**
+	 * Resolves the {@link FieldKind} of the given type
+	 *
+	 * @param type
+	 *            the type
+	 * @return the {@link FieldKind} of the given type
+	 */
+	public static FieldKind of(final @NonNull Class<?> type)
+	{
+		if (!type.isPrimitive())
+		{
+			return REFERENCE;
+		}
+		if (type == int.class)
+		{
+			return INT;
+		}
+		if (type == long.class)
+		{
+			return LONG;
+		}
+		if (type == boolean.class)
+		{
+			return BOOLEAN;
+		}
+		if (type == double.class)
+		{
+			return DOUBLE;
+		}
+		if (type == float.class)
+		{
+			return FLOAT;
+		}
+		if (type == char.class)
+		{
+			return CHAR;
+		}
+		if (type == byte.class)
+		{
+			return BYTE;
+		}
+		if (type == short.class)
+		{
+			return SHORT;
+		}
+		throw new IllegalArgumentException("The type void has no field kind");
+	}
+
+	/**
+	 * Checks if this kind is a primitive type
+	 *
+	 * @return true, if this kind is a primitive type otherwise false
+	 */
+	public boolean isPrimitive()
+	{
+		return this != REFERENCE;
+	}
+}
@@ -0,0 +1,242 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class {@link FieldLayout} holds the non static and non final fields of a class split in
+ * primitive and reference fields. The primitive values are stored in a long array and the
+ * references in an object array, so the field values of an object can be captured and restored
+ * without boxing. The layout is resolved once per class
+ */
+final class FieldLayout
+{
+
+	private static final ReflectionCache<FieldLayout> LAYOUTS = new ReflectionCache<>(
+		FieldLayout::new);
+
+	/**
+	 * The class of the layout
+	 */
+	final Class<?> type;
+
+	/**
+	 * The primitive fields in the order of the primitive values
+	 */
+	final FieldMetadata[] primitiveFields;
+
+	/**
+	 * The kinds of the primitive fields
+	 */
+	final FieldKind[] primitiveKinds;
+
+	/**
+	 * The reference fields in the order of the references
+	 */
+	final FieldMetadata[] referenceFields;
+
+	/**
+	 * The hash code over the class name and the names and types of the fields in the order of the
+	 * layout, so layouts of different versions of a class can be distinguished
+	 */
+	final int fingerprint;
+
+	private FieldLayout(final Class<?> type)
+	{
+		this.type = type;
+		List<FieldMetadata> primitives = new ArrayList<>();
+		List<FieldMetadata> references = new ArrayList<>();
+		for (FieldMetadata field : ClassMetadata.of(type).getInstanceFields())
+		{
+			if (field.isFinal())
+			{
+				continue;
+			}
+			if (!field.isReadable() || !field.isWritable())
+			{
+				throw new IllegalArgumentException("Field " + field + " is not accessible");
+			}
+			(field.getKind().isPrimitive() ? primitives : references).add(field);
+		}
+		this.primitiveFields = primitives.toArray(new FieldMetadata[0]);
+		this.primitiveKinds = new FieldKind[primitiveFields.length];
+		for (int i = 0; i < primitiveFields.length; i++)
+		{
+			primitiveKinds[i] = primitiveFields[i].getKind();
+		}
+		this.referenceFields = references.toArray(new FieldMetadata[0]);
+		int hash = type.getName().hashCode();
+		for (FieldMetadata field : primitives)
+		{
+			hash = hash(hash, field);
+		}
+		for (FieldMetadata field : references)
+		{
+			hash = hash(hash, field);
+		}
+		this.fingerprint = hash;
+	}
+
+	private static int hash(final int hash, final FieldMetadata field)
+	{
+		return 31 * (31 * hash + field.getName().hashCode())
+			+ field.getType().getName().hashCode();
+	}
+
+	/**
+	 * Gets the cached {@link FieldLayout} object of the given class
+	 *
+	 * @param cls
+	 *            the class object
+	 * @return the cached {@link FieldLayout} object
+	 * @throws IllegalArgumentException
+	 *             is thrown if a non final instance field of the class is not accessible
+	 */
+	static FieldLayout of(final Class<?> cls)
+	{
+		return LAYOUTS.get(cls);
+	}
+
+	/**
+	 * Reads the value of the primitive field with the given index from the given object
+	 *
+	 * @param object
+	 *            the object
+	 * @param index
+	 *            the index of the primitive field
+	 * @return the primitive value as long, float and double values as raw bits
+	 */
+	long readPrimitive(final Object object, final int index)
+	{
+		FieldMetadata field = primitiveFields[index];
+		switch (primitiveKinds[index])
+		{
+			case BOOLEAN :
+				return field.getBoolean(object) ? 1L : 0L;
+			case BYTE :
+				return field.getByte(object);
+			case CHAR :
+				return field.getChar(object);
+			case SHORT :
+				return field.getShort(object);
+			case INT :
+				return field.getInt(object);
+			case LONG :
+				return field.getLong(object);
+			case FLOAT :
+				return Float.floatToRawIntBits(field.getFloat(object));
+			default :
+				return Double.doubleToRawLongBits(field.getDouble(object));
+		}
+	}
+
+	/**
+	 * Writes the given value to the primitive field with the given index of the given object
+	 *
+	 * @param object
+	 *            the object
+	 * @param index
+	 *            the index of the primitive field
+	 * @param value
+	 *            the primitive value as long, float and double values as raw bits
+	 */
+	void writePrimitive(final Object object, final int index, final long value)
+	{
+		FieldMetadata field = primitiveFields[index];
+		switch (primitiveKinds[index])
+		{
+			case BOOLEAN :
+				field.setBoolean(object, value != 0L);
+				break;
+			case BYTE :
+				field.setByte(object, (byte)value);
+				break;
+			case CHAR :
+				field.setChar(object, (char)value);
+				break;
+			case SHORT :
+				field.setShort(object, (short)value);
+				break;
+			case INT :
+				field.setInt(object, (int)value);
+				break;
+			case LONG :
+				field.setLong(object, value);
+				break;
+			case FLOAT :
+				field.setFloat(object, Float.intBitsToFloat((int)value));
+				break;
+			default :
+				field.setDouble(object, Double.longBitsToDouble(value));
+				break;
+		}
+	}
+
+	/**
+	 * Reads the values of all fields of the given object into the given arrays
+	 *
+	 * @param object
+	 *            the object
+	 * @param primitives
+	 *            the array for the primitive values
+	 * @param references
+	 *            the array for the references
+	 */
+	void read(final Object object, final long[] primitives, final Object[] references)
+	{
+		for (int i = 0; i < primitives.length; i++)
+		{
+			primitives[i] = readPrimitive(object, i);
+		}
+		for (int i = 0; i < references.length; i++)
+		{
+			references[i] = referenceFields[i].getValue(object);
+		}
+	}
+
+	/**
+	 * Writes the values of the given arrays to all fields of the given object
+	 *
+	 * @param object
+	 *            the object
+	 * @param primitives
+	 *            the array with the primitive values
+	 * @param references
+	 *            the array with the references
+	 */
+	void write(final Object object, final long[] primitives, final Object[] references)
+	{
+		for (int i = 0; i < primitives.length; i++)
+		{
+			writePrimitive(object, i, primitives[i]);
+		}
+		for (int i = 0; i < references.length; i++)
+		{
+			referenceFields[i].setValue(object, references[i]);
+		}
+	}
+}
@@ -0,0 +1,735 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link FieldMetadata} holds the resolved reflection data of a single {@link Field}.
+ * The method handles for reading and writing the field are resolved once on creation, so the
+ * access to the field value does not need any further lookup
+ */
+public final class FieldMetadata
+{
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+		Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class,
+		Object.class);
+
+	/**
+	 * The underlying field
+	 */
+	@Getter
+	private final Field field;
+
+	/**
+	 * The name of the field
+	 */
+	@Getter
+	private final String name;
+
+	/**
+	 * The type of the field
+	 */
+	@Getter
+	private final Class<?> type;
+
+	/**
+	 * The class that declares the field
+	 */
+	@Getter
+	private final Class<?> declaringClass;
+
+	/**
+	 * The modifiers of the field
+	 */
+	@Getter
+	private final int modifiers;
+
+	/**
+	 * The modifiers of the field as an unmodifiable set
+	 */
+	@Getter
+	private final Set<FieldModifier> modifierSet;
+
+	/**
+	 * The kind of the field type
+	 */
+	@Getter
+	private final FieldKind kind;
+
+	/**
+	 * The names of the accessor methods are resolved on the first request
+	 */
+	private volatile AccessorNames accessorNames;
+
+	/**
+	 * The annotations of the field together with their meta-annotations are resolved on the first
+	 * request
+	 */
+	private volatile Map<Class<? extends Annotation>, Annotation> annotations;
+
+	/**
+	 * The getter handle with the type (Object)Object or null if the field is not accessible
+	 */
+	private final MethodHandle getter;
+
+	/**
+	 * The getter handle with the primitive field type as return type or null if the field has a
+	 * reference type or is not accessible
+	 */
+	private final MethodHandle primitiveGetter;
+
+	/**
+	 * The setter handle with the type (Object, Object)void or null if the field is not writable
+	 */
+	private final MethodHandle setter;
+
+	/**
+	 * The setter handle with the primitive field type as second parameter type or null if the
+	 * field has a reference type or is not writable
+	 */
+	private final MethodHandle primitiveSetter;
+
+	private FieldMetadata(final Field field)
+	{
+		this.field = field;
+		this.name = field.getName();
+		this.type = field.getType();
+		this.declaringClass = field.getDeclaringClass();
+		this.modifiers = field.getModifiers();
+		this.modifierSet = Collections.unmodifiableSet(FieldModifier.of(modifiers));
+		this.kind = FieldKind.of(type);
+		MethodHandle resolvedGetter = null;
+		MethodHandle resolvedSetter = null;
+		if (field.trySetAccessible())
+		{
+			resolvedGetter = unreflectGetter(field);
+			resolvedSetter = unreflectSetter(field);
+		}
+		this.getter = resolvedGetter != null ? resolvedGetter.asType(GETTER_TYPE) : null;
+		this.primitiveGetter = resolvedGetter != null && kind.isPrimitive()
+			? resolvedGetter.asType(MethodType.methodType(type, Object.class))
+			: null;
+		this.setter = resolvedSetter != null ? resolvedSetter.asType(SETTER_TYPE) : null;
+		this.primitiveSetter = resolvedSetter != null && kind.isPrimitive()
+			? resolvedSetter.asType(MethodType.methodType(void.class, Object.class, type))
+			: null;
+	}
+
+	/**
+	 * Factory method for create a new {@link FieldMetadata} object from the given {@link Field}
+	 *
+	 * @param field
+	 *            the field
+	 * @return the new {@link FieldMetadata} object
+	 */
+	public static FieldMetadata of(final @NonNull Field field)
+	{
+		return new FieldMetadata(field);
+	}
+
+	/**
+	 * Gets the names of the accessor methods of the field. The names are derived only once
+	 *
+	 * @return the names of the accessor methods of the field
+	 */
+	public AccessorNames getAccessorNames()
+	{
+		AccessorNames names = accessorNames;
+		if (names == null)
+		{
+			names = AccessorNames.of(name);
+			accessorNames = names;
+		}
+		return names;
+	}
+
+	/**
+	 * Gets the annotations that are present on the field together with their meta-annotations. The
+	 * annotations are resolved only once
+	 *
+	 * @return an unmodifiable map with the annotation types as keys and the annotations as values
+	 */
+	public Map<Class<? extends Annotation>, Annotation> getAllAnnotations()
+	{
+		Map<Class<? extends Annotation>, Annotation> resolved = annotations;
+		if (resolved == null)
+		{
+			resolved = Collections.unmodifiableMap(AnnotationIndex.resolveAnnotations(field));
+			annotations = resolved;
+		}
+		return resolved;
+	}
+
+	/**
+	 * Gets the annotation of the given type if it is present on the field or if it is a
+	 * meta-annotation of an annotation that is present on the field
+	 *
+	 * @param <A>
+	 *            the generic type of the annotation
+	 * @param annotationType
+	 *            the annotation type
+	 * @return the annotation or null if the field does not carry the given annotation
+	 */
+	public <A extends Annotation> A getAnnotation(final @NonNull Class<A> annotationType)
+	{
+		return annotationType.cast(getAllAnnotations().get(annotationType));
+	}
+
+	/**
+	 * Checks if the field carries the given annotation directly or as meta-annotation
+	 *
+	 * @param annotationType
+	 *            the annotation type
+	 * @return true, if the field carries the given annotation otherwise false
+	 */
+	public boolean isAnnotationPresent(final @NonNull Class<? extends Annotation> annotationType)
+	{
+		return getAllAnnotations().containsKey(annotationType);
+	}
+
+	private static MethodHandle unreflectGetter(final Field field)
+	{
+		try
+		{
+			MethodHandle handle = LOOKUP.unreflectGetter(field);
+			if (Modifier.isStatic(field.getModifiers()))
+			{
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			return handle;
+		}
+		catch (IllegalAccessException e)
+		{
+			return null;
+		}
+	}
+
+	private static MethodHandle unreflectSetter(final Field field)
+	{
+		try
+		{
+			MethodHandle handle = LOOKUP.unreflectSetter(field);
+			if (Modifier.isStatic(field.getModifiers()))
+			{
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			return handle;
+		}
+		catch (IllegalAccessException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Checks if the value of the field can be read
+	 *
+	 * @return true, if the value of the field can be read otherwise false
+	 */
+	public boolean isReadable()
+	{
+		return getter != null;
+	}
+
+	/**
+	 * Checks if the value of the field can be written
+	 *
+	 * @return true, if the value of the field can be written otherwise false
+	 */
+	public boolean isWritable()
+	{
+		return setter != null;
+	}
+
+	/**
+	 * Checks if the field is static
+	 *
+	 * @return true, if the field is static otherwise false
+	 */
+	public boolean isStatic()
+	{
+		return Modifier.isStatic(modifiers);
+	}
+
+	/**
+	 * Checks if the field is final
+	 *
+	 * @return true, if the field is final otherwise false
+	 */
+	public boolean isFinal()
+	{
+		return Modifier.isFinal(modifiers);
+	}
+
+	/**
+	 * Checks if the field is transient
+	 *
+	 * @return true, if the field is transient otherwise false
+	 */
+	public boolean isTransient()
+	{
+		return Modifier.isTransient(modifiers);
+	}
+
+	/**
+	 * Checks if the field has the given modifier
+	 *
+	 * @param fieldModifier
+	 *            the field modifier
+	 * @return true, if the field has the given modifier otherwise false
+	 */
+	public boolean hasModifier(final @NonNull FieldModifier fieldModifier)
+	{
+		return fieldModifier.isPresentIn(modifiers);
+	}
+
+	/**
+	 * Checks if the field has all modifiers of the given bit mask
+	 *
+	 * @param mask
+	 *            the bit mask of the modifiers
+	 * @return true, if the field has all modifiers of the given bit mask otherwise false
+	 */
+	public boolean hasAllModifiers(final int mask)
+	{
+		return (modifiers & mask) == mask;
+	}
+
+	/**
+	 * Checks if the field has any modifier of the given bit mask
+	 *
+	 * @param mask
+	 *            the bit mask of the modifiers
+	 * @return true, if the field has any modifier of the given bit mask otherwise false
+	 */
+	public boolean hasAnyModifier(final int mask)
+	{
+		return (modifiers & mask) != 0;
+	}
+
+	/**
+	 * Factory method for create a new {@link Predicate} that matches all fields that have all the
+	 * given modifiers
+	 *
+	 * @param fieldModifiers
+	 *            the field modifiers
+	 * @return the new {@link Predicate}
+	 */
+	public static Predicate<FieldMetadata> withModifiers(
+		final @NonNull FieldModifier... fieldModifiers)
+	{
+		final int mask = FieldModifier.maskOf(fieldModifiers);
+		return field -> field.hasAllModifiers(mask);
+	}
+
+	/**
+	 * Factory method for create a new {@link Predicate} that matches all fields that have none of
+	 * the given modifiers
+	 *
+	 * @param fieldModifiers
+	 *            the field modifiers
+	 * @return the new {@link Predicate}
+	 */
+	public static Predicate<FieldMetadata> withoutModifiers(
+		final @NonNull FieldModifier... fieldModifiers)
+	{
+		final int mask = FieldModifier.maskOf(fieldModifiers);
+		return field -> !field.hasAnyModifier(mask);
+	}
+
+	/**
+	 * Gets the value of the field from the given target object. For static fields the given target
+	 * is ignored and can be null
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public Object getValue(final Object target)
+	{
+		if (getter == null)
+		{
+			throw new UnsupportedOperationException("Field " + this + " is not readable");
+		}
+		return (Object)getter.invokeExact(target);
+	}
+
+	/**
+	 * Gets the value of the field with the type boolean from the given target object without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public boolean getBoolean(final Object target)
+	{
+		checkKind(FieldKind.BOOLEAN);
+		return (boolean)primitiveGetter.invokeExact(target);
+	}
+
+	/**
+	 * Gets the value of the field with the type byte from the given target object without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public byte getByte(final Object target)
+	{
+		checkKind(FieldKind.BYTE);
+		return (byte)primitiveGetter.invokeExact(target);
+	}
+
+	/**
+	 * Gets the value of the field with the type char from the given target object without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public char getChar(final Object target)
+	{
+		checkKind(FieldKind.CHAR);
+		return (char)primitiveGetter.invokeExact(target);
+	}
+
+	/**
+	 * Gets the value of the field with the type short from the given target object without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public short getShort(final Object target)
+	{
+		checkKind(FieldKind.SHORT);
+		return (short)primitiveGetter.invokeExact(target);
+	}
+
+	/**
+	 * Gets the value of the field with the type int from the given target object without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public int getInt(final Object target)
+	{
+		checkKind(FieldKind.INT);
+		return (int)primitiveGetter.invokeExact(target);
+	}
+
+	/**
+	 * Gets the value of the field with the type long from the given target object without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public long getLong(final Object target)
+	{
+		checkKind(FieldKind.LONG);
+		return (long)primitiveGetter.invokeExact(target);
+	}
+
+	/**
+	 * Gets the value of the field with the type float from the given target object without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public float getFloat(final Object target)
+	{
+		checkKind(FieldKind.FLOAT);
+		return (float)primitiveGetter.invokeExact(target);
+	}
+
+	/**
+	 * Gets the value of the field with the type double from the given target object without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the value of the field
+	 */
+	@SneakyThrows
+	public double getDouble(final Object target)
+	{
+		checkKind(FieldKind.DOUBLE);
+		return (double)primitiveGetter.invokeExact(target);
+	}
+
+	/**
+	 * Passes the value of the field from the given target object to the matching callback of the
+	 * given visitor. Primitive values are passed without boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param visitor
+	 *            the visitor
+	 */
+	public void accept(final Object target, final @NonNull FieldValueVisitor visitor)
+	{
+		switch (kind)
+		{
+			case BOOLEAN :
+				visitor.visitBoolean(this, getBoolean(target));
+				break;
+			case BYTE :
+				visitor.visitByte(this, getByte(target));
+				break;
+			case CHAR :
+				visitor.visitChar(this, getChar(target));
+				break;
+			case SHORT :
+				visitor.visitShort(this, getShort(target));
+				break;
+			case INT :
+				visitor.visitInt(this, getInt(target));
+				break;
+			case LONG :
+				visitor.visitLong(this, getLong(target));
+				break;
+			case FLOAT :
+				visitor.visitFloat(this, getFloat(target));
+				break;
+			case DOUBLE :
+				visitor.visitDouble(this, getDouble(target));
+				break;
+			default :
+				visitor.visitObject(this, getValue(target));
+				break;
+		}
+	}
+
+	private void checkKind(final FieldKind expected)
+	{
+		if (kind != expected)
+		{
+			throw new IllegalArgumentException(
+				"Field " + this + " is not of type " + expected.getType().getName());
+		}
+		if (primitiveGetter == null)
+		{
+			throw new UnsupportedOperationException("Field " + this + " is not readable");
+		}
+	}
+
+	/**
+	 * Sets the given value to the field of the given target object. For static fields the given
+	 * target is ignored and can be null
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setValue(final Object target, final Object value)
+	{
+		if (setter == null)
+		{
+			throw new UnsupportedOperationException("Field " + this + " is not writable");
+		}
+		setter.invokeExact(target, value);
+	}
+
+	/**
+	 * Sets the given value to the field with the type boolean of the given target object without
+	 * boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setBoolean(final Object target, final boolean value)
+	{
+		checkWritableKind(FieldKind.BOOLEAN);
+		primitiveSetter.invokeExact(target, value);
+	}
+
+	/**
+	 * Sets the given value to the field with the type byte of the given target object without
+	 * boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setByte(final Object target, final byte value)
+	{
+		checkWritableKind(FieldKind.BYTE);
+		primitiveSetter.invokeExact(target, value);
+	}
+
+	/**
+	 * Sets the given value to the field with the type char of the given target object without
+	 * boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setChar(final Object target, final char value)
+	{
+		checkWritableKind(FieldKind.CHAR);
+		primitiveSetter.invokeExact(target, value);
+	}
+
+	/**
+	 * Sets the given value to the field with the type short of the given target object without
+	 * boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setShort(final Object target, final short value)
+	{
+		checkWritableKind(FieldKind.SHORT);
+		primitiveSetter.invokeExact(target, value);
+	}
+
+	/**
+	 * Sets the given value to the field with the type int of the given target object without
+	 * boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setInt(final Object target, final int value)
+	{
+		checkWritableKind(FieldKind.INT);
+		primitiveSetter.invokeExact(target, value);
+	}
+
+	/**
+	 * Sets the given value to the field with the type long of the given target object without
+	 * boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setLong(final Object target, final long value)
+	{
+		checkWritableKind(FieldKind.LONG);
+		primitiveSetter.invokeExact(target, value);
+	}
+
+	/**
+	 * Sets the given value to the field with the type float of the given target object without
+	 * boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setFloat(final Object target, final float value)
+	{
+		checkWritableKind(FieldKind.FLOAT);
+		primitiveSetter.invokeExact(target, value);
+	}
+
+	/**
+	 * Sets the given value to the field with the type double of the given target object without
+	 * boxing
+	 *
+	 * @param target
+	 *            the target object
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setDouble(final Object target, final double value)
+	{
+		checkWritableKind(FieldKind.DOUBLE);
+		primitiveSetter.invokeExact(target, value);
+	}
+
+	private void checkWritableKind(final FieldKind expected)
+	{
+		if (kind != expected)
+		{
+			throw new IllegalArgumentException(
+				"Field " + this + " is not of type " + expected.getType().getName());
+		}
+		if (primitiveSetter == null)
+		{
+			throw new UnsupportedOperationException("Field " + this + " is not writable");
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return declaringClass.getName() + "." + name;
+	}
+}
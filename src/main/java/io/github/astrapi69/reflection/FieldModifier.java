@@ -0,0 +1,115 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.reflect.Modifier;
+import java.util.EnumSet;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The enum {@link FieldModifier} represents the modifiers that a field can have with the bit mask
+ * of the class {@link Modifier}, so the check of a modifier is a single bit test
+ */
+public enum FieldModifier
+{
+
+	/** The modifier public */
+	PUBLIC(Modifier.PUBLIC),
+	/** The modifier protected */
+	PROTECTED(Modifier.PROTECTED),
+	/** The modifier private */
+	PRIVATE(Modifier.PRIVATE),
+	/** The modifier static */
+	STATIC(Modifier.STATIC),
+	/** The modifier final */
+	FINAL(Modifier.FINAL),
+	/** The modifier transient */
+	TRANSIENT(Modifier.TRANSIENT),
+	/** The modifier volatile */
+	VOLATILE(Modifier.VOLATILE);
+
+	/**
+	 * The bit mask of this modifier
+	 */
+	@Getter
+	private final int mask;
+
+	FieldModifier(final int mask)
+	{
+		this.mask = mask;
+	}
+
+	/**
+	 * Checks if this modifier is set in the given modifiers
+	 *
+	 * @param modifiers
+	 *            the modifiers as returned from {@link java.lang.reflect.Field#getModifiers()}
+	 * @return true, if this modifier is set in the given modifiers otherwise false
+	 */
+	public boolean isPresentIn(final int modifiers)
+	{
+		return (modifiers & mask) != 0;
+	}
+
+	/**
+	 * Resolves the field modifiers from the given modifiers
+	 *
+	 * @param modifiers
+	 *            the modifiers as returned from {@link java.lang.reflect.Field#getModifiers()}
+	 * @return a new {@link EnumSet} with the field modifiers
+	 */
+	public static Set<FieldModifier> of(final int modifiers)
+	{
+		Set<FieldModifier> fieldModifiers = EnumSet.noneOf(FieldModifier.class);
+		for (FieldModifier fieldModifier : values())
+		{
+			if (fieldModifier.isPresentIn(modifiers))
+			{
+				fieldModifiers.add(fieldModifier);
+			}
+		}
+		return fieldModifiers;
+	}
+
+	/**
+	 * Combines the bit masks of the given field modifiers
+	 *
+	 * @param fieldModifiers
+	 *            the field modifiers
+	 * @return the combined bit mask
+	 */
+	public static int maskOf(final @NonNull FieldModifier... fieldModifiers)
+	{
+		int mask = 0;
+		for (FieldModifier fieldModifier : fieldModifiers)
+		{
+			mask |= fieldModifier.mask;
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+/**
+ * The interface {@link FieldValueVisitor} is the callback for iterate over the field values of an
+ * object. Primitive values are passed with their primitive type, so no boxing is necessary. The
+ * default implementations of the primitive callbacks delegate with the boxed value to
+ * {@link #visitObject(FieldMetadata, Object)}, so only the callbacks of the needed types have to be
+ * overwritten for avoid boxing
+ */
+@FunctionalInterface
+public interface FieldValueVisitor
+{
+
+	/**
+	 * Visits the value of a field with a reference type
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	void visitObject(FieldMetadata field, Object value);
+
+	/**
+	 * Visits the value of a field with the type boolean
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	default void visitBoolean(FieldMetadata field, boolean value)
+	{
+		visitObject(field, value);
+	}
+
+	/**
+	 * Visits the value of a field with the type byte
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	default void visitByte(FieldMetadata field, byte value)
+	{
+		visitObject(field, value);
+	}
+
+	/**
+	 * Visits the value of a field with the type char
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	default void visitChar(FieldMetadata field, char value)
+	{
+		visitObject(field, value);
+	}
+
+	/**
+	 * Visits the value of a field with the type short
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	default void visitShort(FieldMetadata field, short value)
+	{
+		visitObject(field, value);
+	}
+
+	/**
+	 * Visits the value of a field with the type int
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	default void visitInt(FieldMetadata field, int value)
+	{
+		visitObject(field, value);
+	}
+
+	/**
+	 * Visits the value of a field with the type long
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	default void visitLong(FieldMetadata field, long value)
+	{
+		visitObject(field, value);
+	}
+
+	/**
+	 * Visits the value of a field with the type float
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	default void visitFloat(FieldMetadata field, float value)
+	{
+		visitObject(field, value);
+	}
+
+	/**
+	 * Visits the value of a field with the type double
+	 *
+	 * @param field
+	 *            the field metadata
+	 * @param value
+	 *            the value of the field
+	 */
+	default void visitDouble(FieldMetadata field, double value)
+	{
+		visitObject(field, value);
+	}
+}
@@ -0,0 +1,554 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link GenericTypeResolver} resolves the generic types of the fields of a concrete
+ * class. The type variables of the superclasses are bound to the type arguments that are given in
+ * the class hierarchy and the resolved field types are cached per concrete class, so the element
+ * types of collections and the key and value types of maps are resolved only once
+ */
+public final class GenericTypeResolver
+{
+
+	private static final ReflectionCache<ResolvedTypes> CACHE = new ReflectionCache<>(
+		ResolvedTypes::new);
+
+	private GenericTypeResolver()
+	{
+	}
+
+	/**
+	 * Gets the resolved types of all non synthetic fields of the given concrete class and all
+	 * superclasses mapped by the field names. If a field is shadowed by a field with the same name
+	 * of a subclass only the field of the subclass is taken
+	 *
+	 * @param cls
+	 *            the concrete class
+	 * @return an unmodifiable map with the resolved field types mapped by the field names
+	 */
+	public static Map<String, ResolvedFieldType> getResolvedFieldTypes(
+		final @NonNull Class<?> cls)
+	{
+		return CACHE.get(cls).byName;
+	}
+
+	/**
+	 * Resolves the type of the field with the given name of the given concrete class
+	 *
+	 * @param cls
+	 *            the concrete class
+	 * @param fieldName
+	 *            the field name
+	 * @return the resolved field type or null if no field with the given name exists in the class
+	 *         hierarchy
+	 */
+	public static ResolvedFieldType resolve(final @NonNull Class<?> cls,
+		final @NonNull String fieldName)
+	{
+		return CACHE.get(cls).byName.get(fieldName);
+	}
+
+	/**
+	 * Resolves the type of the given field for the given concrete class
+	 *
+	 * @param cls
+	 *            the concrete class
+	 * @param field
+	 *            the field that is declared in the given class or in one of the superclasses
+	 * @return the resolved field type
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given field is not declared in the class hierarchy
+	 */
+	public static ResolvedFieldType resolve(final @NonNull Class<?> cls,
+		final @NonNull Field field)
+	{
+		ResolvedTypes resolvedTypes = CACHE.get(cls);
+		ResolvedFieldType resolvedFieldType = resolvedTypes.byName.get(field.getName());
+		if (resolvedFieldType != null && resolvedFieldType.getField().getField().equals(field))
+		{
+			return resolvedFieldType;
+		}
+		resolvedFieldType = resolvedTypes.byField.get(field);
+		if (resolvedFieldType == null)
+		{
+			throw new IllegalArgumentException(
+				"Field " + field + " is not declared in the hierarchy of " + cls.getName());
+		}
+		return resolvedFieldType;
+	}
+
+	/**
+	 * Resolves the given type in the context of the given concrete class, so all type variables
+	 * that are bound in the class hierarchy are replaced with their type arguments
+	 *
+	 * @param cls
+	 *            the concrete class
+	 * @param type
+	 *            the type to resolve
+	 * @return the resolved type
+	 */
+	public static Type resolveType(final @NonNull Class<?> cls, final @NonNull Type type)
+	{
+		return substitute(type, CACHE.get(cls).bindings);
+	}
+
+	/**
+	 * Resolves the type argument with the given index of the given target class for the given
+	 * type. For instance the type argument with the index 0 of {@link Collection} for the type
+	 * {@code ArrayList<String>} is {@link String}
+	 *
+	 * @param type
+	 *            the type
+	 * @param target
+	 *            the generic superclass or interface
+	 * @param index
+	 *            the index of the type argument
+	 * @return the resolved type argument or null if the given type is not a subtype of the given
+	 *         target class
+	 */
+	public static Type resolveTypeArgument(final @NonNull Type type,
+		final @NonNull Class<?> target, final int index)
+	{
+		Class<?> rawType = getRawType(type);
+		if (!target.isAssignableFrom(rawType))
+		{
+			return null;
+		}
+		Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+		if (type instanceof ParameterizedType)
+		{
+			bind((ParameterizedType)type, bindings);
+		}
+		Type found = findSupertype(rawType, target, bindings);
+		if (found instanceof ParameterizedType)
+		{
+			return ((ParameterizedType)found).getActualTypeArguments()[index];
+		}
+		return Object.class;
+	}
+
+	/**
+	 * Gets the raw class of the given type
+	 *
+	 * @param type
+	 *            the type
+	 * @return the raw class of the given type
+	 */
+	public static Class<?> getRawType(final @NonNull Type type)
+	{
+		if (type instanceof Class)
+		{
+			return (Class<?>)type;
+		}
+		if (type instanceof ParameterizedType)
+		{
+			return (Class<?>)((ParameterizedType)type).getRawType();
+		}
+		if (type instanceof GenericArrayType)
+		{
+			Class<?> componentType = getRawType(
+				((GenericArrayType)type).getGenericComponentType());
+			return Array.newInstance(componentType, 0).getClass();
+		}
+		if (type instanceof TypeVariable)
+		{
+			return getRawType(((TypeVariable<?>)type).getBounds()[0]);
+		}
+		if (type instanceof WildcardType)
+		{
+			return getRawType(((WildcardType)type).getUpperBounds()[0]);
+		}
+		return Object.class;
+	}
+
+	private static void bind(final ParameterizedType parameterizedType,
+		final Map<TypeVariable<?>, Type> bindings)
+	{
+		TypeVariable<?>[] typeParameters = ((Class<?>)parameterizedType.getRawType())
+			.getTypeParameters();
+		Type[] typeArguments = parameterizedType.getActualTypeArguments();
+		for (int i = 0; i < typeParameters.length; i++)
+		{
+			bindings.put(typeParameters[i], substitute(typeArguments[i], bindings));
+		}
+	}
+
+	private static Type findSupertype(final Class<?> rawType, final Class<?> target,
+		final Map<TypeVariable<?>, Type> bindings)
+	{
+		if (rawType == target)
+		{
+			TypeVariable<?>[] typeParameters = target.getTypeParameters();
+			if (typeParameters.length == 0)
+			{
+				return target;
+			}
+			Type[] typeArguments = new Type[typeParameters.length];
+			for (int i = 0; i < typeParameters.length; i++)
+			{
+				typeArguments[i] = substitute(typeParameters[i], bindings);
+			}
+			return new ParameterizedTypeImpl(target, typeArguments, target.getDeclaringClass());
+		}
+		Type superclass = rawType.getGenericSuperclass();
+		if (superclass != null && target.isAssignableFrom(getRawType(superclass)))
+		{
+			return findSupertypeOf(superclass, target, bindings);
+		}
+		for (Type anInterface : rawType.getGenericInterfaces())
+		{
+			if (target.isAssignableFrom(getRawType(anInterface)))
+			{
+				return findSupertypeOf(anInterface, target, bindings);
+			}
+		}
+		return null;
+	}
+
+	private static Type findSupertypeOf(final Type supertype, final Class<?> target,
+		final Map<TypeVariable<?>, Type> bindings)
+	{
+		if (supertype instanceof ParameterizedType)
+		{
+			bind((ParameterizedType)supertype, bindings);
+		}
+		return findSupertype(getRawType(supertype), target, bindings);
+	}
+
+	private static Type substitute(final Type type, final Map<TypeVariable<?>, Type> bindings)
+	{
+		if (type instanceof TypeVariable)
+		{
+			Type bound = bindings.get(type);
+			return bound != null ? bound : type;
+		}
+		if (type instanceof ParameterizedType)
+		{
+			ParameterizedType parameterizedType = (ParameterizedType)type;
+			Type[] typeArguments = parameterizedType.getActualTypeArguments();
+			Type[] substituted = substitute(typeArguments, bindings);
+			if (substituted == typeArguments)
+			{
+				return type;
+			}
+			return new ParameterizedTypeImpl((Class<?>)parameterizedType.getRawType(),
+				substituted, parameterizedType.getOwnerType());
+		}
+		if (type instanceof GenericArrayType)
+		{
+			Type componentType = ((GenericArrayType)type).getGenericComponentType();
+			Type substituted = substitute(componentType, bindings);
+			if (substituted == componentType)
+			{
+				return type;
+			}
+			if (substituted instanceof Class)
+			{
+				return Array.newInstance((Class<?>)substituted, 0).getClass();
+			}
+			return new GenericArrayTypeImpl(substituted);
+		}
+		if (type instanceof WildcardType)
+		{
+			WildcardType wildcardType = (WildcardType)type;
+			Type[] upperBounds = wildcardType.getUpperBounds();
+			Type[] lowerBounds = wildcardType.getLowerBounds();
+			Type[] substitutedUpperBounds = substitute(upperBounds, bindings);
+			Type[] substitutedLowerBounds = substitute(lowerBounds, bindings);
+			if (substitutedUpperBounds == upperBounds && substitutedLowerBounds == lowerBounds)
+			{
+				return type;
+			}
+			return new WildcardTypeImpl(substitutedUpperBounds, substitutedLowerBounds);
+		}
+		return type;
+	}
+
+	private static Type[] substitute(final Type[] types,
+		final Map<TypeVariable<?>, Type> bindings)
+	{
+		Type[] substituted = types;
+		for (int i = 0; i < types.length; i++)
+		{
+			Type type = substitute(types[i], bindings);
+			if (type != types[i])
+			{
+				if (substituted == types)
+				{
+					substituted = types.clone();
+				}
+				substituted[i] = type;
+			}
+		}
+		return substituted;
+	}
+
+	private static final class ResolvedTypes
+	{
+
+		private final Map<TypeVariable<?>, Type> bindings;
+
+		private final Map<String, ResolvedFieldType> byName;
+
+		private final Map<Field, ResolvedFieldType> byField;
+
+		private ResolvedTypes(final Class<?> type)
+		{
+			this.bindings = new HashMap<>();
+			Type supertype = type.getGenericSuperclass();
+			while (supertype != null)
+			{
+				if (supertype instanceof ParameterizedType)
+				{
+					bind((ParameterizedType)supertype, bindings);
+				}
+				supertype = getRawType(supertype).getGenericSuperclass();
+			}
+			FieldMetadata[] fields = ClassMetadata.of(type).fields();
+			Map<String, ResolvedFieldType> resolvedByName = new LinkedHashMap<>(
+				InstanceFactory.hashCapacity(fields.length));
+			Map<Field, ResolvedFieldType> resolvedByField = new HashMap<>(
+				InstanceFactory.hashCapacity(fields.length));
+			for (FieldMetadata field : fields)
+			{
+				ResolvedFieldType resolvedFieldType = resolveField(field);
+				resolvedByName.putIfAbsent(field.getName(), resolvedFieldType);
+				resolvedByField.put(field.getField(), resolvedFieldType);
+			}
+			this.byName = Collections.unmodifiableMap(resolvedByName);
+			this.byField = resolvedByField;
+		}
+
+		private ResolvedFieldType resolveField(final FieldMetadata field)
+		{
+			Type type = substitute(field.getField().getGenericType(), bindings);
+			Class<?> rawType = getRawType(type);
+			Type elementType = null;
+			Type keyType = null;
+			Type valueType = null;
+			if (type instanceof GenericArrayType)
+			{
+				elementType = ((GenericArrayType)type).getGenericComponentType();
+			}
+			else if (rawType.isArray())
+			{
+				elementType = rawType.getComponentType();
+			}
+			else if (Collection.class.isAssignableFrom(rawType))
+			{
+				elementType = resolveTypeArgument(type, Collection.class, 0);
+			}
+			else if (Map.class.isAssignableFrom(rawType))
+			{
+				keyType = resolveTypeArgument(type, Map.class, 0);
+				valueType = resolveTypeArgument(type, Map.class, 1);
+			}
+			return new ResolvedFieldType(field, type, elementType, keyType, valueType);
+		}
+	}
+
+	private static final class ParameterizedTypeImpl implements ParameterizedType
+	{
+
+		private final Class<?> rawType;
+
+		private final Type[] typeArguments;
+
+		private final Type ownerType;
+
+		private ParameterizedTypeImpl(final Class<?> rawType, final Type[] typeArguments,
+			final Type ownerType)
+		{
+			this.rawType = rawType;
+			this.typeArguments = typeArguments;
+			this.ownerType = ownerType;
+		}
+
+		@Override
+		public Type[] getActualTypeArguments()
+		{
+			return typeArguments.clone();
+		}
+
+		@Override
+		public Type getRawType()
+		{
+			return rawType;
+		}
+
+		@Override
+		public Type getOwnerType()
+		{
+			return ownerType;
+		}
+
+		@Override
+		public boolean equals(final Object other)
+		{
+			if (!(other instanceof ParameterizedType))
+			{
+				return false;
+			}
+			ParameterizedType that = (ParameterizedType)other;
+			return rawType.equals(that.getRawType())
+				&& Objects.equals(ownerType, that.getOwnerType())
+				&& Arrays.equals(typeArguments, that.getActualTypeArguments());
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Arrays.hashCode(typeArguments) ^ Objects.hashCode(ownerType)
+				^ rawType.hashCode();
+		}
+
+		@Override
+		public String toString()
+		{
+			StringBuilder typeName = new StringBuilder(rawType.getTypeName()).append('<');
+			for (int i = 0; i < typeArguments.length; i++)
+			{
+				if (i > 0)
+				{
+					typeName.append(", ");
+				}
+				typeName.append(typeArguments[i].getTypeName());
+			}
+			return typeName.append('>').toString();
+		}
+	}
+
+	private static final class GenericArrayTypeImpl implements GenericArrayType
+	{
+
+		private final Type componentType;
+
+		private GenericArrayTypeImpl(final Type componentType)
+		{
+			this.componentType = componentType;
+		}
+
+		@Override
+		public Type getGenericComponentType()
+		{
+			return componentType;
+		}
+
+		@Override
+		public boolean equals(final Object other)
+		{
+			return other instanceof GenericArrayType && componentType
+				.equals(((GenericArrayType)other).getGenericComponentType());
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return componentType.hashCode();
+		}
+
+		@Override
+		public String toString()
+		{
+			return componentType.getTypeName() + "[]";
+		}
+	}
+
+	private static final class WildcardTypeImpl implements WildcardType
+	{
+
+		private final Type[] upperBounds;
+
+		private final Type[] lowerBounds;
+
+		private WildcardTypeImpl(final Type[] upperBounds, final Type[] lowerBounds)
+		{
+			this.upperBounds = upperBounds;
+			this.lowerBounds = lowerBounds;
+		}
+
+		@Override
+		public Type[] getUpperBounds()
+		{
+			return upperBounds.clone();
+		}
+
+		@Override
+		public Type[] getLowerBounds()
+		{
+			return lowerBounds.clone();
+		}
+
+		@Override
+		public boolean equals(final Object other)
+		{
+			if (!(other instanceof WildcardType))
+			{
+				return false;
+			}
+			WildcardType that = (WildcardType)other;
+			return Arrays.equals(upperBounds, that.getUpperBounds())
+				&& Arrays.equals(lowerBounds, that.getLowerBounds());
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Arrays.hashCode(upperBounds) ^ Arrays.hashCode(lowerBounds);
+		}
+
+		@Override
+		public String toString()
+		{
+			if (lowerBounds.length > 0)
+			{
+				return "? super " + lowerBounds[0].getTypeName();
+			}
+			if (upperBounds.length == 0 || upperBounds[0] == Object.class)
+			{
+				return "?";
+			}
+			return "? extends " + upperBounds[0].getTypeName();
+		}
+	}
+}
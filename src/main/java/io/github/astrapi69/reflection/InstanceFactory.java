@@ -24,22 +24,29 @@
  */
 package io.github.astrapi69.reflection;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import io.github.astrapi69.lang.ClassExtensions;
 import io.github.astrapi69.lang.ClassType;
@@ -47,6 +54,7 @@ import io.github.astrapi69.modjenesis.Objenesis;
 import io.github.astrapi69.modjenesis.ObjenesisStd;
 import io.github.astrapi69.modjenesis.instantiator.ObjectInstantiator;
 import lombok.NonNull;
+import lombok.SneakyThrows;
 
 /**
  * The class {@link InstanceFactory} provides utility methods for create new instances
@@ -55,10 +63,126 @@ public final class InstanceFactory
 {
 	private static final Logger log = Logger.getLogger(InstanceFactory.class.getName());
 
+	/**
+	 * The objenesis instance without its own cache, because the instantiators are cached per class
+	 * in {@link #INSTANTIATORS}
+	 */
+	private static final Objenesis OBJENESIS = new ObjenesisStd(false);
+
+	private static final ReflectionCache<ObjectInstantiator<?>> INSTANTIATORS = new ReflectionCache<>(
+		OBJENESIS::getInstantiatorOf);
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+	/**
+	 * The instance suppliers for the bulk instantiation, the strategy how to create a new instance
+	 * is resolved only once per class
+	 */
+	private static final ReflectionCache<Supplier<?>> SUPPLIERS = new ReflectionCache<>(
+		InstanceFactory::resolveSupplier);
+
 	private InstanceFactory()
 	{
 	}
 
+	/**
+	 * Factory method for create the given number of new instances from the given {@link Class}.
+	 * The strategy how to create a new instance is resolved only once for all instances, this is
+	 * the default constructor, the default values for records or objenesis if the class has no
+	 * accessible default constructor
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param clazz
+	 *            the Class object
+	 * @param count
+	 *            the number of the new instances
+	 * @return the array with the new instances
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given class is an array class, a primitive type or an abstract
+	 *             class or an interface that is not a map, set, list or queue
+	 */
+	public static <T> T[] newInstances(final @NonNull Class<T> clazz, final int count)
+	{
+		return newInstances(clazz, count, false);
+	}
+
+	/**
+	 * Factory method for create the given number of new instances from the given {@link Class}.
+	 * The strategy how to create a new instance is resolved only once for all instances and the
+	 * instances can be created in parallel, what pays off for expensive constructors
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param clazz
+	 *            the Class object
+	 * @param count
+	 *            the number of the new instances
+	 * @param parallel
+	 *            the flag if the instances will be created in parallel
+	 * @return the array with the new instances
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given class is an array class, a primitive type or an abstract
+	 *             class or an interface that is not a map, set, list or queue
+	 */
+	public static <T> T[] newInstances(final @NonNull Class<T> clazz, final int count,
+		final boolean parallel)
+	{
+		IntFunction<T> instanceFunction = newInstanceFunction(clazz);
+		T[] instances = newArrayInstance(clazz, count);
+		if (parallel)
+		{
+			Arrays.parallelSetAll(instances, instanceFunction);
+		}
+		else
+		{
+			Arrays.setAll(instances, instanceFunction);
+		}
+		return instances;
+	}
+
+	/**
+	 * Factory method for create a sequential {@link Stream} with the given number of new instances
+	 * from the given {@link Class}. The instances are created lazy while the stream is consumed and
+	 * the stream can be turned into a parallel stream
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param clazz
+	 *            the Class object
+	 * @param count
+	 *            the number of the new instances
+	 * @return the stream with the new instances
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given class is an array class, a primitive type or an abstract
+	 *             class or an interface that is not a map, set, list or queue
+	 */
+	public static <T> Stream<T> newInstanceStream(final @NonNull Class<T> clazz, final int count)
+	{
+		return IntStream.range(0, count).mapToObj(newInstanceFunction(clazz));
+	}
+
+	/**
+	 * Gets the cached {@link IntFunction} object that creates a new instance from the given
+	 * {@link Class} on every call and ignores the given index. The function can be used for
+	 * {@link Arrays#setAll(Object[], IntFunction)} or {@link IntStream#mapToObj(IntFunction)}
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param clazz
+	 *            the Class object
+	 * @return the function that creates the new instances
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given class is an array class, a primitive type or an abstract
+	 *             class or an interface that is not a map, set, list or queue
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> IntFunction<T> newInstanceFunction(final @NonNull Class<T> clazz)
+	{
+		Supplier<T> supplier = (Supplier<T>)SUPPLIERS.get(clazz);
+		return index -> supplier.get();
+	}
+
 	/**
 	 * Factory method for create a new instance from the given {@link String} object that represents
 	 * the fully qualified name of the class that have to be instantiated. <br>
@@ -129,7 +253,8 @@ public final class InstanceFactory
 	}
 
 	/**
-	 * Creates a new array instance of the given array {@link Class} and the given length
+	 * Creates a new array instance of the given array {@link Class} and the given length over the
+	 * {@link ArrayAllocator}
 	 *
 	 * @param cls
 	 *            the array class object
@@ -143,48 +268,7 @@ public final class InstanceFactory
 		{
 			return null;
 		}
-		Object destinationArray = null;
-		Class<?> arrayType = cls.getComponentType();
-		if (arrayType.isPrimitive())
-		{
-			if ("boolean".equals(arrayType.getName()))
-			{
-				destinationArray = new boolean[length];
-			}
-			if ("byte".equals(arrayType.getName()))
-			{
-				destinationArray = new byte[length];
-			}
-			if ("char".equals(arrayType.getName()))
-			{
-				destinationArray = new char[length];
-			}
-			if ("short".equals(arrayType.getName()))
-			{
-				destinationArray = new short[length];
-			}
-			if ("int".equals(arrayType.getName()))
-			{
-				destinationArray = new int[length];
-			}
-			if ("long".equals(arrayType.getName()))
-			{
-				destinationArray = new long[length];
-			}
-			if ("float".equals(arrayType.getName()))
-			{
-				destinationArray = new float[length];
-			}
-			if ("double".equals(arrayType.getName()))
-			{
-				destinationArray = new double[length];
-			}
-		}
-		else
-		{
-			destinationArray = Array.newInstance(cls, length);
-		}
-		return destinationArray;
+		return ArrayAllocator.newArray(cls.getComponentType(), length);
 	}
 
 	/**
@@ -204,7 +288,9 @@ public final class InstanceFactory
 	}
 
 	/**
-	 * Creates a new instance from the same type as the given object.
+	 * Creates a new instance from the same type as the given object. Collections and maps are
+	 * created empty over the {@link ContainerSuppliers} with the same type, comparator or enum type
+	 * as the given object and are pre-sized to the size of the given object
 	 *
 	 * @param <T>
 	 *            the generic type
@@ -223,29 +309,8 @@ public final class InstanceFactory
 		switch (classType)
 		{
 			case MAP :
-				if (clazz.equals(LinkedHashMap.class))
-				{
-					return Optional.of((T)new LinkedHashMap<>());
-				}
-				if (clazz.equals(TreeMap.class))
-				{
-					return Optional.of((T)new TreeMap<>());
-				}
-				return Optional.of((T)new HashMap<>());
 			case COLLECTION :
-				if (clazz.equals(HashSet.class))
-				{
-					return Optional.of((T)new HashSet<>());
-				}
-				if (clazz.equals(LinkedHashSet.class))
-				{
-					return Optional.of((T)new LinkedHashSet<>());
-				}
-				if (clazz.equals(LinkedList.class))
-				{
-					return Optional.of((T)new LinkedList<>());
-				}
-				return Optional.of((T)new ArrayList<>());
+				return Optional.of(ContainerSuppliers.newInstance(object));
 			case ARRAY :
 				int length = Array.getLength(object);
 				return Optional.of((T)Array.newInstance(clazz.getComponentType(), length));
@@ -326,6 +391,18 @@ public final class InstanceFactory
 		return Optional.of(newInstanceWithModjenesis(clazz, initArgs));
 	}
 
+	/**
+	 * Gets the cached objenesis instantiator of the given class
+	 *
+	 * @param clazz
+	 *            the Class object
+	 * @return the objenesis instantiator of the given class
+	 */
+	static ObjectInstantiator<?> getInstantiator(final Class<?> clazz)
+	{
+		return INSTANTIATORS.get(clazz);
+	}
+
 	/**
 	 * Creates a new instance from the same type as the given {@link Class}
 	 *
@@ -337,10 +414,10 @@ public final class InstanceFactory
 	 *            an optional array of objects to be passed as arguments to the constructor call
 	 * @return the new instance
 	 */
+	@SuppressWarnings("unchecked")
 	public static <T> T newInstanceWithModjenesis(final @NonNull Class<T> clazz, Object... initArgs)
 	{
-		Objenesis objenesis = new ObjenesisStd();
-		ObjectInstantiator<T> instantiator = objenesis.getInstantiatorOf(clazz, initArgs);
+		ObjectInstantiator<T> instantiator = (ObjectInstantiator<T>)INSTANTIATORS.get(clazz);
 		return instantiator.newInstance(initArgs);
 	}
 
@@ -370,6 +447,10 @@ public final class InstanceFactory
 		throws InstantiationException, IllegalAccessException, NoSuchMethodException,
 		InvocationTargetException
 	{
+		if (clazz.isRecord())
+		{
+			return clazz.cast(newRecordInstance(clazz.asSubclass(Record.class), initArgs));
+		}
 		ClassType classType = ClassExtensions.getClassType(clazz);
 		switch (classType)
 		{
@@ -409,6 +490,32 @@ public final class InstanceFactory
 		}
 	}
 
+	/**
+	 * Creates a new record over the cached canonical constructor of the given record class. If no
+	 * component values are given the record is created with the default values of the components
+	 *
+	 * @param <R>
+	 *            the generic type of the record
+	 * @param recordClass
+	 *            the record class
+	 * @param componentValues
+	 *            an optional array with the component values in the order of the canonical
+	 *            constructor
+	 * @return the new record
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given values do not match to the record components
+	 */
+	public static <R extends Record> R newRecordInstance(final @NonNull Class<R> recordClass,
+		Object... componentValues)
+	{
+		RecordMetadata<R> recordMetadata = RecordMetadata.of(recordClass);
+		if (componentValues == null || componentValues.length == 0)
+		{
+			return recordMetadata.newDefaultInstance();
+		}
+		return recordMetadata.newInstance(componentValues);
+	}
+
 	/**
 	 * Get an {@link Class} object array of the given {@link Object} array
 	 *
@@ -429,4 +536,77 @@ public final class InstanceFactory
 		}
 		return parameterTypeClasses;
 	}
+
+	/**
+	 * Computes the initial capacity of a hash based collection for the given expected size, so the
+	 * collection will not be resized while it is filled with the expected number of elements
+	 *
+	 * @param expectedSize
+	 *            the expected number of elements
+	 * @return the initial capacity
+	 */
+	static int hashCapacity(final int expectedSize)
+	{
+		return (int)(expectedSize / 0.75f) + 1;
+	}
+
+	private static Supplier<?> resolveSupplier(final Class<?> type)
+	{
+		if (type.isRecord())
+		{
+			return RecordMetadata.of(type.asSubclass(Record.class))::newDefaultInstance;
+		}
+		if (type.equals(Map.class))
+		{
+			return HashMap::new;
+		}
+		if (type.equals(Set.class))
+		{
+			return HashSet::new;
+		}
+		if (type.equals(List.class))
+		{
+			return ArrayList::new;
+		}
+		if (type.equals(Queue.class))
+		{
+			return LinkedList::new;
+		}
+		if (type.isArray() || type.isPrimitive() || Modifier.isAbstract(type.getModifiers()))
+		{
+			throw new IllegalArgumentException(
+				"Instances of the class " + type.getName() + " can not be created");
+		}
+		MethodHandle constructor = resolveDefaultConstructor(type);
+		if (constructor != null)
+		{
+			return () -> newInstance(constructor);
+		}
+		ObjectInstantiator<?> instantiator = INSTANTIATORS.get(type);
+		return instantiator::newInstance;
+	}
+
+	private static MethodHandle resolveDefaultConstructor(final Class<?> type)
+	{
+		try
+		{
+			Constructor<?> defaultConstructor = type.getDeclaredConstructor();
+			if (defaultConstructor.trySetAccessible())
+			{
+				return MethodHandles.lookup().unreflectConstructor(defaultConstructor)
+					.asType(CONSTRUCTOR_TYPE);
+			}
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			// the instances will be created over objenesis
+		}
+		return null;
+	}
+
+	@SneakyThrows
+	private static Object newInstance(final MethodHandle constructor)
+	{
+		return (Object)constructor.invokeExact();
+	}
 }
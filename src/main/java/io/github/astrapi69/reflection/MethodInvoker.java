@@ -0,0 +1,508 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link MethodInvoker} invokes a method over a cached {@link MethodHandle}. The
+ * invokers are cached per class, method name and parameter types. Methods with up to three
+ * parameters can be invoked with the fixed arity methods <code>invoke0</code> to
+ * <code>invoke3</code> that need no argument array, and methods that return a primitive value can
+ * be invoked without boxing the return value. Exceptions that are thrown from the invoked method
+ * are thrown unwrapped
+ */
+public final class MethodInvoker
+{
+
+	/**
+	 * The maximum number of parameters of a method that can be invoked with a fixed arity method
+	 */
+	public static final int MAX_FIXED_ARITY = 3;
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final ReflectionCache<Map<List<Object>, MethodInvoker>> INVOKERS = new ReflectionCache<>(
+		type -> new ConcurrentHashMap<>());
+
+	/**
+	 * The underlying method
+	 */
+	@Getter
+	private final Method method;
+
+	/**
+	 * The return type of the method
+	 */
+	@Getter
+	private final Class<?> returnType;
+
+	/**
+	 * The number of parameters of the method
+	 */
+	@Getter
+	private final int parameterCount;
+
+	/**
+	 * The handle with the type (Object, Object[])Object
+	 */
+	private final MethodHandle spreadInvoker;
+
+	/**
+	 * The handle with the type (Object, Object...)Object with one Object parameter for each method
+	 * parameter or null if the method has more than {@link #MAX_FIXED_ARITY} parameters
+	 */
+	private final MethodHandle fixedInvoker;
+
+	private final MethodHandle booleanInvoker;
+
+	private final MethodHandle intInvoker;
+
+	private final MethodHandle longInvoker;
+
+	private final MethodHandle doubleInvoker;
+
+	private MethodInvoker(final Method method, final MethodHandle handle)
+	{
+		this.method = method;
+		this.returnType = method.getReturnType();
+		this.parameterCount = method.getParameterCount();
+		MethodHandle target = Modifier.isStatic(method.getModifiers())
+			? MethodHandles.dropArguments(handle, 0, Object.class)
+			: handle;
+		MethodHandle generic = target
+			.asType(MethodType.genericMethodType(parameterCount + 1));
+		this.spreadInvoker = generic.asSpreader(Object[].class, parameterCount);
+		this.fixedInvoker = parameterCount <= MAX_FIXED_ARITY ? generic : null;
+		this.booleanInvoker = primitiveInvoker(target, boolean.class);
+		this.intInvoker = primitiveInvoker(target, int.class);
+		this.longInvoker = primitiveInvoker(target, long.class);
+		this.doubleInvoker = primitiveInvoker(target, double.class);
+	}
+
+	/**
+	 * Gets the cached {@link MethodInvoker} object of the method with the given name and parameter
+	 * types. The method is searched in the given class and all superclasses and if not found in
+	 * the public methods of the given class including the methods of the interfaces. If no invoker
+	 * exists yet it will be resolved and cached
+	 *
+	 * @param cls
+	 *            the class object
+	 * @param methodName
+	 *            the method name
+	 * @param parameterTypes
+	 *            the parameter types
+	 * @return the cached {@link MethodInvoker} object
+	 * @throws NoSuchMethodException
+	 *             is thrown if no such method exists
+	 * @throws IllegalAccessException
+	 *             is thrown if the method can not be accessed
+	 */
+	public static MethodInvoker of(final @NonNull Class<?> cls, final @NonNull String methodName,
+		final @NonNull Class<?>... parameterTypes)
+		throws NoSuchMethodException, IllegalAccessException
+	{
+		Map<List<Object>, MethodInvoker> invokers = INVOKERS.get(cls);
+		List<Object> key = key(methodName, parameterTypes);
+		MethodInvoker invoker = invokers.get(key);
+		if (invoker == null)
+		{
+			invoker = newMethodInvoker(findMethod(cls, methodName, parameterTypes));
+			MethodInvoker existing = invokers.putIfAbsent(key, invoker);
+			if (existing != null)
+			{
+				invoker = existing;
+			}
+		}
+		return invoker;
+	}
+
+	/**
+	 * Gets the cached {@link MethodInvoker} object of the given method
+	 *
+	 * @param method
+	 *            the method
+	 * @return the cached {@link MethodInvoker} object
+	 * @throws IllegalAccessException
+	 *             is thrown if the method can not be accessed
+	 */
+	public static MethodInvoker of(final @NonNull Method method) throws IllegalAccessException
+	{
+		Map<List<Object>, MethodInvoker> invokers = INVOKERS.get(method.getDeclaringClass());
+		List<Object> key = key(method.getName(), method.getParameterTypes());
+		MethodInvoker invoker = invokers.get(key);
+		if (invoker == null)
+		{
+			invoker = newMethodInvoker(method);
+			MethodInvoker existing = invokers.putIfAbsent(key, invoker);
+			if (existing != null)
+			{
+				invoker = existing;
+			}
+		}
+		return invoker;
+	}
+
+	private static List<Object> key(final String methodName, final Class<?>[] parameterTypes)
+	{
+		Object[] key = new Object[parameterTypes.length + 1];
+		key[0] = methodName;
+		System.arraycopy(parameterTypes, 0, key, 1, parameterTypes.length);
+		return Arrays.asList(key);
+	}
+
+	static Method findMethod(final Class<?> cls, final String methodName,
+		final Class<?>[] parameterTypes) throws NoSuchMethodException
+	{
+		for (Class<?> current = cls; current != null; current = current.getSuperclass())
+		{
+			try
+			{
+				return current.getDeclaredMethod(methodName, parameterTypes);
+			}
+			catch (NoSuchMethodException e)
+			{
+				// search in the superclass
+			}
+		}
+		return cls.getMethod(methodName, parameterTypes);
+	}
+
+	private static MethodInvoker newMethodInvoker(final Method method)
+		throws IllegalAccessException
+	{
+		method.trySetAccessible();
+		return new MethodInvoker(method, LOOKUP.unreflect(method).asFixedArity());
+	}
+
+	private static MethodHandle primitiveInvoker(final MethodHandle target,
+		final Class<?> primitiveType)
+	{
+		Class<?> methodReturnType = target.type().returnType();
+		if (!methodReturnType.isPrimitive() || methodReturnType == void.class
+			|| (methodReturnType == boolean.class) != (primitiveType == boolean.class)
+			|| !isWidening(methodReturnType, primitiveType))
+		{
+			return null;
+		}
+		return target.asType(MethodType.genericMethodType(target.type().parameterCount())
+			.changeReturnType(primitiveType));
+	}
+
+	private static boolean isWidening(final Class<?> from, final Class<?> to)
+	{
+		if (from == to)
+		{
+			return true;
+		}
+		if (to == int.class)
+		{
+			return from == byte.class || from == short.class || from == char.class;
+		}
+		if (to == long.class)
+		{
+			return isWidening(from, int.class) || from == int.class;
+		}
+		return to == double.class && from != boolean.class;
+	}
+
+	/**
+	 * Gets the name of the method
+	 *
+	 * @return the name of the method
+	 */
+	public String getName()
+	{
+		return method.getName();
+	}
+
+	/**
+	 * Checks if the method is static
+	 *
+	 * @return true, if the method is static otherwise false
+	 */
+	public boolean isStatic()
+	{
+		return Modifier.isStatic(method.getModifiers());
+	}
+
+	/**
+	 * Invokes the method on the given target object with the given arguments. For static methods
+	 * the given target is ignored and can be null
+	 *
+	 * @param target
+	 *            the target object
+	 * @param arguments
+	 *            the arguments
+	 * @return the return value of the method or null if the method returns void
+	 */
+	@SneakyThrows
+	public Object invoke(final Object target, final @NonNull Object... arguments)
+	{
+		if (arguments.length != parameterCount)
+		{
+			throw newIllegalArgumentException(arguments.length);
+		}
+		return (Object)spreadInvoker.invokeExact(target, arguments);
+	}
+
+	/**
+	 * Invokes the method without parameters on the given target object
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the return value of the method or null if the method returns void
+	 */
+	@SneakyThrows
+	public Object invoke0(final Object target)
+	{
+		return (Object)fixedInvoker(0).invokeExact(target);
+	}
+
+	/**
+	 * Invokes the method with one parameter on the given target object
+	 *
+	 * @param target
+	 *            the target object
+	 * @param argument
+	 *            the argument
+	 * @return the return value of the method or null if the method returns void
+	 */
+	@SneakyThrows
+	public Object invoke1(final Object target, final Object argument)
+	{
+		return (Object)fixedInvoker(1).invokeExact(target, argument);
+	}
+
+	/**
+	 * Invokes the method with two parameters on the given target object
+	 *
+	 * @param target
+	 *            the target object
+	 * @param first
+	 *            the first argument
+	 * @param second
+	 *            the second argument
+	 * @return the return value of the method or null if the method returns void
+	 */
+	@SneakyThrows
+	public Object invoke2(final Object target, final Object first, final Object second)
+	{
+		return (Object)fixedInvoker(2).invokeExact(target, first, second);
+	}
+
+	/**
+	 * Invokes the method with three parameters on the given target object
+	 *
+	 * @param target
+	 *            the target object
+	 * @param first
+	 *            the first argument
+	 * @param second
+	 *            the second argument
+	 * @param third
+	 *            the third argument
+	 * @return the return value of the method or null if the method returns void
+	 */
+	@SneakyThrows
+	public Object invoke3(final Object target, final Object first, final Object second,
+		final Object third)
+	{
+		return (Object)fixedInvoker(3).invokeExact(target, first, second, third);
+	}
+
+	/**
+	 * Invokes the method with the return type boolean and without parameters on the given target
+	 * object without boxing the return value
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the return value of the method
+	 */
+	@SneakyThrows
+	public boolean invokeBoolean0(final Object target)
+	{
+		return (boolean)primitiveInvoker(booleanInvoker, boolean.class, 0).invokeExact(target);
+	}
+
+	/**
+	 * Invokes the method with the return type boolean and one parameter on the given target object
+	 * without boxing the return value
+	 *
+	 * @param target
+	 *            the target object
+	 * @param argument
+	 *            the argument
+	 * @return the return value of the method
+	 */
+	@SneakyThrows
+	public boolean invokeBoolean1(final Object target, final Object argument)
+	{
+		return (boolean)primitiveInvoker(booleanInvoker, boolean.class, 1).invokeExact(target,
+			argument);
+	}
+
+	/**
+	 * Invokes the method with the return type int, short, char or byte and without parameters on
+	 * the given target object without boxing the return value
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the return value of the method
+	 */
+	@SneakyThrows
+	public int invokeInt0(final Object target)
+	{
+		return (int)primitiveInvoker(intInvoker, int.class, 0).invokeExact(target);
+	}
+
+	/**
+	 * Invokes the method with the return type int, short, char or byte and one parameter on the
+	 * given target object without boxing the return value
+	 *
+	 * @param target
+	 *            the target object
+	 * @param argument
+	 *            the argument
+	 * @return the return value of the method
+	 */
+	@SneakyThrows
+	public int invokeInt1(final Object target, final Object argument)
+	{
+		return (int)primitiveInvoker(intInvoker, int.class, 1).invokeExact(target, argument);
+	}
+
+	/**
+	 * Invokes the method with the return type long or a smaller integral type and without
+	 * parameters on the given target object without boxing the return value
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the return value of the method
+	 */
+	@SneakyThrows
+	public long invokeLong0(final Object target)
+	{
+		return (long)primitiveInvoker(longInvoker, long.class, 0).invokeExact(target);
+	}
+
+	/**
+	 * Invokes the method with the return type long or a smaller integral type and one parameter on
+	 * the given target object without boxing the return value
+	 *
+	 * @param target
+	 *            the target object
+	 * @param argument
+	 *            the argument
+	 * @return the return value of the method
+	 */
+	@SneakyThrows
+	public long invokeLong1(final Object target, final Object argument)
+	{
+		return (long)primitiveInvoker(longInvoker, long.class, 1).invokeExact(target, argument);
+	}
+
+	/**
+	 * Invokes the method with a numeric primitive return type and without parameters on the given
+	 * target object without boxing the return value
+	 *
+	 * @param target
+	 *            the target object
+	 * @return the return value of the method
+	 */
+	@SneakyThrows
+	public double invokeDouble0(final Object target)
+	{
+		return (double)primitiveInvoker(doubleInvoker, double.class, 0).invokeExact(target);
+	}
+
+	/**
+	 * Invokes the method with a numeric primitive return type and one parameter on the given
+	 * target object without boxing the return value
+	 *
+	 * @param target
+	 *            the target object
+	 * @param argument
+	 *            the argument
+	 * @return the return value of the method
+	 */
+	@SneakyThrows
+	public double invokeDouble1(final Object target, final Object argument)
+	{
+		return (double)primitiveInvoker(doubleInvoker, double.class, 1).invokeExact(target,
+			argument);
+	}
+
+	private MethodHandle fixedInvoker(final int arity)
+	{
+		if (arity != parameterCount)
+		{
+			throw newIllegalArgumentException(arity);
+		}
+		return fixedInvoker;
+	}
+
+	private MethodHandle primitiveInvoker(final MethodHandle invoker,
+		final Class<?> primitiveType, final int arity)
+	{
+		if (arity != parameterCount)
+		{
+			throw newIllegalArgumentException(arity);
+		}
+		if (invoker == null)
+		{
+			throw new IllegalArgumentException("Return type " + returnType.getName()
+				+ " of method " + this + " can not be converted to " + primitiveType.getName());
+		}
+		return invoker;
+	}
+
+	private IllegalArgumentException newIllegalArgumentException(final int argumentCount)
+	{
+		return new IllegalArgumentException("Method " + this + " expects " + parameterCount
+			+ " arguments but was invoked with " + argumentCount);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return method.getDeclaringClass().getName() + "." + method.getName();
+	}
+}
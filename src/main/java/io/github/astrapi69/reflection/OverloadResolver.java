@@ -0,0 +1,607 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link OverloadResolver} selects the overloaded method of a class with a given name
+ * for the runtime classes of the arguments like the java compiler selects the most specific
+ * method for the static types. The applicable methods are searched in three phases, first without
+ * unboxing, then with unboxing and primitive widening and at last with variable arity. The
+ * resolved methods are kept in a small inline cache keyed on the runtime argument classes and
+ * are invoked over the cached {@link MethodInvoker}
+ */
+public final class OverloadResolver
+{
+
+	/**
+	 * The number of argument class combinations that are kept in the inline cache before further
+	 * combinations are kept in a map
+	 */
+	public static final int INLINE_CACHE_SIZE = 4;
+
+	private static final ReflectionCache<Map<String, OverloadResolver>> RESOLVERS = new ReflectionCache<>(
+		type -> new ConcurrentHashMap<>());
+
+	private static final Map<Class<?>, Class<?>> PRIMITIVE_TYPES = Map.of(Boolean.class,
+		boolean.class, Byte.class, byte.class, Character.class, char.class, Short.class,
+		short.class, Integer.class, int.class, Long.class, long.class, Float.class, float.class,
+		Double.class, double.class);
+
+	private static final VarHandle INLINE_CACHE;
+
+	static
+	{
+		try
+		{
+			INLINE_CACHE = MethodHandles.lookup().findVarHandle(OverloadResolver.class,
+				"inlineCache", Resolution[].class);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * The class that declares or inherits the methods
+	 */
+	@Getter
+	private final Class<?> type;
+
+	/**
+	 * The name of the methods
+	 */
+	@Getter
+	private final String methodName;
+
+	/**
+	 * The candidate methods with the given name
+	 */
+	@Getter
+	private final List<Method> methods;
+
+	private volatile Resolution[] inlineCache = new Resolution[0];
+
+	/**
+	 * The resolutions are keyed weakly on the argument classes, so argument classes of other class
+	 * loaders are not kept reachable by this resolver
+	 */
+	private final Map<ArgumentTypes, Resolution> resolutions = new ConcurrentHashMap<>();
+
+	private final ReferenceQueue<Class<?>> staleArgumentTypes = new ReferenceQueue<>();
+
+	private OverloadResolver(final Class<?> type, final String methodName)
+	{
+		this.type = type;
+		this.methodName = methodName;
+		this.methods = Collections.unmodifiableList(findMethods(type, methodName));
+	}
+
+	/**
+	 * Gets the cached {@link OverloadResolver} object for the methods with the given name of the
+	 * given class. If no resolver exists yet it will be created and cached
+	 *
+	 * @param cls
+	 *            the class object
+	 * @param methodName
+	 *            the method name
+	 * @return the cached {@link OverloadResolver} object
+	 */
+	public static OverloadResolver of(final @NonNull Class<?> cls,
+		final @NonNull String methodName)
+	{
+		Map<String, OverloadResolver> resolvers = RESOLVERS.get(cls);
+		OverloadResolver resolver = resolvers.get(methodName);
+		if (resolver == null)
+		{
+			resolver = new OverloadResolver(cls, methodName);
+			OverloadResolver existing = resolvers.putIfAbsent(methodName, resolver);
+			if (existing != null)
+			{
+				resolver = existing;
+			}
+		}
+		return resolver;
+	}
+
+	private static List<Method> findMethods(final Class<?> cls, final String methodName)
+	{
+		Map<List<Class<?>>, Method> methodsBySignature = new LinkedHashMap<>();
+		for (Class<?> current = cls; current != null; current = current.getSuperclass())
+		{
+			for (Method method : current.getDeclaredMethods())
+			{
+				if (method.getName().equals(methodName) && !method.isBridge()
+					&& !method.isSynthetic())
+				{
+					methodsBySignature.putIfAbsent(Arrays.asList(method.getParameterTypes()),
+						method);
+				}
+			}
+		}
+		for (Method method : cls.getMethods())
+		{
+			if (method.getName().equals(methodName) && !method.isBridge())
+			{
+				methodsBySignature.putIfAbsent(Arrays.asList(method.getParameterTypes()), method);
+			}
+		}
+		return new ArrayList<>(methodsBySignature.values());
+	}
+
+	/**
+	 * Resolves the most specific method for the given argument classes. A null value in the given
+	 * argument classes stands for a null argument
+	 *
+	 * @param argumentTypes
+	 *            the runtime classes of the arguments
+	 * @return the most specific method
+	 * @throws NoSuchMethodException
+	 *             is thrown if no method is applicable for the given argument classes
+	 * @throws IllegalArgumentException
+	 *             is thrown if more than one method is the most specific method
+	 */
+	public Method resolve(final @NonNull Class<?>... argumentTypes) throws NoSuchMethodException
+	{
+		for (int phase = 1; phase <= 3; phase++)
+		{
+			List<Method> applicable = new ArrayList<>();
+			for (Method method : methods)
+			{
+				if (isApplicable(method, argumentTypes, phase))
+				{
+					applicable.add(method);
+				}
+			}
+			if (!applicable.isEmpty())
+			{
+				return mostSpecific(applicable, argumentTypes.length, phase);
+			}
+		}
+		throw new NoSuchMethodException("No method " + type.getName() + "." + methodName
+			+ " is applicable for the arguments " + Arrays.toString(argumentTypes));
+	}
+
+	/**
+	 * Invokes the most specific method for the runtime classes of the given arguments on the given
+	 * target object. For static methods the given target is ignored and can be null. Arguments of
+	 * a variable arity parameter are passed as array to the method
+	 *
+	 * @param target
+	 *            the target object
+	 * @param arguments
+	 *            the arguments
+	 * @return the return value of the method or null if the method returns void
+	 * @throws NoSuchMethodException
+	 *             is thrown if no method is applicable for the given arguments
+	 * @throws IllegalAccessException
+	 *             is thrown if the method can not be accessed
+	 * @throws IllegalArgumentException
+	 *             is thrown if more than one method is the most specific method
+	 */
+	public Object invoke(final Object target, final @NonNull Object... arguments)
+		throws NoSuchMethodException, IllegalAccessException
+	{
+		Resolution resolution = lookup(arguments);
+		return resolution.invoker.invoke(target, resolution.toMethodArguments(arguments));
+	}
+
+	private Resolution lookup(final Object[] arguments)
+		throws NoSuchMethodException, IllegalAccessException
+	{
+		Resolution[] entries = inlineCache;
+		for (Resolution entry : entries)
+		{
+			if (entry.matches(arguments))
+			{
+				return entry;
+			}
+		}
+		Class<?>[] argumentTypes = new Class<?>[arguments.length];
+		for (int i = 0; i < arguments.length; i++)
+		{
+			argumentTypes[i] = arguments[i] == null ? null : arguments[i].getClass();
+		}
+		expungeStaleArgumentTypes();
+		Resolution resolution = resolutions.get(new ArgumentTypes(argumentTypes, null));
+		if (resolution == null)
+		{
+			ArgumentTypes key = new ArgumentTypes(argumentTypes, staleArgumentTypes);
+			resolution = new Resolution(key, argumentTypes, resolve(argumentTypes));
+			Resolution existing = resolutions.putIfAbsent(key, resolution);
+			if (existing != null)
+			{
+				resolution = existing;
+			}
+			addToInlineCache(resolution);
+		}
+		return resolution;
+	}
+
+	private void addToInlineCache(final Resolution resolution)
+	{
+		Resolution[] current;
+		Resolution[] extended;
+		do
+		{
+			current = inlineCache;
+			if (current.length >= INLINE_CACHE_SIZE)
+			{
+				return;
+			}
+			extended = Arrays.copyOf(current, current.length + 1);
+			extended[current.length] = resolution;
+		}
+		while (!INLINE_CACHE.compareAndSet(this, current, extended));
+	}
+
+	private void expungeStaleArgumentTypes()
+	{
+		Object staleReference;
+		while ((staleReference = staleArgumentTypes.poll()) != null)
+		{
+			resolutions.remove(((ArgumentTypeReference)staleReference).key);
+		}
+	}
+
+	private static boolean isApplicable(final Method method, final Class<?>[] argumentTypes,
+		final int phase)
+	{
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		int fixedCount = phase == 3 ? parameterTypes.length - 1 : parameterTypes.length;
+		if (phase == 3 ? !method.isVarArgs() || argumentTypes.length < fixedCount
+			: argumentTypes.length != parameterTypes.length)
+		{
+			return false;
+		}
+		for (int i = 0; i < argumentTypes.length; i++)
+		{
+			Class<?> parameterType = i < fixedCount
+				? parameterTypes[i]
+				: parameterTypes[fixedCount].getComponentType();
+			if (!isConvertible(argumentTypes[i], parameterType, phase > 1))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isConvertible(final Class<?> argumentType, final Class<?> parameterType,
+		final boolean unboxing)
+	{
+		if (!parameterType.isPrimitive())
+		{
+			return argumentType == null || parameterType.isAssignableFrom(argumentType);
+		}
+		if (!unboxing || argumentType == null)
+		{
+			return false;
+		}
+		Class<?> primitiveType = PRIMITIVE_TYPES.get(argumentType);
+		return primitiveType != null && isWidening(primitiveType, parameterType);
+	}
+
+	static boolean isWidening(final Class<?> from, final Class<?> to)
+	{
+		if (from == to)
+		{
+			return true;
+		}
+		if (from == boolean.class || to == boolean.class || to == char.class || to == byte.class)
+		{
+			return false;
+		}
+		if (to == short.class)
+		{
+			return from == byte.class;
+		}
+		if (to == int.class)
+		{
+			return from == byte.class || from == short.class || from == char.class;
+		}
+		if (to == long.class)
+		{
+			return from != float.class && from != double.class;
+		}
+		if (to == float.class)
+		{
+			return from != double.class;
+		}
+		return true;
+	}
+
+	private Method mostSpecific(final List<Method> applicable, final int argumentCount,
+		final int phase)
+	{
+		List<Method> maximal = new ArrayList<>();
+		for (Method candidate : applicable)
+		{
+			boolean specific = true;
+			for (Method other : applicable)
+			{
+				if (other != candidate
+					&& !isMoreSpecific(candidate, other, argumentCount, phase))
+				{
+					specific = false;
+					break;
+				}
+			}
+			if (specific)
+			{
+				maximal.add(candidate);
+			}
+		}
+		if (maximal.size() != 1)
+		{
+			throw new IllegalArgumentException(
+				"Ambiguous call of method " + type.getName() + "." + methodName + ": "
+					+ (maximal.isEmpty() ? applicable : maximal));
+		}
+		return maximal.get(0);
+	}
+
+	private static boolean isMoreSpecific(final Method method, final Method other,
+		final int argumentCount, final int phase)
+	{
+		int count = phase == 3
+			? Math.max(argumentCount,
+				Math.max(method.getParameterCount(), other.getParameterCount()))
+			: argumentCount;
+		for (int i = 0; i < count; i++)
+		{
+			Class<?> parameterType = parameterType(method, i, phase);
+			Class<?> otherParameterType = parameterType(other, i, phase);
+			boolean specific = parameterType.isPrimitive() && otherParameterType.isPrimitive()
+				? isWidening(parameterType, otherParameterType)
+				: otherParameterType.isAssignableFrom(parameterType);
+			if (!specific)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Class<?> parameterType(final Method method, final int index, final int phase)
+	{
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		if (phase == 3 && index >= parameterTypes.length - 1)
+		{
+			return parameterTypes[parameterTypes.length - 1].getComponentType();
+		}
+		return parameterTypes[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "OverloadResolver[" + type.getName() + "." + methodName + "]";
+	}
+
+	/**
+	 * The class {@link Resolution} holds the resolved method for a combination of runtime
+	 * argument classes
+	 */
+	private static final class Resolution
+	{
+
+		private final ArgumentTypes argumentTypes;
+
+		private final MethodInvoker invoker;
+
+		/**
+		 * The component type of the variable arity parameter if the arguments have to be packed
+		 * into an array otherwise null
+		 */
+		private final Class<?> varArgsType;
+
+		private final int fixedCount;
+
+		private Resolution(final ArgumentTypes key, final Class<?>[] argumentTypes,
+			final Method method) throws IllegalAccessException
+		{
+			this.argumentTypes = key;
+			this.invoker = MethodInvoker.of(method);
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			boolean packed = method.isVarArgs() && !(argumentTypes.length == parameterTypes.length
+				&& isConvertible(argumentTypes[argumentTypes.length - 1],
+					parameterTypes[parameterTypes.length - 1], true));
+			this.varArgsType = packed
+				? parameterTypes[parameterTypes.length - 1].getComponentType()
+				: null;
+			this.fixedCount = parameterTypes.length - 1;
+		}
+
+		private boolean matches(final Object[] arguments)
+		{
+			return argumentTypes.matches(arguments);
+		}
+
+		private Object[] toMethodArguments(final Object[] arguments)
+		{
+			if (varArgsType == null)
+			{
+				return arguments;
+			}
+			Object[] methodArguments = Arrays.copyOf(arguments, fixedCount + 1);
+			Object varArgs = Array.newInstance(varArgsType, arguments.length - fixedCount);
+			for (int i = fixedCount; i < arguments.length; i++)
+			{
+				Array.set(varArgs, i - fixedCount, arguments[i]);
+			}
+			methodArguments[fixedCount] = varArgs;
+			return methodArguments;
+		}
+	}
+
+	/**
+	 * The class {@link ArgumentTypes} is the key of a combination of runtime argument classes. The
+	 * keys in the map of the resolutions reference the argument classes weakly and keys for the
+	 * lookup reference them strongly. A null element stands for a null argument
+	 */
+	private static final class ArgumentTypes
+	{
+
+		private final Class<?>[] types;
+
+		private final ArgumentTypeReference[] references;
+
+		private final int hash;
+
+		private ArgumentTypes(final Class<?>[] argumentTypes, final ReferenceQueue<Class<?>> queue)
+		{
+			this.hash = Arrays.hashCode(argumentTypes);
+			if (queue == null)
+			{
+				this.types = argumentTypes;
+				this.references = null;
+				return;
+			}
+			this.types = null;
+			this.references = new ArgumentTypeReference[argumentTypes.length];
+			for (int i = 0; i < argumentTypes.length; i++)
+			{
+				if (argumentTypes[i] != null)
+				{
+					references[i] = new ArgumentTypeReference(argumentTypes[i], this, queue);
+				}
+			}
+		}
+
+		private int length()
+		{
+			return types != null ? types.length : references.length;
+		}
+
+		/**
+		 * Gets the argument class at the given index
+		 *
+		 * @param index
+		 *            the index of the argument
+		 * @return the argument class, null for a null argument or an object that is no class if
+		 *         the argument class was collected
+		 */
+		private Object typeAt(final int index)
+		{
+			if (types != null)
+			{
+				return types[index];
+			}
+			ArgumentTypeReference reference = references[index];
+			if (reference == null)
+			{
+				return null;
+			}
+			Class<?> type = reference.get();
+			return type != null ? type : reference;
+		}
+
+		private boolean matches(final Object[] arguments)
+		{
+			if (arguments.length != length())
+			{
+				return false;
+			}
+			for (int i = 0; i < arguments.length; i++)
+			{
+				Object argument = arguments[i];
+				if ((argument == null ? null : argument.getClass()) != typeAt(i))
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public boolean equals(final Object other)
+		{
+			if (this == other)
+			{
+				return true;
+			}
+			if (!(other instanceof ArgumentTypes))
+			{
+				return false;
+			}
+			ArgumentTypes that = (ArgumentTypes)other;
+			if (hash != that.hash || length() != that.length())
+			{
+				return false;
+			}
+			for (int i = 0; i < length(); i++)
+			{
+				if (typeAt(i) != that.typeAt(i))
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+	}
+
+	/**
+	 * The weak reference to an argument class that knows its key for the removal of stale keys
+	 */
+	private static final class ArgumentTypeReference extends WeakReference<Class<?>>
+	{
+
+		private final ArgumentTypes key;
+
+		private ArgumentTypeReference(final Class<?> referent, final ArgumentTypes key,
+			final ReferenceQueue<Class<?>> queue)
+		{
+			super(referent, queue);
+			this.key = key;
+		}
+	}
+}
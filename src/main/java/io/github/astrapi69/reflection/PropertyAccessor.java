@@ -0,0 +1,249 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link PropertyAccessor} provides the read and write access to a bean property. The
+ * getter and setter methods of the property are preferred and if they do not exist the access goes
+ * directly over the field of the property
+ */
+public final class PropertyAccessor
+{
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType READER_TYPE = MethodType.methodType(Object.class,
+		Object.class);
+
+	private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class,
+		Object.class);
+
+	/**
+	 * The field metadata of the property
+	 */
+	@Getter
+	private final FieldMetadata field;
+
+	/**
+	 * The getter method of the property or null if the field is read directly
+	 */
+	@Getter
+	private final Method readMethod;
+
+	/**
+	 * The setter method of the property or null if the field is written directly
+	 */
+	@Getter
+	private final Method writeMethod;
+
+	private final MethodHandle reader;
+
+	private final MethodHandle writer;
+
+	private PropertyAccessor(final FieldMetadata field, final Method readMethod,
+		final Method writeMethod)
+	{
+		this.field = field;
+		MethodHandle readHandle = unreflect(readMethod, READER_TYPE);
+		MethodHandle writeHandle = unreflect(writeMethod, WRITER_TYPE);
+		this.readMethod = readHandle != null ? readMethod : null;
+		this.writeMethod = writeHandle != null ? writeMethod : null;
+		this.reader = readHandle;
+		this.writer = writeHandle;
+	}
+
+	/**
+	 * Factory method for create a new {@link PropertyAccessor} object for the given field of the
+	 * given bean class
+	 *
+	 * @param beanClass
+	 *            the bean class that is used for resolve the getter and setter methods
+	 * @param field
+	 *            the field metadata of the property
+	 * @return the new {@link PropertyAccessor} object
+	 */
+	public static PropertyAccessor of(final @NonNull Class<?> beanClass,
+		final @NonNull FieldMetadata field)
+	{
+		AccessorNames accessorNames = field.getAccessorNames();
+		Method readMethod = findGetter(beanClass, accessorNames.getGetterName(), field.getType());
+		if (readMethod == null
+			&& (field.getType() == boolean.class || field.getType() == Boolean.class))
+		{
+			readMethod = findGetter(beanClass, accessorNames.getIsName(), field.getType());
+		}
+		Method writeMethod = findSetter(beanClass, accessorNames.getSetterName(),
+			field.getType());
+		return new PropertyAccessor(field, readMethod, writeMethod);
+	}
+
+	private static Method findGetter(final Class<?> beanClass, final String methodName,
+		final Class<?> propertyType)
+	{
+		try
+		{
+			Method method = beanClass.getMethod(methodName);
+			if (!Modifier.isStatic(method.getModifiers()) && BeanMethodResolver.isGetter(method)
+				&& method.getReturnType() == propertyType)
+			{
+				return method;
+			}
+		}
+		catch (NoSuchMethodException e)
+		{
+			// the field will be read directly
+		}
+		return null;
+	}
+
+	private static Method findSetter(final Class<?> beanClass, final String methodName,
+		final Class<?> propertyType)
+	{
+		try
+		{
+			Method method = beanClass.getMethod(methodName, propertyType);
+			if (!Modifier.isStatic(method.getModifiers()) && BeanMethodResolver.isSetter(method))
+			{
+				return method;
+			}
+		}
+		catch (NoSuchMethodException e)
+		{
+			// the field will be written directly
+		}
+		return null;
+	}
+
+	private static MethodHandle unreflect(final Method method, final MethodType methodType)
+	{
+		if (method == null || !method.trySetAccessible())
+		{
+			return null;
+		}
+		try
+		{
+			return LOOKUP.unreflect(method).asType(methodType);
+		}
+		catch (IllegalAccessException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the name of the property
+	 *
+	 * @return the name of the property
+	 */
+	public String getName()
+	{
+		return field.getName();
+	}
+
+	/**
+	 * Gets the type of the property
+	 *
+	 * @return the type of the property
+	 */
+	public Class<?> getType()
+	{
+		return field.getType();
+	}
+
+	/**
+	 * Checks if the property can be read
+	 *
+	 * @return true, if the property can be read otherwise false
+	 */
+	public boolean isReadable()
+	{
+		return reader != null || field.isReadable();
+	}
+
+	/**
+	 * Checks if the property can be written
+	 *
+	 * @return true, if the property can be written otherwise false
+	 */
+	public boolean isWritable()
+	{
+		return writer != null || field.isWritable();
+	}
+
+	/**
+	 * Gets the value of the property from the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @return the value of the property
+	 */
+	@SneakyThrows
+	public Object getValue(final Object bean)
+	{
+		if (reader != null)
+		{
+			return (Object)reader.invokeExact(bean);
+		}
+		return field.getValue(bean);
+	}
+
+	/**
+	 * Sets the given value to the property of the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param value
+	 *            the new value
+	 */
+	@SneakyThrows
+	public void setValue(final Object bean, final Object value)
+	{
+		if (writer != null)
+		{
+			writer.invokeExact(bean, value);
+			return;
+		}
+		field.setValue(bean, value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return field.toString();
+	}
+}
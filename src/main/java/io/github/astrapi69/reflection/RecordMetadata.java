@@ -0,0 +1,403 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * The class {@link RecordMetadata} holds the resolved reflection data of a record class. The
+ * canonical constructor and the component accessors are resolved once as method handles, so
+ * records can be created, copied and changed without any further reflection
+ *
+ * @param <R>
+ *            the generic type of the record
+ */
+public final class RecordMetadata<R extends Record>
+{
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class,
+		Object.class);
+
+	private static final ReflectionCache<RecordMetadata<?>> CACHE = new ReflectionCache<>(
+		RecordMetadata::new);
+
+	/**
+	 * The record class
+	 */
+	@Getter
+	private final Class<R> type;
+
+	/**
+	 * The names of the record components in the order of the canonical constructor
+	 */
+	private final String[] componentNames;
+
+	/**
+	 * The types of the record components in the order of the canonical constructor
+	 */
+	private final Class<?>[] componentTypes;
+
+	/**
+	 * The types of the component values, that are the component types with the wrapper types for
+	 * the primitive types
+	 */
+	private final Class<?>[] valueTypes;
+
+	/**
+	 * The indexes of the record components mapped by their names
+	 */
+	private final Map<String, Integer> componentIndexes;
+
+	/**
+	 * The default values of the record components, that is null, zero or false
+	 */
+	private final Object[] defaultValues;
+
+	/**
+	 * The canonical constructor with the type (Object[])Object
+	 */
+	private final MethodHandle constructor;
+
+	/**
+	 * The component accessors with the type (Object)Object
+	 */
+	private final MethodHandle[] accessors;
+
+	@SuppressWarnings("unchecked")
+	private RecordMetadata(final Class<?> type)
+	{
+		if (!type.isRecord())
+		{
+			throw new IllegalArgumentException(type.getName() + " is not a record class");
+		}
+		this.type = (Class<R>)type;
+		RecordComponent[] components = type.getRecordComponents();
+		int count = components.length;
+		this.componentNames = new String[count];
+		this.componentTypes = new Class<?>[count];
+		this.valueTypes = new Class<?>[count];
+		this.componentIndexes = new HashMap<>(InstanceFactory.hashCapacity(count));
+		this.defaultValues = new Object[count];
+		this.accessors = new MethodHandle[count];
+		for (int i = 0; i < count; i++)
+		{
+			RecordComponent component = components[i];
+			componentNames[i] = component.getName();
+			componentTypes[i] = component.getType();
+			valueTypes[i] = component.getType().isPrimitive()
+				? MethodType.methodType(component.getType()).wrap().returnType()
+				: component.getType();
+			componentIndexes.put(component.getName(), i);
+			defaultValues[i] = component.getType().isPrimitive()
+				? Array.get(Array.newInstance(component.getType(), 1), 0)
+				: null;
+			accessors[i] = unreflect(component.getAccessor()).asType(ACCESSOR_TYPE);
+		}
+		this.constructor = unreflectCanonicalConstructor(type, componentTypes)
+			.asType(MethodType.genericMethodType(count)).asSpreader(Object[].class, count);
+	}
+
+	/**
+	 * Gets the cached {@link RecordMetadata} object of the given record class. If no metadata
+	 * exists yet it will be resolved and cached
+	 *
+	 * @param <R>
+	 *            the generic type of the record
+	 * @param cls
+	 *            the record class
+	 * @return the {@link RecordMetadata} object of the given record class
+	 * @throws IllegalArgumentException
+	 *             is thrown if the canonical constructor or an accessor is not accessible
+	 */
+	@SuppressWarnings("unchecked")
+	public static <R extends Record> RecordMetadata<R> of(final @NonNull Class<R> cls)
+	{
+		return (RecordMetadata<R>)CACHE.get(cls);
+	}
+
+	private static MethodHandle unreflect(final Method accessor)
+	{
+		try
+		{
+			accessor.trySetAccessible();
+			return LOOKUP.unreflect(accessor);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new IllegalArgumentException("Accessor " + accessor + " is not accessible", e);
+		}
+	}
+
+	private static MethodHandle unreflectCanonicalConstructor(final Class<?> type,
+		final Class<?>[] componentTypes)
+	{
+		try
+		{
+			Constructor<?> canonicalConstructor = type.getDeclaredConstructor(componentTypes);
+			canonicalConstructor.trySetAccessible();
+			return LOOKUP.unreflectConstructor(canonicalConstructor);
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			throw new IllegalArgumentException(
+				"Canonical constructor of " + type.getName() + " is not accessible", e);
+		}
+	}
+
+	/**
+	 * Gets the names of the record components in the order of the canonical constructor
+	 *
+	 * @return an unmodifiable list with the names of the record components
+	 */
+	public List<String> getComponentNames()
+	{
+		return Collections.unmodifiableList(Arrays.asList(componentNames));
+	}
+
+	/**
+	 * Gets the types of the record components in the order of the canonical constructor
+	 *
+	 * @return an unmodifiable list with the types of the record components
+	 */
+	public List<Class<?>> getComponentTypes()
+	{
+		return Collections.unmodifiableList(Arrays.asList(componentTypes));
+	}
+
+	/**
+	 * Gets the index of the record component with the given name
+	 *
+	 * @param name
+	 *            the name of the record component
+	 * @return the index of the record component or -1 if no such component exists
+	 */
+	public int indexOf(final @NonNull String name)
+	{
+		Integer index = componentIndexes.get(name);
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * Creates a new record with the given component values over the canonical constructor
+	 *
+	 * @param values
+	 *            the component values in the order of the canonical constructor
+	 * @return the new record
+	 * @throws IllegalArgumentException
+	 *             is thrown if the number or the types of the given values do not match to the
+	 *             record components
+	 */
+	@SneakyThrows
+	public R newInstance(final @NonNull Object... values)
+	{
+		if (values.length != componentNames.length)
+		{
+			throw new IllegalArgumentException("The record " + type.getName() + " has "
+				+ componentNames.length + " components but " + values.length + " values are given");
+		}
+		for (int i = 0; i < values.length; i++)
+		{
+			if (values[i] == null && componentTypes[i].isPrimitive())
+			{
+				throw new IllegalArgumentException("The record component " + componentNames[i]
+					+ " of " + type.getName() + " can not be null");
+			}
+			if (values[i] != null && !valueTypes[i].isInstance(values[i]))
+			{
+				throw new IllegalArgumentException("The value of the type "
+					+ values[i].getClass().getName() + " does not match to the record component "
+					+ componentNames[i] + " of " + type.getName());
+			}
+		}
+		return type.cast((Object)constructor.invokeExact(values));
+	}
+
+	/**
+	 * Creates a new record with the default values of all components, that is null for reference
+	 * types, zero for numeric types and false for boolean
+	 *
+	 * @return the new record
+	 */
+	public R newDefaultInstance()
+	{
+		return newInstance(defaultValues.clone());
+	}
+
+	/**
+	 * Creates a new record with the component values from the given map. The keys of the given map
+	 * are the component names and components that are not contained in the map get their default
+	 * values
+	 *
+	 * @param values
+	 *            the map with the component names and values
+	 * @return the new record
+	 * @throws IllegalArgumentException
+	 *             is thrown if the types of the given values do not match to the record components
+	 */
+	public R fromMap(final @NonNull Map<String, ?> values)
+	{
+		Object[] arguments = defaultValues.clone();
+		for (int i = 0; i < componentNames.length; i++)
+		{
+			String name = componentNames[i];
+			Object value = values.get(name);
+			if (value != null || (!componentTypes[i].isPrimitive() && values.containsKey(name)))
+			{
+				arguments[i] = value;
+			}
+		}
+		return newInstance(arguments);
+	}
+
+	/**
+	 * Gets the values of all components of the given record
+	 *
+	 * @param record
+	 *            the record
+	 * @return a new array with the component values in the order of the canonical constructor
+	 */
+	@SneakyThrows
+	public Object[] getComponentValues(final @NonNull R record)
+	{
+		Object[] values = new Object[accessors.length];
+		for (int i = 0; i < accessors.length; i++)
+		{
+			values[i] = (Object)accessors[i].invokeExact((Object)record);
+		}
+		return values;
+	}
+
+	/**
+	 * Gets the value of the component with the given name of the given record
+	 *
+	 * @param record
+	 *            the record
+	 * @param name
+	 *            the name of the record component
+	 * @return the component value
+	 * @throws IllegalArgumentException
+	 *             is thrown if no component with the given name exists
+	 */
+	@SneakyThrows
+	public Object getComponentValue(final @NonNull R record, final @NonNull String name)
+	{
+		return (Object)accessors[requireIndex(name)].invokeExact((Object)record);
+	}
+
+	/**
+	 * Creates a shallow copy of the given record with the same component values
+	 *
+	 * @param record
+	 *            the record to copy
+	 * @return the new record
+	 */
+	public R copy(final @NonNull R record)
+	{
+		return newInstance(getComponentValues(record));
+	}
+
+	/**
+	 * Creates a copy of the given record where the component with the given name has the given
+	 * value
+	 *
+	 * @param record
+	 *            the record to copy
+	 * @param name
+	 *            the name of the record component to change
+	 * @param value
+	 *            the new component value
+	 * @return the new record
+	 * @throws IllegalArgumentException
+	 *             is thrown if no component with the given name exists or the value does not match
+	 *             to the component type
+	 */
+	public R with(final @NonNull R record, final @NonNull String name, final Object value)
+	{
+		int index = requireIndex(name);
+		Object[] values = getComponentValues(record);
+		values[index] = value;
+		return newInstance(values);
+	}
+
+	/**
+	 * Creates a copy of the given record where the components with the names of the given map
+	 * keys have the values of the given map
+	 *
+	 * @param record
+	 *            the record to copy
+	 * @param changes
+	 *            the map with the names and the new values of the components to change
+	 * @return the new record
+	 * @throws IllegalArgumentException
+	 *             is thrown if no component with a given name exists or a value does not match to
+	 *             the component type
+	 */
+	public R with(final @NonNull R record, final @NonNull Map<String, ?> changes)
+	{
+		Object[] values = getComponentValues(record);
+		for (Map.Entry<String, ?> change : changes.entrySet())
+		{
+			values[requireIndex(change.getKey())] = change.getValue();
+		}
+		return newInstance(values);
+	}
+
+	private int requireIndex(final String name)
+	{
+		int index = indexOf(name);
+		if (index < 0)
+		{
+			throw new IllegalArgumentException(
+				"The record " + type.getName() + " has no component " + name);
+		}
+		return index;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "RecordMetadata[" + type.getName() + "]";
+	}
+}
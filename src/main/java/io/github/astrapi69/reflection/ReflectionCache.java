@@ -0,0 +1,495 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link ReflectionCache} caches reflection data that is resolved from a class. The
+ * value of a class is computed only once even if many threads request an uncached class at the
+ * same time. Reads of cached values are lock free and the computation of a value is done outside
+ * of any lock, so threads that wait for a value in computation are parked and not blocked in a
+ * monitor. This makes the cache safe for the use with virtual threads <br>
+ * <br>
+ * The values are attached to their class with a {@link ClassValue}, so the cache does not hold a
+ * strong reference to any cached class. A value can reference its class and the class loader of
+ * the class can be still collected after a redeploy. Optionally the cache can be bounded with a
+ * maximum size, if the maximum size is exceeded the least recently used values are evicted
+ *
+ * @param <V>
+ *            the generic type of the cached values
+ */
+public final class ReflectionCache<V>
+{
+
+	private static final VarHandle STATE;
+
+	static
+	{
+		try
+		{
+			STATE = MethodHandles.lookup().findVarHandle(Slot.class, "state", Object.class);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final Function<Class<?>, ? extends V> loader;
+
+	private final ClassValue<Slot> slots = new ClassValue<>()
+	{
+		@Override
+		protected Slot computeValue(final Class<?> type)
+		{
+			return new Slot(new ClassKey(type, staleKeys));
+		}
+	};
+
+	/**
+	 * The weak keys of all classes with a computed value in the order of their last access
+	 */
+	private final LinkedHashMap<ClassKey, Boolean> index = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final ReferenceQueue<Class<?>> staleKeys = new ReferenceQueue<>();
+
+	private final ReentrantLock indexLock = new ReentrantLock();
+
+	private volatile int maximumSize;
+
+	/**
+	 * Creates a new {@link ReflectionCache} object that computes the values with the given loader.
+	 * The maximum size is taken from {@link ReflectionCaches#getDefaultMaximumSize()}
+	 *
+	 * @param loader
+	 *            the function that computes the value of a class, the function must not return
+	 *            null
+	 */
+	public ReflectionCache(final @NonNull Function<Class<?>, ? extends V> loader)
+	{
+		this(loader, ReflectionCaches.getDefaultMaximumSize());
+	}
+
+	/**
+	 * Creates a new {@link ReflectionCache} object that computes the values with the given loader
+	 *
+	 * @param loader
+	 *            the function that computes the value of a class, the function must not return
+	 *            null
+	 * @param maximumSize
+	 *            the maximum number of cached classes or zero for an unbounded cache
+	 */
+	public ReflectionCache(final @NonNull Function<Class<?>, ? extends V> loader,
+		final int maximumSize)
+	{
+		this.loader = loader;
+		this.maximumSize = checkMaximumSize(maximumSize);
+		ReflectionCaches.register(this);
+	}
+
+	private static int checkMaximumSize(final int maximumSize)
+	{
+		if (maximumSize < 0)
+		{
+			throw new IllegalArgumentException("The maximum size must not be negative");
+		}
+		return maximumSize;
+	}
+
+	/**
+	 * Gets the value of the given class. If the value is not cached it will be computed and cached.
+	 * If the value is currently computed by another thread the current thread waits for the result
+	 *
+	 * @param cls
+	 *            the class object
+	 * @return the value of the given class
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(final @NonNull Class<?> cls)
+	{
+		Slot slot = slots.get(cls);
+		Object state = slot.state;
+		if (state == null)
+		{
+			Loading<V> loading = new Loading<>();
+			if (STATE.compareAndSet(slot, null, loading))
+			{
+				return load(cls, slot, loading);
+			}
+			state = slot.state;
+		}
+		if (state instanceof Loading)
+		{
+			return ((Loading<V>)state).await();
+		}
+		if (state == null)
+		{
+			return get(cls);
+		}
+		if (maximumSize > 0)
+		{
+			recordAccess(slot);
+		}
+		return (V)state;
+	}
+
+	/**
+	 * Gets the value of the given class only if it is already computed
+	 *
+	 * @param cls
+	 *            the class object
+	 * @return the value of the given class or null if the value is not computed yet
+	 */
+	@SuppressWarnings("unchecked")
+	public V getIfPresent(final @NonNull Class<?> cls)
+	{
+		Object state = slots.get(cls).state;
+		return state instanceof Loading ? null : (V)state;
+	}
+
+	/**
+	 * Removes the value of the given class from this cache
+	 *
+	 * @param cls
+	 *            the class object
+	 */
+	public void invalidate(final @NonNull Class<?> cls)
+	{
+		Slot slot = slots.get(cls);
+		indexLock.lock();
+		try
+		{
+			index.remove(slot.key);
+			slot.clear();
+		}
+		finally
+		{
+			indexLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the values of all classes that are defined by the given class loader from this cache
+	 *
+	 * @param classLoader
+	 *            the class loader
+	 */
+	public void invalidate(final ClassLoader classLoader)
+	{
+		indexLock.lock();
+		try
+		{
+			Iterator<ClassKey> iterator = index.keySet().iterator();
+			while (iterator.hasNext())
+			{
+				Class<?> cls = iterator.next().get();
+				if (cls == null)
+				{
+					iterator.remove();
+				}
+				else if (cls.getClassLoader() == classLoader)
+				{
+					iterator.remove();
+					slots.get(cls).clear();
+				}
+			}
+		}
+		finally
+		{
+			indexLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all values from this cache
+	 */
+	public void invalidateAll()
+	{
+		indexLock.lock();
+		try
+		{
+			for (ClassKey key : index.keySet())
+			{
+				Class<?> cls = key.get();
+				if (cls != null)
+				{
+					slots.get(cls).clear();
+				}
+			}
+			index.clear();
+		}
+		finally
+		{
+			indexLock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the classes that have a computed value in this cache in the order of their computation
+	 * or, if the cache is bounded, in the order of their last access
+	 *
+	 * @return a new list with the cached classes
+	 */
+	public List<Class<?>> getCachedClasses()
+	{
+		indexLock.lock();
+		try
+		{
+			List<Class<?>> classes = new ArrayList<>(index.size());
+			for (ClassKey key : index.keySet())
+			{
+				Class<?> cls = key.get();
+				if (cls != null)
+				{
+					classes.add(cls);
+				}
+			}
+			return classes;
+		}
+		finally
+		{
+			indexLock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of the cached classes
+	 *
+	 * @return the number of the cached classes
+	 */
+	public int size()
+	{
+		indexLock.lock();
+		try
+		{
+			expungeStaleKeys();
+			return index.size();
+		}
+		finally
+		{
+			indexLock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the maximum number of cached classes
+	 *
+	 * @return the maximum number of cached classes or zero if this cache is unbounded
+	 */
+	public int getMaximumSize()
+	{
+		return maximumSize;
+	}
+
+	/**
+	 * Sets the maximum number of cached classes. If the cache contains more classes the least
+	 * recently used values are evicted immediately
+	 *
+	 * @param maximumSize
+	 *            the maximum number of cached classes or zero for an unbounded cache
+	 */
+	public void setMaximumSize(final int maximumSize)
+	{
+		this.maximumSize = checkMaximumSize(maximumSize);
+		indexLock.lock();
+		try
+		{
+			evict();
+		}
+		finally
+		{
+			indexLock.unlock();
+		}
+	}
+
+	private V load(final Class<?> cls, final Slot slot, final Loading<V> loading)
+	{
+		V value;
+		try
+		{
+			value = loader.apply(cls);
+			if (value == null)
+			{
+				throw new NullPointerException("The loader returned null for " + cls.getName());
+			}
+		}
+		catch (RuntimeException | Error e)
+		{
+			STATE.compareAndSet(slot, loading, null);
+			loading.completeExceptionally(e);
+			throw e;
+		}
+		indexLock.lock();
+		try
+		{
+			STATE.compareAndSet(slot, loading, value);
+			index.put(slot.key, Boolean.TRUE);
+			expungeStaleKeys();
+			evict();
+		}
+		finally
+		{
+			indexLock.unlock();
+		}
+		loading.complete(value);
+		return value;
+	}
+
+	/**
+	 * Moves the key of the given slot to the end of the access order. If another thread holds the
+	 * lock the access is not recorded, so a read never waits for the lock
+	 */
+	private void recordAccess(final Slot slot)
+	{
+		if (indexLock.tryLock())
+		{
+			try
+			{
+				index.get(slot.key);
+			}
+			finally
+			{
+				indexLock.unlock();
+			}
+		}
+	}
+
+	private void evict()
+	{
+		int limit = maximumSize;
+		if (limit <= 0)
+		{
+			return;
+		}
+		Iterator<ClassKey> iterator = index.keySet().iterator();
+		while (index.size() > limit && iterator.hasNext())
+		{
+			Class<?> cls = iterator.next().get();
+			iterator.remove();
+			if (cls != null)
+			{
+				slots.get(cls).clear();
+			}
+		}
+	}
+
+	private void expungeStaleKeys()
+	{
+		Object staleKey;
+		while ((staleKey = staleKeys.poll()) != null)
+		{
+			index.remove(staleKey);
+		}
+	}
+
+	/**
+	 * The weak reference to a cached class. Every class has exactly one key, so the identity of
+	 * the key is used for equality
+	 */
+	private static final class ClassKey extends WeakReference<Class<?>>
+	{
+
+		private ClassKey(final Class<?> referent, final ReferenceQueue<Class<?>> queue)
+		{
+			super(referent, queue);
+		}
+	}
+
+	/**
+	 * The holder of the cache state of a class. The state is null if no value is computed, a
+	 * {@link Loading} object while the value is computed or the computed value
+	 */
+	private static final class Slot
+	{
+
+		private final ClassKey key;
+
+		private volatile Object state;
+
+		private Slot(final ClassKey key)
+		{
+			this.key = key;
+		}
+
+		private void clear()
+		{
+			Object current = state;
+			if (!(current instanceof Loading))
+			{
+				STATE.compareAndSet(this, current, null);
+			}
+		}
+	}
+
+	/**
+	 * The placeholder of a value in computation. Threads that request the value wait on this
+	 * placeholder until the computing thread completes it
+	 */
+	private static final class Loading<V> extends CompletableFuture<V>
+	{
+
+		private final Thread owner = Thread.currentThread();
+
+		private V await()
+		{
+			if (owner == Thread.currentThread())
+			{
+				throw new IllegalStateException(
+					"Recursive computation of a cache value in the same thread");
+			}
+			try
+			{
+				return join();
+			}
+			catch (CompletionException e)
+			{
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException)
+				{
+					throw (RuntimeException)cause;
+				}
+				if (cause instanceof Error)
+				{
+					throw (Error)cause;
+				}
+				throw e;
+			}
+		}
+	}
+}
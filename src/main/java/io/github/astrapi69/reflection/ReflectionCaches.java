@@ -0,0 +1,140 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * The class {@link ReflectionCaches} keeps track of all created {@link ReflectionCache} objects and
+ * provides the hooks for invalidate all reflection caches at once, for instance if a class loader
+ * is discarded on a redeploy
+ */
+public final class ReflectionCaches
+{
+
+	/**
+	 * The name of the system property that defines the default maximum size of the reflection
+	 * caches. If the property is not set the caches are unbounded
+	 */
+	public static final String MAXIMUM_SIZE_PROPERTY = "io.github.astrapi69.reflection.cache.maximumSize";
+
+	private static final List<WeakReference<ReflectionCache<?>>> CACHES = new ArrayList<>();
+
+	private static final ReentrantLock LOCK = new ReentrantLock();
+
+	private static volatile int defaultMaximumSize = Math
+		.max(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, 0), 0);
+
+	private ReflectionCaches()
+	{
+	}
+
+	/**
+	 * Removes the values of all classes that are defined by the given class loader from all
+	 * reflection caches
+	 *
+	 * @param classLoader
+	 *            the class loader
+	 */
+	public static void invalidate(final ClassLoader classLoader)
+	{
+		forEachCache(cache -> cache.invalidate(classLoader));
+	}
+
+	/**
+	 * Removes all values from all reflection caches
+	 */
+	public static void invalidateAll()
+	{
+		forEachCache(ReflectionCache::invalidateAll);
+	}
+
+	/**
+	 * Gets the default maximum size for new reflection caches
+	 *
+	 * @return the default maximum size or zero if new reflection caches are unbounded
+	 */
+	public static int getDefaultMaximumSize()
+	{
+		return defaultMaximumSize;
+	}
+
+	/**
+	 * Sets the maximum size of all existing reflection caches and the default maximum size of new
+	 * reflection caches
+	 *
+	 * @param maximumSize
+	 *            the maximum number of cached classes per cache or zero for unbounded caches
+	 */
+	public static void setMaximumSize(final int maximumSize)
+	{
+		if (maximumSize < 0)
+		{
+			throw new IllegalArgumentException("The maximum size must not be negative");
+		}
+		defaultMaximumSize = maximumSize;
+		forEachCache(cache -> cache.setMaximumSize(maximumSize));
+	}
+
+	static void register(final ReflectionCache<?> cache)
+	{
+		LOCK.lock();
+		try
+		{
+			CACHES.removeIf(reference -> reference.get() == null);
+			CACHES.add(new WeakReference<>(cache));
+		}
+		finally
+		{
+			LOCK.unlock();
+		}
+	}
+
+	private static void forEachCache(final Consumer<ReflectionCache<?>> action)
+	{
+		List<ReflectionCache<?>> caches = new ArrayList<>();
+		LOCK.lock();
+		try
+		{
+			for (WeakReference<ReflectionCache<?>> reference : CACHES)
+			{
+				ReflectionCache<?> cache = reference.get();
+				if (cache != null)
+				{
+					caches.add(cache);
+				}
+			}
+		}
+		finally
+		{
+			LOCK.unlock();
+		}
+		caches.forEach(action);
+	}
+}
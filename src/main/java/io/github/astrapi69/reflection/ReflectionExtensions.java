@@ -30,9 +30,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import io.github.astrapi69.lang.ClassType;
@@ -206,7 +209,10 @@ public final class ReflectionExtensions
 	}
 
 	/**
-	 * Sets the sourceField value of the given target object
+	 * Sets the sourceField value of the given target object. Arrays, collections and maps are not
+	 * shared but copied to a new instance of the same type with the same elements. Collections and
+	 * maps that can not be created with the same type, like immutable collections or collections
+	 * without a default constructor, are shared
 	 *
 	 * @param <T>
 	 *            the generic type
@@ -233,6 +239,10 @@ public final class ReflectionExtensions
 			case ENUM :
 				sourceField.set(target, copyOfEnumValue(sourceValue, fieldType));
 				break;
+			case COLLECTION :
+			case MAP :
+				sourceField.set(target, copyOfContainer(sourceValue, fieldType));
+				break;
 			default :
 				sourceField.set(target, sourceValue);
 				break;
@@ -240,25 +250,54 @@ public final class ReflectionExtensions
 	}
 
 	/**
-	 * Copy the given enum object over reflection and return a copy of it
+	 * Copies the given collection or map to a new container of the same type. If the container can
+	 * not be created with the same type or does not fit to the given field type the given
+	 * container is returned
+	 *
+	 * @param value
+	 *            the collection or map
+	 * @param fieldType
+	 *            the type of the field that gets the copy
+	 * @return the copy of the given container, the given container itself or null if the given
+	 *         container is null
+	 */
+	static Object copyOfContainer(final Object value, final Class<?> fieldType)
+	{
+		if (value == null)
+		{
+			return null;
+		}
+		Object copy = value instanceof Map
+			? CopyExtensions.copyMap((Map<?, ?>)value)
+			: CopyExtensions.copyCollection((Collection<?>)value);
+		if (copy.getClass() == value.getClass() && fieldType.isInstance(copy))
+		{
+			return copy;
+		}
+		return value;
+	}
+
+	/**
+	 * Copy the given enum object over reflection and return a copy of it. The enum constant is
+	 * translated with the cached {@link EnumTranslator} of the source and the target enum type, so
+	 * the constants of equivalent enums of different types or class loaders are mapped by name
 	 *
 	 * @param value
 	 *            the enum object
 	 * @param fieldType
 	 *            the type of the given field value
-	 * @return the new enum object that is a copy of the given enum object
+	 * @return the new enum object that is a copy of the given enum object or null if the given
+	 *         type is not an enum type or the given value is null
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given type has no enum constant with the name of the given value
 	 */
-	@SuppressWarnings("unchecked")
 	public static Object copyOfEnumValue(Object value, Class<?> fieldType)
 	{
-		ClassType classType = ObjectExtensions.getClassType(fieldType);
-		if (classType.equals(ClassType.ENUM))
+		if (value == null || !fieldType.isEnum())
 		{
-			Enum<?> enumValue = (Enum<?>)value;
-			String name = enumValue.name();
-			return Enum.valueOf(fieldType.asSubclass(Enum.class), name);
+			return null;
 		}
-		return null;
+		return EnumTranslator.translateValue((Enum<?>)value, fieldType);
 	}
 
 	/**
@@ -288,7 +327,8 @@ public final class ReflectionExtensions
 
 	/**
 	 * Sets the field value of the given class object over the field name. This method is for set
-	 * static fields from a class
+	 * static fields from a class. The field is resolved only on the first call and is accessed
+	 * over the cached {@link StaticFieldAccessor}
 	 *
 	 * @param cls
 	 *            The class
@@ -307,9 +347,53 @@ public final class ReflectionExtensions
 		final Object newValue)
 		throws NoSuchFieldException, SecurityException, IllegalAccessException
 	{
-		final Field sourceField = getDeclaredField(cls, fieldName);
-		sourceField.setAccessible(true);
-		sourceField.set(null, newValue);
+		setStaticFieldValue(StaticFieldAccessor.of(cls, fieldName), newValue);
+	}
+
+	/**
+	 * Sets the given values to the static fields of the given class object. The keys of the given
+	 * map are the field names. All fields are resolved before the first value is set, so no value
+	 * is set if one of the fields does not exist
+	 *
+	 * @param cls
+	 *            The class
+	 * @param fieldValues
+	 *            the map with the field names as keys and the new values as values
+	 * @throws NoSuchFieldException
+	 *             is thrown if no such field exists.
+	 * @throws SecurityException
+	 *             is thrown if a security manager says no.
+	 * @throws IllegalAccessException
+	 *             is thrown if an illegal on create an instance or access a method.
+	 */
+	public static void setStaticFieldValues(final @NonNull Class<?> cls,
+		final @NonNull Map<String, ?> fieldValues)
+		throws NoSuchFieldException, SecurityException, IllegalAccessException
+	{
+		final StaticFieldAccessor[] accessors = new StaticFieldAccessor[fieldValues.size()];
+		final Object[] values = new Object[accessors.length];
+		int index = 0;
+		for (final Map.Entry<String, ?> entry : fieldValues.entrySet())
+		{
+			accessors[index] = StaticFieldAccessor.of(cls, entry.getKey());
+			values[index] = entry.getValue();
+			index++;
+		}
+		for (int i = 0; i < accessors.length; i++)
+		{
+			setStaticFieldValue(accessors[i], values[i]);
+		}
+	}
+
+	private static void setStaticFieldValue(final StaticFieldAccessor accessor,
+		final Object newValue) throws IllegalAccessException
+	{
+		if (accessor.isFinal())
+		{
+			throw new IllegalAccessException(
+				"Can not set static final " + accessor.getType().getName() + " field " + accessor);
+		}
+		accessor.set(newValue);
 	}
 
 	/**
@@ -461,12 +545,11 @@ public final class ReflectionExtensions
 	public static Map<String, String> getMethodNamesWithPrefixFromFieldNames(
 		final @NonNull List<String> fieldNames, final String prefix)
 	{
-		final Map<String, String> fieldNameMethodMapper = new HashMap<>();
+		final Map<String, String> fieldNameMethodMapper = new HashMap<>(
+			InstanceFactory.hashCapacity(fieldNames.size()));
 		for (final String fieldName : fieldNames)
 		{
-			final String firstCharacterToUpperCasefieldName = firstCharacterToUpperCase(fieldName);
-			final String methodName = prefix + firstCharacterToUpperCasefieldName;
-			fieldNameMethodMapper.put(fieldName, methodName);
+			fieldNameMethodMapper.put(fieldName, AccessorNames.methodName(prefix, fieldName));
 		}
 		return fieldNameMethodMapper;
 	}
@@ -482,11 +565,18 @@ public final class ReflectionExtensions
 	 */
 	public static String firstCharacterToUpperCase(final @NonNull String fieldName)
 	{
-		String firstCharacter = fieldName.substring(0, 1);
-		firstCharacter = firstCharacter.toUpperCase();
-		final char[] fc = firstCharacter.toCharArray();
+		if (fieldName.isEmpty())
+		{
+			return fieldName;
+		}
+		final char firstCharacter = fieldName.charAt(0);
+		final char upperCaseCharacter = Character.toUpperCase(firstCharacter);
+		if (firstCharacter == upperCaseCharacter)
+		{
+			return fieldName;
+		}
 		final char[] fn = fieldName.toCharArray();
-		fn[0] = fc[0];
+		fn[0] = upperCaseCharacter;
 		return new String(fn);
 	}
 
@@ -504,6 +594,20 @@ public final class ReflectionExtensions
 		return Arrays.asList(modifiersArray);
 	}
 
+	/**
+	 * Gets the modifiers from the given Field as a set of {@link FieldModifier} objects. In
+	 * difference to {@link ReflectionExtensions#getModifiers(Field)} the modifiers are resolved
+	 * from the bit mask without any string operation
+	 *
+	 * @param field
+	 *            The field to get the modifiers.
+	 * @return A set with the field modifiers from the given Field.
+	 */
+	public static Set<FieldModifier> getFieldModifiers(final @NonNull Field field)
+	{
+		return FieldModifier.of(field.getModifiers());
+	}
+
 	/**
 	 * Gets the {@link Field} that match to the given field name that exists in the given object.
 	 *
@@ -544,6 +648,25 @@ public final class ReflectionExtensions
 		return cls.getDeclaredField(fieldName);
 	}
 
+	/**
+	 * Finds the {@link Field} that match to the given field name in the given class or in one of
+	 * the super classes. The super classes are resolved only until the field is found and the
+	 * resolved metadata of every class is cached
+	 *
+	 * @param cls
+	 *            the class object
+	 * @param fieldName
+	 *            the field name
+	 * @return an {@link Optional} with the found field or an empty {@link Optional} if no such
+	 *         field exists in the class hierarchy
+	 */
+	public static Optional<Field> findDeclaredField(final @NonNull Class<?> cls,
+		final @NonNull String fieldName)
+	{
+		return Optional.ofNullable(ClassMetadata.of(cls).findField(fieldName))
+			.map(FieldMetadata::getField);
+	}
+
 	/**
 	 * Gets all the declared fields including all fields from all super classes from the given class
 	 * object minus the given ignored fields
@@ -684,4 +807,35 @@ public final class ReflectionExtensions
 		return getDeclaredFields(cls, Arrays.asList(ignoreFieldNames));
 	}
 
+	/**
+	 * Passes all non synthetic fields including all fields from all super classes of the given
+	 * class to the given visitor. The fields are taken from the cached {@link ClassMetadata}, so no
+	 * array is created on iteration
+	 *
+	 * @param cls
+	 *            the class object
+	 * @param visitor
+	 *            the visitor
+	 */
+	public static void forEachField(final @NonNull Class<?> cls, final @NonNull FieldVisitor visitor)
+	{
+		ClassMetadata.of(cls).forEachField(visitor);
+	}
+
+	/**
+	 * Passes the values of all non static and non synthetic fields including all fields from all
+	 * super classes of the given object to the given visitor. Primitive values are passed without
+	 * boxing to the primitive callbacks of the given visitor
+	 *
+	 * @param object
+	 *            the object
+	 * @param visitor
+	 *            the visitor
+	 */
+	public static void forEachFieldValue(final @NonNull Object object,
+		final @NonNull FieldValueVisitor visitor)
+	{
+		ClassMetadata.of(object.getClass()).forEachFieldValue(object, visitor);
+	}
+
 }
@@ -0,0 +1,369 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link ReflectionWarmUp} resolves the reflection data of classes ahead of their first
+ * use, so the first requests after a deployment do not pay for the lazy resolution. For every
+ * class the field metadata, the property accessors, the declared constructors, the instantiation
+ * strategy and the objenesis instantiator are resolved and cached. The classes are warmed up in
+ * parallel on an executor with a bounded number of threads and the time spent per class is
+ * reported. The classes can be given directly, found in packages or read from a class list that
+ * was recorded with {@link #recordClassList(Path)} in a previous run
+ */
+public final class ReflectionWarmUp
+{
+
+	private static final Logger log = Logger.getLogger(ReflectionWarmUp.class.getName());
+
+	/**
+	 * The class loader that loads the classes of packages and class lists
+	 */
+	@Getter
+	private final ClassLoader classLoader;
+
+	/**
+	 * The maximum number of threads that warm up the classes
+	 */
+	@Getter
+	private final int parallelism;
+
+	private ReflectionWarmUp(final ClassLoader classLoader, final int parallelism)
+	{
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException("The parallelism must be at least one");
+		}
+		this.classLoader = classLoader;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Factory method for create a new {@link ReflectionWarmUp} with the class loader of the current
+	 * thread and as many threads as processors are available
+	 *
+	 * @return the new {@link ReflectionWarmUp} object
+	 */
+	public static ReflectionWarmUp of()
+	{
+		return of(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Factory method for create a new {@link ReflectionWarmUp} with the class loader of the current
+	 * thread and the given maximum number of threads
+	 *
+	 * @param parallelism
+	 *            the maximum number of threads that warm up the classes
+	 * @return the new {@link ReflectionWarmUp} object
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given parallelism is less than one
+	 */
+	public static ReflectionWarmUp of(final int parallelism)
+	{
+		return of(Thread.currentThread().getContextClassLoader(), parallelism);
+	}
+
+	/**
+	 * Factory method for create a new {@link ReflectionWarmUp} with the given class loader and the
+	 * given maximum number of threads
+	 *
+	 * @param classLoader
+	 *            the class loader that loads the classes of packages and class lists
+	 * @param parallelism
+	 *            the maximum number of threads that warm up the classes
+	 * @return the new {@link ReflectionWarmUp} object
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given parallelism is less than one
+	 */
+	public static ReflectionWarmUp of(final @NonNull ClassLoader classLoader,
+		final int parallelism)
+	{
+		return new ReflectionWarmUp(classLoader, parallelism);
+	}
+
+	/**
+	 * Writes the names of all classes that have cached metadata into the given class list file,
+	 * one fully qualified class name per line. The file can be used in a later run for the method
+	 * {@link #warmUpClassList(Path)}
+	 *
+	 * @param classList
+	 *            the path of the class list file
+	 * @return the number of the written class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static int recordClassList(final @NonNull Path classList) throws IOException
+	{
+		List<String> classNames = new ArrayList<>();
+		for (Class<?> cls : ClassMetadata.getCachedClasses())
+		{
+			if (!cls.isHidden() && !cls.isArray() && !cls.isPrimitive())
+			{
+				classNames.add(cls.getName());
+			}
+		}
+		Collections.sort(classNames);
+		Files.write(classList, classNames, StandardCharsets.UTF_8);
+		return classNames.size();
+	}
+
+	/**
+	 * Warms up the given classes
+	 *
+	 * @param classes
+	 *            the classes to warm up
+	 * @return an unmodifiable map with the time spent per class in the order of the given classes
+	 * @throws InterruptedException
+	 *             is thrown if the current thread is interrupted while it waits for the warm-up
+	 */
+	public Map<Class<?>, Duration> warmUp(final @NonNull Class<?>... classes)
+		throws InterruptedException
+	{
+		List<Class<?>> classList = new ArrayList<>(classes.length);
+		Collections.addAll(classList, classes);
+		return warmUp(classList);
+	}
+
+	/**
+	 * Warms up the given classes
+	 *
+	 * @param classes
+	 *            the classes to warm up
+	 * @return an unmodifiable map with the time spent per class in the order of the given classes
+	 * @throws InterruptedException
+	 *             is thrown if the current thread is interrupted while it waits for the warm-up
+	 */
+	public Map<Class<?>, Duration> warmUp(final @NonNull Collection<? extends Class<?>> classes)
+		throws InterruptedException
+	{
+		return run(classes, Function.identity());
+	}
+
+	/**
+	 * Warms up all classes in the given packages and their subpackages except annotation types.
+	 * The classes are found with a {@link ClassPathScanner} and are loaded while they are warmed
+	 * up, so the reported time of a class contains the time of its class loading
+	 *
+	 * @param packageNames
+	 *            the names of the packages
+	 * @return an unmodifiable map with the time spent per class in the order of the class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws InterruptedException
+	 *             is thrown if the current thread is interrupted while it waits for the warm-up
+	 */
+	public Map<Class<?>, Duration> warmUpPackages(final @NonNull String... packageNames)
+		throws IOException, InterruptedException
+	{
+		List<String> classNames = new ArrayList<>();
+		for (ClassHeader header : ClassPathScanner.of(classLoader, packageNames)
+			.getClassHeaders())
+		{
+			if (!header.isAnnotation())
+			{
+				classNames.add(header.getClassName());
+			}
+		}
+		return run(classNames, this::loadClass);
+	}
+
+	/**
+	 * Warms up the classes of the given class list file. The file contains one fully qualified
+	 * class name per line, empty lines and lines that start with '#' are ignored. Classes that can
+	 * not be loaded anymore are skipped
+	 *
+	 * @param classList
+	 *            the path of the class list file
+	 * @return an unmodifiable map with the time spent per class in the order of the class list
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws InterruptedException
+	 *             is thrown if the current thread is interrupted while it waits for the warm-up
+	 */
+	public Map<Class<?>, Duration> warmUpClassList(final @NonNull Path classList)
+		throws IOException, InterruptedException
+	{
+		List<String> classNames = new ArrayList<>();
+		for (String line : Files.readAllLines(classList, StandardCharsets.UTF_8))
+		{
+			String className = line.trim();
+			if (!className.isEmpty() && !className.startsWith("#"))
+			{
+				classNames.add(className);
+			}
+		}
+		return run(classNames, this::loadClass);
+	}
+
+	private <E> Map<Class<?>, Duration> run(final Collection<E> entries,
+		final Function<? super E, Class<?>> loader) throws InterruptedException
+	{
+		List<Callable<WarmedUpClass>> tasks = new ArrayList<>(entries.size());
+		for (E entry : new LinkedHashSet<>(entries))
+		{
+			tasks.add(() -> warmUp(entry, loader));
+		}
+		Map<Class<?>, Duration> durations = new LinkedHashMap<>(
+			InstanceFactory.hashCapacity(tasks.size()));
+		if (tasks.isEmpty())
+		{
+			return Collections.unmodifiableMap(durations);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(
+			Math.min(parallelism, tasks.size()), newThreadFactory());
+		try
+		{
+			for (Future<WarmedUpClass> future : executor.invokeAll(tasks))
+			{
+				WarmedUpClass warmedUpClass = future.get();
+				if (warmedUpClass != null)
+				{
+					durations.putIfAbsent(warmedUpClass.type, warmedUpClass.duration);
+				}
+			}
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("Failed to warm up the classes", e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		return Collections.unmodifiableMap(durations);
+	}
+
+	private static <E> WarmedUpClass warmUp(final E entry,
+		final Function<? super E, Class<?>> loader)
+	{
+		long start = System.nanoTime();
+		Class<?> cls = loader.apply(entry);
+		if (cls == null)
+		{
+			return null;
+		}
+		try
+		{
+			resolve(cls);
+		}
+		catch (RuntimeException | LinkageError e)
+		{
+			log.log(Level.WARNING, "Failed to warm up the class " + cls.getName(), e);
+		}
+		return new WarmedUpClass(cls, Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	private static void resolve(final Class<?> cls)
+	{
+		ClassMetadata metadata = ClassMetadata.of(cls);
+		metadata.getFields();
+		metadata.getAccessorNames();
+		if (cls.isPrimitive() || cls.isArray() || cls.isInterface())
+		{
+			return;
+		}
+		metadata.getPropertyAccessors();
+		cls.getDeclaredConstructors();
+		if (cls.isEnum() || Modifier.isAbstract(cls.getModifiers()))
+		{
+			return;
+		}
+		InstanceFactory.newInstanceFunction(cls);
+		if (!cls.isRecord())
+		{
+			InstanceFactory.getInstantiator(cls);
+		}
+	}
+
+	private Class<?> loadClass(final String className)
+	{
+		try
+		{
+			return Class.forName(className, false, classLoader);
+		}
+		catch (ClassNotFoundException | LinkageError e)
+		{
+			log.log(Level.WARNING, "Failed to load the class " + className + " for the warm-up",
+				e);
+			return null;
+		}
+	}
+
+	private static ThreadFactory newThreadFactory()
+	{
+		AtomicInteger threadNumber = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable,
+				"reflection-warm-up-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * The warmed up class with the time spent for the warm-up
+	 */
+	private static final class WarmedUpClass
+	{
+
+		private final Class<?> type;
+
+		private final Duration duration;
+
+		private WarmedUpClass(final Class<?> type, final Duration duration)
+		{
+			this.type = type;
+			this.duration = duration;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.reflect.Type;
+
+import lombok.Getter;
+
+/**
+ * The class {@link ResolvedFieldType} holds the generic type of a field that is resolved for a
+ * concrete class, so type variables of the superclasses are replaced with their actual type
+ * arguments. The element type of collections and arrays and the key and value types of maps are
+ * resolved once together with the field type
+ */
+public final class ResolvedFieldType
+{
+
+	/**
+	 * The field
+	 */
+	@Getter
+	private final FieldMetadata field;
+
+	/**
+	 * The resolved generic type of the field
+	 */
+	@Getter
+	private final Type type;
+
+	/**
+	 * The raw class of the resolved generic type
+	 */
+	@Getter
+	private final Class<?> rawType;
+
+	/**
+	 * The resolved element type if the field is a collection or an array otherwise null
+	 */
+	@Getter
+	private final Type elementType;
+
+	/**
+	 * The resolved key type if the field is a map otherwise null
+	 */
+	@Getter
+	private final Type keyType;
+
+	/**
+	 * The resolved value type if the field is a map otherwise null
+	 */
+	@Getter
+	private final Type valueType;
+
+	ResolvedFieldType(final FieldMetadata field, final Type type, final Type elementType,
+		final Type keyType, final Type valueType)
+	{
+		this.field = field;
+		this.type = type;
+		this.rawType = GenericTypeResolver.getRawType(type);
+		this.elementType = elementType;
+		this.keyType = keyType;
+		this.valueType = valueType;
+	}
+
+	/**
+	 * Gets the raw class of the resolved element type
+	 *
+	 * @return the raw class of the resolved element type or null if the field is neither a
+	 *         collection nor an array
+	 */
+	public Class<?> getElementClass()
+	{
+		return elementType != null ? GenericTypeResolver.getRawType(elementType) : null;
+	}
+
+	/**
+	 * Gets the raw class of the resolved key type
+	 *
+	 * @return the raw class of the resolved key type or null if the field is not a map
+	 */
+	public Class<?> getKeyClass()
+	{
+		return keyType != null ? GenericTypeResolver.getRawType(keyType) : null;
+	}
+
+	/**
+	 * Gets the raw class of the resolved value type
+	 *
+	 * @return the raw class of the resolved value type or null if the field is not a map
+	 */
+	public Class<?> getValueClass()
+	{
+		return valueType != null ? GenericTypeResolver.getRawType(valueType) : null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return field + ": " + type.getTypeName();
+	}
+}
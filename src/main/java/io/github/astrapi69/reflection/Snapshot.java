@@ -0,0 +1,119 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link Snapshot} holds the values of all non static and non final fields of an object
+ * in a compact form. Primitive values are stored unboxed in a long array and references in an
+ * object array with the cached field layout of the class. The referenced objects are not copied,
+ * use {@link CopyExtensions#deepCopy(Object)} if the referenced objects are changed in place
+ *
+ * @param <T>
+ *            the generic type of the object
+ */
+public final class Snapshot<T>
+{
+
+	/**
+	 * The class of the captured object
+	 */
+	@Getter
+	private final Class<?> type;
+
+	/**
+	 * The field layout of the class
+	 */
+	final FieldLayout layout;
+
+	/**
+	 * The primitive values, float and double values as raw bits
+	 */
+	final long[] primitives;
+
+	/**
+	 * The references
+	 */
+	final Object[] references;
+
+	private Snapshot(final FieldLayout layout, final long[] primitives, final Object[] references)
+	{
+		this.type = layout.type;
+		this.layout = layout;
+		this.primitives = primitives;
+		this.references = references;
+	}
+
+	/**
+	 * Factory method for create a new {@link Snapshot} of the field values of the given object
+	 *
+	 * @param <T>
+	 *            the generic type of the object
+	 * @param object
+	 *            the object
+	 * @return the new {@link Snapshot} object
+	 * @throws IllegalArgumentException
+	 *             is thrown if a non final instance field of the object is not accessible
+	 */
+	public static <T> Snapshot<T> of(final @NonNull T object)
+	{
+		FieldLayout layout = FieldLayout.of(object.getClass());
+		long[] primitives = new long[layout.primitiveFields.length];
+		Object[] references = new Object[layout.referenceFields.length];
+		layout.read(object, primitives, references);
+		return new Snapshot<>(layout, primitives, references);
+	}
+
+	/**
+	 * Restores the captured field values to the given object
+	 *
+	 * @param target
+	 *            the object of the same class as the captured object
+	 * @return the given object
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given object is not of the class of the captured object
+	 */
+	public T restore(final @NonNull T target)
+	{
+		if (target.getClass() != type)
+		{
+			throw new IllegalArgumentException("Object of " + target.getClass().getName()
+				+ " can not be restored from a snapshot of " + type.getName());
+		}
+		layout.write(target, primitives, references);
+		return target;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "Snapshot[" + type.getName() + "]";
+	}
+}
@@ -0,0 +1,308 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class {@link StaticFieldAccessor} provides the access to a static field over a
+ * {@link VarHandle}. The accessors are cached per class and field name, so the field is resolved
+ * only once and every further access is a direct call of the {@link VarHandle}
+ */
+public final class StaticFieldAccessor
+{
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final ReflectionCache<Map<String, StaticFieldAccessor>> ACCESSORS = new ReflectionCache<>(
+		type -> new ConcurrentHashMap<>());
+
+	/**
+	 * The underlying static field
+	 */
+	@Getter
+	private final Field field;
+
+	/**
+	 * The type of the static field
+	 */
+	@Getter
+	private final Class<?> type;
+
+	/**
+	 * The var handle of the static field
+	 */
+	private final VarHandle varHandle;
+
+	private StaticFieldAccessor(final Field field, final VarHandle varHandle)
+	{
+		this.field = field;
+		this.type = field.getType();
+		this.varHandle = varHandle;
+	}
+
+	/**
+	 * Gets the cached {@link StaticFieldAccessor} object of the static field with the given name
+	 * that is declared in the given class. If no accessor exists yet it will be resolved and
+	 * cached
+	 *
+	 * @param cls
+	 *            the class that declares the static field
+	 * @param fieldName
+	 *            the field name
+	 * @return the cached {@link StaticFieldAccessor} object
+	 * @throws NoSuchFieldException
+	 *             is thrown if no such field exists
+	 * @throws IllegalAccessException
+	 *             is thrown if the field can not be accessed
+	 * @throws IllegalArgumentException
+	 *             is thrown if the field is not static
+	 */
+	public static StaticFieldAccessor of(final @NonNull Class<?> cls,
+		final @NonNull String fieldName) throws NoSuchFieldException, IllegalAccessException
+	{
+		Map<String, StaticFieldAccessor> accessors = ACCESSORS.get(cls);
+		StaticFieldAccessor accessor = accessors.get(fieldName);
+		if (accessor == null)
+		{
+			accessor = newStaticFieldAccessor(cls.getDeclaredField(fieldName));
+			StaticFieldAccessor existing = accessors.putIfAbsent(fieldName, accessor);
+			if (existing != null)
+			{
+				accessor = existing;
+			}
+		}
+		return accessor;
+	}
+
+	private static StaticFieldAccessor newStaticFieldAccessor(final Field field)
+		throws IllegalAccessException
+	{
+		if (!Modifier.isStatic(field.getModifiers()))
+		{
+			throw new IllegalArgumentException("Field " + field.getDeclaringClass().getName()
+				+ "." + field.getName() + " is not static");
+		}
+		Class<?> declaringClass = field.getDeclaringClass();
+		StaticFieldAccessor.class.getModule().addReads(declaringClass.getModule());
+		MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, LOOKUP);
+		return new StaticFieldAccessor(field, lookup.unreflectVarHandle(field));
+	}
+
+	/**
+	 * Gets the name of the static field
+	 *
+	 * @return the name of the static field
+	 */
+	public String getName()
+	{
+		return field.getName();
+	}
+
+	/**
+	 * Checks if the static field is final. The value of a final field can only be read
+	 *
+	 * @return true, if the static field is final otherwise false
+	 */
+	public boolean isFinal()
+	{
+		return Modifier.isFinal(field.getModifiers());
+	}
+
+	/**
+	 * Gets the value of the static field
+	 *
+	 * @return the value of the static field
+	 */
+	public Object get()
+	{
+		return (Object)varHandle.get();
+	}
+
+	/**
+	 * Sets the given value to the static field
+	 *
+	 * @param value
+	 *            the new value
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given value does not match to the type of the field
+	 * @throws UnsupportedOperationException
+	 *             is thrown if the field is final
+	 */
+	public void set(final Object value)
+	{
+		checkValue(value);
+		try
+		{
+			varHandle.set(value);
+		}
+		catch (ClassCastException e)
+		{
+			throw newIllegalArgumentException(value, e);
+		}
+	}
+
+	/**
+	 * Gets the value of the static field with the memory semantics of a volatile read
+	 *
+	 * @return the value of the static field
+	 */
+	public Object getVolatile()
+	{
+		return (Object)varHandle.getVolatile();
+	}
+
+	/**
+	 * Sets the given value to the static field with the memory semantics of a volatile write
+	 *
+	 * @param value
+	 *            the new value
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given value does not match to the type of the field
+	 * @throws UnsupportedOperationException
+	 *             is thrown if the field is final
+	 */
+	public void setVolatile(final Object value)
+	{
+		checkValue(value);
+		try
+		{
+			varHandle.setVolatile(value);
+		}
+		catch (ClassCastException e)
+		{
+			throw newIllegalArgumentException(value, e);
+		}
+	}
+
+	/**
+	 * Sets atomically the given new value to the static field if the current value is the given
+	 * expected value. Values of reference fields are compared by identity
+	 *
+	 * @param expectedValue
+	 *            the expected current value
+	 * @param newValue
+	 *            the new value
+	 * @return true, if the new value was set otherwise false
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given values do not match to the type of the field
+	 * @throws UnsupportedOperationException
+	 *             is thrown if the field is final
+	 */
+	public boolean compareAndSet(final Object expectedValue, final Object newValue)
+	{
+		checkValue(expectedValue);
+		checkValue(newValue);
+		try
+		{
+			return varHandle.compareAndSet(expectedValue, newValue);
+		}
+		catch (ClassCastException e)
+		{
+			throw newIllegalArgumentException(newValue, e);
+		}
+	}
+
+	/**
+	 * Sets atomically the given value to the static field and returns the previous value
+	 *
+	 * @param value
+	 *            the new value
+	 * @return the previous value
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given value does not match to the type of the field
+	 * @throws UnsupportedOperationException
+	 *             is thrown if the field is final
+	 */
+	public Object getAndSet(final Object value)
+	{
+		checkValue(value);
+		try
+		{
+			return (Object)varHandle.getAndSet(value);
+		}
+		catch (ClassCastException e)
+		{
+			throw newIllegalArgumentException(value, e);
+		}
+	}
+
+	/**
+	 * Adds atomically the given delta to the value of the numeric static field and returns the
+	 * previous value
+	 *
+	 * @param delta
+	 *            the delta to add
+	 * @return the previous value
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given delta does not match to the type of the field
+	 * @throws UnsupportedOperationException
+	 *             is thrown if the field is final or not numeric
+	 */
+	public Object getAndAdd(final Object delta)
+	{
+		checkValue(delta);
+		try
+		{
+			return (Object)varHandle.getAndAdd(delta);
+		}
+		catch (ClassCastException e)
+		{
+			throw newIllegalArgumentException(delta, e);
+		}
+	}
+
+	private void checkValue(final Object value)
+	{
+		if (value == null && type.isPrimitive())
+		{
+			throw newIllegalArgumentException(null, null);
+		}
+	}
+
+	private IllegalArgumentException newIllegalArgumentException(final Object value,
+		final ClassCastException cause)
+	{
+		return new IllegalArgumentException("Can not set " + type.getName() + " field " + this
+			+ " to " + (value == null ? "null value" : value.getClass().getName()), cause);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return field.getDeclaringClass().getName() + "." + field.getName();
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link AccessorNames}
+ */
+class AccessorNamesTest
+{
+
+	/**
+	 * Test method for {@link AccessorNames#of(String)}
+	 */
+	@Test
+	public void testOf()
+	{
+		String expected;
+		String actual;
+		AccessorNames accessorNames;
+
+		accessorNames = AccessorNames.of("married");
+		actual = accessorNames.getGetterName();
+		expected = "getMarried";
+		assertEquals(expected, actual);
+		assertSame(expected, actual);
+
+		actual = accessorNames.getIsName();
+		expected = "isMarried";
+		assertSame(expected, actual);
+
+		actual = accessorNames.getSetterName();
+		expected = "setMarried";
+		assertSame(expected, actual);
+
+		actual = accessorNames.getFluentName();
+		expected = "married";
+		assertSame(expected, actual);
+		assertSame(accessorNames.getFieldName(), actual);
+	}
+
+	/**
+	 * Test method for {@link AccessorNames#methodName(String, String)}
+	 */
+	@Test
+	public void testMethodName()
+	{
+		String expected;
+		String actual;
+
+		actual = AccessorNames.methodName("get", "x");
+		expected = "getX";
+		assertEquals(expected, actual);
+		// new scenario: empty field name
+		actual = AccessorNames.methodName("get", "");
+		expected = "get";
+		assertEquals(expected, actual);
+		// new scenario: first character is already in upper case
+		actual = AccessorNames.methodName("set", "URL");
+		expected = "setURL";
+		assertEquals(expected, actual);
+	}
+}
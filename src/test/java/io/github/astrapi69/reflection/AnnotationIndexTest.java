@@ -0,0 +1,141 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link AnnotationIndex}
+ */
+class AnnotationIndexTest
+{
+
+	/**
+	 * Test method for {@link AnnotationIndex#of(Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		assertSame(AnnotationIndex.of(Buch.class), AnnotationIndex.of(Buch.class));
+		assertEquals(Buch.class, AnnotationIndex.of(Buch.class).getType());
+	}
+
+	/**
+	 * Test method for {@link AnnotationIndex#getFieldsAnnotatedWith(Class)}
+	 */
+	@Test
+	public void testGetFieldsAnnotatedWith()
+	{
+		List<FieldMetadata> actual;
+		AnnotationIndex annotationIndex;
+
+		annotationIndex = AnnotationIndex.of(Buch.class);
+		actual = annotationIndex.getFieldsAnnotatedWith(Spalte.class);
+		assertEquals(1, actual.size());
+		assertEquals("titel", actual.get(0).getName());
+		// new scenario with a meta-annotation ...
+		actual = annotationIndex.getFieldsAnnotatedWith(Zuordnung.class);
+		assertEquals(2, actual.size());
+		assertEquals("titel", actual.get(0).getName());
+		assertEquals("spalte", actual.get(0).getAnnotation(Zuordnung.class).value());
+		assertEquals("seiten", actual.get(1).getName());
+		assertEquals("seiten", actual.get(1).getAnnotation(Zuordnung.class).value());
+		// new scenario with a class without annotations ...
+		assertTrue(AnnotationIndex.of(Person.class).getFieldsAnnotatedWith(Spalte.class)
+			.isEmpty());
+	}
+
+	/**
+	 * Test method for {@link AnnotationIndex#getMethodsAnnotatedWith(Class)} and
+	 * {@link AnnotationIndex#getAnnotation(Method, Class)}
+	 */
+	@Test
+	public void testGetMethodsAnnotatedWith() throws NoSuchMethodException
+	{
+		List<Method> actual;
+		Method expected;
+		AnnotationIndex annotationIndex;
+
+		annotationIndex = AnnotationIndex.of(Buch.class);
+		expected = Buch.class.getDeclaredMethod("titelInGrossbuchstaben");
+		actual = annotationIndex.getMethodsAnnotatedWith(Zuordnung.class);
+		assertEquals(List.of(expected), actual);
+		assertEquals("", annotationIndex.getAnnotation(expected, Zuordnung.class).value());
+		assertNull(annotationIndex.getAnnotation(expected, Spalte.class));
+		assertTrue(annotationIndex.getMethodsAnnotatedWith(Spalte.class).isEmpty());
+		assertNull(annotationIndex.getAnnotation(Buch.class.getDeclaredMethod("getTitel"),
+			Zuordnung.class));
+	}
+
+	/**
+	 * Test method for {@link AnnotationIndex#getConstructorsAnnotatedWith(Class)} and
+	 * {@link AnnotationIndex#getAnnotation(Constructor, Class)}
+	 */
+	@Test
+	public void testGetConstructorsAnnotatedWith() throws NoSuchMethodException
+	{
+		List<Constructor<?>> actual;
+		Constructor<?> expected;
+		AnnotationIndex annotationIndex;
+
+		annotationIndex = AnnotationIndex.of(Buch.class);
+		expected = Buch.class.getDeclaredConstructor(String.class);
+		actual = annotationIndex.getConstructorsAnnotatedWith(Zuordnung.class);
+		assertEquals(List.of(expected), actual);
+		assertEquals(actual, annotationIndex.getConstructorsAnnotatedWith(Spalte.class));
+		assertEquals("konstruktor", annotationIndex.getAnnotation(expected, Spalte.class).value());
+		assertEquals("spalte", annotationIndex.getAnnotation(expected, Zuordnung.class).value());
+		assertNull(annotationIndex.getAnnotation(Buch.class.getDeclaredConstructor(),
+			Spalte.class));
+	}
+
+	/**
+	 * Test method for {@link AnnotationIndex#findAnnotation(java.lang.reflect.AnnotatedElement, Class)}
+	 */
+	@Test
+	public void testFindAnnotation() throws NoSuchFieldException
+	{
+		assertEquals("titel", AnnotationIndex
+			.findAnnotation(Buch.class.getDeclaredField("titel"), Spalte.class).value());
+		assertEquals("spalte", AnnotationIndex
+			.findAnnotation(Buch.class.getDeclaredField("titel"), Zuordnung.class).value());
+		assertEquals("seiten", AnnotationIndex
+			.findAnnotation(Buch.class.getDeclaredField("seiten"), Zuordnung.class).value());
+		assertNull(
+			AnnotationIndex.findAnnotation(Buch.class.getDeclaredField("autor"), Zuordnung.class));
+		assertNull(AnnotationIndex.findAnnotation(Spalte.class, Spalte.class));
+	}
+}
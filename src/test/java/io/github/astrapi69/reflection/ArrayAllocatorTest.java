@@ -0,0 +1,141 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link ArrayAllocator}
+ */
+class ArrayAllocatorTest
+{
+
+	/**
+	 * Test method for {@link ArrayAllocator#newArray(Class, int)}
+	 */
+	@Test
+	public void testNewArray()
+	{
+		Object actual;
+		// new scenario with primitive component types ...
+		actual = ArrayAllocator.newArray(boolean.class, 2);
+		assertEquals(2, ((boolean[])actual).length);
+		actual = ArrayAllocator.newArray(byte.class, 2);
+		assertEquals(2, ((byte[])actual).length);
+		actual = ArrayAllocator.newArray(char.class, 2);
+		assertEquals(2, ((char[])actual).length);
+		actual = ArrayAllocator.newArray(short.class, 2);
+		assertEquals(2, ((short[])actual).length);
+		actual = ArrayAllocator.newArray(int.class, 2);
+		assertEquals(2, ((int[])actual).length);
+		actual = ArrayAllocator.newArray(long.class, 2);
+		assertEquals(2, ((long[])actual).length);
+		actual = ArrayAllocator.newArray(float.class, 2);
+		assertEquals(2, ((float[])actual).length);
+		actual = ArrayAllocator.newArray(double.class, 2);
+		assertEquals(2, ((double[])actual).length);
+		// new scenario with reference component type ...
+		actual = ArrayAllocator.newArray(Person.class, 3);
+		assertEquals(Person[].class, actual.getClass());
+		assertEquals(3, ((Person[])actual).length);
+		// new scenario with array component type ...
+		actual = ArrayAllocator.newArray(int[].class, 4);
+		assertEquals(int[][].class, actual.getClass());
+		// new scenario with void ...
+		assertThrows(IllegalArgumentException.class, () -> ArrayAllocator.newArray(void.class, 1));
+		// new scenario with negative length ...
+		assertThrows(NegativeArraySizeException.class,
+			() -> ArrayAllocator.newArray(String.class, -1));
+	}
+
+	/**
+	 * Test method for {@link ArrayAllocator#newMultiArray(Class, int...)}
+	 */
+	@Test
+	public void testNewMultiArray()
+	{
+		Object actual;
+		int[][] matrix;
+		// new scenario with two dimensions ...
+		actual = ArrayAllocator.newMultiArray(int.class, 2, 3);
+		assertEquals(int[][].class, actual.getClass());
+		matrix = (int[][])actual;
+		assertEquals(2, matrix.length);
+		assertEquals(3, matrix[1].length);
+		// new scenario with three dimensions ...
+		actual = ArrayAllocator.newMultiArray(String.class, 1, 2, 3);
+		assertEquals(String[][][].class, actual.getClass());
+		assertEquals(3, ((String[][][])actual)[0][1].length);
+		// new scenario with one dimension ...
+		actual = ArrayAllocator.newMultiArray(long.class, 5);
+		assertEquals(5, ((long[])actual).length);
+		// new scenario without dimensions ...
+		assertThrows(IllegalArgumentException.class,
+			() -> ArrayAllocator.newMultiArray(int.class));
+	}
+
+	/**
+	 * Test method for {@link ArrayAllocator#newJaggedArray(Class, int...)}
+	 */
+	@Test
+	public void testNewJaggedArray()
+	{
+		Object[] actual;
+		double[][] rows;
+		// new scenario with primitive component type ...
+		actual = ArrayAllocator.newJaggedArray(double.class, 1, 0, 3);
+		assertEquals(double[][].class, actual.getClass());
+		rows = (double[][])actual;
+		assertEquals(3, rows.length);
+		assertEquals(1, rows[0].length);
+		assertEquals(0, rows[1].length);
+		assertEquals(3, rows[2].length);
+		// new scenario with reference component type ...
+		actual = ArrayAllocator.newJaggedArray(Person.class, 2, 4);
+		assertTrue(actual instanceof Person[][]);
+		assertEquals(4, ((Person[][])actual)[1].length);
+		// new scenario without rows ...
+		actual = ArrayAllocator.newJaggedArray(int.class);
+		assertEquals(0, actual.length);
+	}
+
+	/**
+	 * Test method for {@link ArrayAllocator}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ArrayAllocator.class);
+	}
+
+}
@@ -0,0 +1,186 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.PremiumMember;
+import io.github.astrapi69.test.object.Television;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link BeanMapConverter}
+ */
+class BeanMapConverterTest
+{
+
+	/**
+	 * Test method for {@link BeanMapConverter}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(BeanMapConverter.class);
+	}
+
+	/**
+	 * Test method for {@link BeanMapConverter#toMap(Object)}
+	 */
+	@Test
+	public void testToMap()
+	{
+		Map<String, Object> actual;
+		Person person;
+
+		person = Person.builder().name("Alex").nickname("al").gender(Gender.MALE).married(true)
+			.about("").build();
+		actual = BeanMapConverter.toMap(person);
+		assertEquals(5, actual.size());
+		assertEquals("Alex", actual.get("name"));
+		assertEquals("al", actual.get("nickname"));
+		assertEquals(Gender.MALE, actual.get("gender"));
+		assertEquals(true, actual.get("married"));
+		assertEquals("", actual.get("about"));
+		assertFalse(actual.containsKey("serialVersionUID"));
+		// new scenario ...
+		actual = BeanMapConverter.toMap(new Television(3, true));
+		assertEquals(3, actual.get("channel"));
+		assertEquals(true, actual.get("on"));
+	}
+
+	/**
+	 * Test method for {@link BeanMapConverter#toMap(Object)} with a class hierarchy
+	 */
+	@Test
+	public void testToMapWithSuperclasses()
+	{
+		Map<String, Object> actual;
+		PremiumMember member;
+		Date dateofbirth;
+
+		dateofbirth = new Date();
+		member = new PremiumMember("", Gender.FEMALE, false, "Anna", "an", dateofbirth, null,
+			"100");
+		actual = BeanMapConverter.toMap(member);
+		assertEquals(8, actual.size());
+		assertEquals("100", actual.get("credits"));
+		assertSame(dateofbirth, actual.get("dateofbirth"));
+		assertNull(actual.get("dateofMarriage"));
+		assertEquals("Anna", actual.get("name"));
+	}
+
+	/**
+	 * Test method for {@link BeanMapConverter#toObject(Map, Class)}
+	 */
+	@Test
+	public void testToObject()
+	{
+		Person expected;
+		Person actual;
+		Map<String, Object> map;
+
+		expected = Person.builder().name("Alex").nickname("al").gender(Gender.MALE).married(true)
+			.about("foo").build();
+		map = BeanMapConverter.toMap(expected);
+		actual = BeanMapConverter.toObject(map, Person.class);
+		assertEquals(expected, actual);
+		// new scenario with a primitive field and a null value ...
+		map = new HashMap<>();
+		map.put("channel", null);
+		map.put("on", true);
+		Television television = BeanMapConverter.toObject(map, Television.class);
+		assertEquals(new Television(0, true), television);
+		// new scenario with a final field without setter ...
+		map = new HashMap<>();
+		map.put("an", true);
+		Licht licht = BeanMapConverter.toObject(map, Licht.class);
+		assertTrue(licht.isAn());
+		// new scenario with a record ...
+		Kunde kunde = new Kunde("Alex", 42, true);
+		map = BeanMapConverter.toMap(kunde);
+		assertEquals(kunde, BeanMapConverter.toObject(map, Kunde.class));
+	}
+
+	/**
+	 * Test method for {@link BeanMapConverter#populate(Map, Object)}
+	 */
+	@Test
+	public void testPopulate()
+	{
+		Person actual;
+		Map<String, Object> map;
+
+		actual = Person.builder().name("Alex").nickname("al").build();
+		map = new HashMap<>();
+		map.put("name", "Leo");
+		map.put("unknown", "ignored");
+		BeanMapConverter.populate(map, actual);
+		assertEquals("Leo", actual.getName());
+		assertEquals("al", actual.getNickname());
+	}
+
+	/**
+	 * Test method for {@link BeanMapConverter#toMaps(java.util.Collection)} and
+	 * {@link BeanMapConverter#toObjects(java.util.Collection, Class)}
+	 */
+	@Test
+	public void testToMapsAndToObjects()
+	{
+		List<Person> expected;
+		List<Person> actual;
+		List<Map<String, Object>> maps;
+
+		expected = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+		{
+			expected.add(Person.builder().name("name" + i).married(i % 2 == 0).build());
+		}
+		maps = BeanMapConverter.toMaps(expected);
+		assertEquals(expected.size(), maps.size());
+		actual = BeanMapConverter.toObjects(maps, Person.class);
+		assertEquals(expected, actual);
+		// new scenario with different classes ...
+		maps = BeanMapConverter.toMaps(ListFactory.newArrayList(new Television(1, false),
+			Person.builder().name("Alex").build()));
+		assertEquals(1, maps.get(0).get("channel"));
+		assertEquals("Alex", maps.get(1).get("name"));
+	}
+}
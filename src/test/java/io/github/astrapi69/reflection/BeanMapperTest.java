@@ -0,0 +1,190 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link BeanMapper}
+ */
+class BeanMapperTest
+{
+
+	/**
+	 * Test method for {@link BeanMapper#of(Class, Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		BeanMapper<Person, Mitglied> beanMapper;
+
+		beanMapper = BeanMapper.of(Person.class, Mitglied.class);
+		assertSame(beanMapper, BeanMapper.of(Person.class, Mitglied.class));
+		assertEquals(Person.class, beanMapper.getSourceType());
+		assertEquals(Mitglied.class, beanMapper.getTargetType());
+		// the field about has an incompatible type and the field kennung is final
+		assertEquals(Map.of("name", "name", "gender", "gender", "married", "married"),
+			beanMapper.getMappedFields());
+	}
+
+	/**
+	 * Test method for {@link BeanMapper#map(Object, Object)} and {@link BeanMapper#map(Object)}
+	 */
+	@Test
+	public void testMap()
+	{
+		Mitglied actual;
+		Mitglied mitglied;
+		Person person;
+		KundeDaten kundeDaten;
+		KundeDaten copy;
+
+		person = Person.builder().name("Alex").gender(Gender.FEMALE).married(true)
+			.nickname("Al").build();
+		mitglied = new Mitglied();
+		actual = BeanMapper.of(Person.class, Mitglied.class).map(person, mitglied);
+		assertSame(mitglied, actual);
+		assertEquals("Alex", actual.getName());
+		assertEquals(Geschlecht.FEMALE, actual.getGender());
+		assertTrue(actual.isMarried());
+		assertNull(actual.getSpitzname());
+		assertEquals("M1", actual.getKennung());
+		// new scenario with a new target object ...
+		actual = BeanMapper.of(Person.class, Mitglied.class).map(person);
+		assertNotSame(mitglied, actual);
+		assertEquals("Alex", actual.getName());
+		// new scenario with a record, primitive widening and boxing ...
+		kundeDaten = BeanMapper.of(Kunde.class, KundeDaten.class)
+			.map(new Kunde("Leo", 42, true));
+		assertEquals("Leo", kundeDaten.getName());
+		assertEquals(42L, kundeDaten.getAlter());
+		assertEquals(Boolean.TRUE, kundeDaten.getAktiv());
+		// new scenario with a collection that is copied ...
+		kundeDaten.setNotizen(new ArrayList<>(List.of("a")));
+		copy = BeanMapper.of(KundeDaten.class, KundeDaten.class).map(kundeDaten);
+		assertEquals(kundeDaten, copy);
+		assertNotSame(kundeDaten.getNotizen(), copy.getNotizen());
+		// new scenario with a null value of a boxed source field for a primitive target field ...
+		mitglied = new Mitglied();
+		mitglied.setMarried(true);
+		person = Person.builder().name("Alex").gender(Gender.MALE).married(null).build();
+		actual = BeanMapper.of(Person.class, Mitglied.class).map(person, mitglied);
+		assertEquals("Alex", actual.getName());
+		assertTrue(actual.isMarried());
+	}
+
+	/**
+	 * Test method for {@link BeanMapper#map(Object, Object)} with arrays, collections and
+	 * containers that can not be copied
+	 */
+	@Test
+	public void testMapContainers()
+	{
+		BeanMapper<Regal, Regal> beanMapper;
+		Regal source;
+		Regal actual;
+		Stapel stapel;
+
+		beanMapper = BeanMapper.of(Regal.class, Regal.class);
+		source = new Regal();
+		actual = new Regal();
+		actual.buecher = new ArrayList<>();
+		actual.nummern = new int[1];
+		assertSame(actual, beanMapper.map(source, actual));
+		assertNull(actual.buecher);
+		assertNull(actual.stapel);
+		assertNull(actual.nummern);
+		// new scenario with values ...
+		stapel = new Stapel("Eingang");
+		stapel.add("Ilias");
+		source.buecher = new ArrayList<>(List.of("Faust"));
+		source.stapel = stapel;
+		source.nummern = new int[] { 1, 2 };
+		actual = beanMapper.map(source, new Regal());
+		assertNotSame(source.buecher, actual.buecher);
+		assertEquals(source.buecher, actual.buecher);
+		assertSame(stapel, actual.stapel);
+		assertNotSame(source.nummern, actual.nummern);
+		assertArrayEquals(source.nummern, actual.nummern);
+		// new scenario with an immutable list ...
+		source.buecher = List.of("Faust");
+		actual = beanMapper.map(source, new Regal());
+		assertSame(source.buecher, actual.buecher);
+	}
+
+	/**
+	 * Test method for {@link BeanMapper#of(Class, Class, Map, Map)}
+	 */
+	@Test
+	public void testOfWithRenamesAndConverters()
+	{
+		Mitglied actual;
+		BeanMapper<Person, Mitglied> beanMapper;
+		Map<String, Function<String, ?>> converters;
+
+		converters = Map.of("name", String::toUpperCase, "about", String::length);
+		beanMapper = BeanMapper.of(Person.class, Mitglied.class, Map.of("nickname", "spitzname"),
+			converters);
+		assertNotSame(beanMapper, BeanMapper.of(Person.class, Mitglied.class));
+		actual = beanMapper.map(Person.builder().name("Alex").nickname("Al").about("abc")
+			.gender(Gender.MALE).build());
+		assertEquals("ALEX", actual.getName());
+		assertEquals("Al", actual.getSpitzname());
+		assertEquals(3, actual.getAbout());
+		assertEquals(Geschlecht.MALE, actual.getGender());
+		// new scenario with a renamed field of an incompatible type ...
+		assertThrows(IllegalArgumentException.class, () -> BeanMapper.of(Person.class,
+			Mitglied.class, Map.of("gender", "spitzname"), Map.of()));
+		// new scenario with a converter that returns null for a primitive target field ...
+		actual = BeanMapper.of(Person.class, Mitglied.class, Map.of(),
+			Map.of("about", (String about) -> null)).map(Person.builder().about("abc").gender(Gender.MALE).build());
+		assertEquals(0, actual.getAbout());
+		// new scenario with unknown rename and converter keys ...
+		assertThrows(IllegalArgumentException.class, () -> BeanMapper.of(Person.class,
+			Mitglied.class, Map.of("unbekannt", "spitzname"), Map.of()));
+		assertThrows(IllegalArgumentException.class, () -> BeanMapper.of(Person.class,
+			Mitglied.class, Map.of("nickname", "unbekannt"), Map.of()));
+		assertThrows(IllegalArgumentException.class, () -> BeanMapper.of(Person.class,
+			Mitglied.class, Map.of(), Map.of("unbekannt", (String value) -> value)));
+		assertThrows(IllegalArgumentException.class, () -> BeanMapper.of(Person.class,
+			Mitglied.class, Map.of(), Map.of("kennung", (String value) -> value)));
+	}
+}
@@ -0,0 +1,136 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Comparator;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link BeanView}
+ */
+class BeanViewTest
+{
+
+	/**
+	 * Test method for {@link BeanView#of(Class, Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		BeanView<BuchAnsicht> beanView;
+
+		beanView = BeanView.of(BuchAnsicht.class, Buch.class);
+		assertSame(beanView, BeanView.of(BuchAnsicht.class, Buch.class));
+		assertEquals(BuchAnsicht.class, beanView.getViewType());
+		assertEquals(Buch.class, beanView.getBeanType());
+		// new scenario with a class that is not an interface ...
+		assertThrows(IllegalArgumentException.class, () -> BeanView.of(Person.class, Buch.class));
+		// new scenario with an abstract method without a matching method or field ...
+		assertThrows(IllegalArgumentException.class,
+			() -> BeanView.of(Comparator.class, Buch.class));
+	}
+
+	/**
+	 * Test method for {@link BeanView#newView(Object)} and {@link BeanView#view(Class, Object)}
+	 */
+	@Test
+	public void testNewView()
+	{
+		BuchAnsicht buchAnsicht;
+		Buch buch;
+
+		buch = new Buch("Faust");
+		buchAnsicht = BeanView.of(BuchAnsicht.class, Buch.class).newView(buch);
+		assertTrue(buchAnsicht.getClass().isHidden());
+		assertEquals("Faust", buchAnsicht.getTitel());
+		assertEquals("FAUST", buchAnsicht.titelInGrossbuchstaben());
+		buchAnsicht.setSeiten(464);
+		assertEquals(464, buch.getSeiten());
+		assertEquals(464, buchAnsicht.getSeiten());
+		buchAnsicht.setAutor("Goethe");
+		assertEquals("Goethe", buch.getAutor());
+		assertEquals("Faust von Goethe", buchAnsicht.getBeschreibung());
+		assertNotSame(buchAnsicht, BeanView.view(BuchAnsicht.class, buch));
+		assertEquals("Goethe", BeanView.view(BuchAnsicht.class, buch).getAutor());
+		// new scenario with a bean of another class ...
+		assertThrows(IllegalArgumentException.class,
+			() -> BeanView.of(BuchAnsicht.class, Buch.class).newView("Faust"));
+	}
+
+	/**
+	 * Test method for {@link BeanView#newView(Object)} with wide and variable arity parameters
+	 */
+	@Test
+	public void testNewViewWithWideParameters()
+	{
+		Summierer summierer;
+
+		summierer = BeanView.view(Summierer.class, new Rechner());
+		assertEquals(5000000000L, summierer.summe(2000000000L, 3000000000L));
+		assertEquals(6.5d, summierer.summe(1.0d, 2.0d, 3.5d));
+		assertEquals(0.0d, summierer.summe());
+	}
+
+	/**
+	 * Test method for {@link BeanView#view(Class, Object)} with an interface of another class
+	 * loader
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testViewWithInterfaceOfOtherClassLoader() throws Exception
+	{
+		Class<Object> viewType;
+		Object view;
+		Buch buch;
+
+		URL location = BuchAnsicht.class.getProtectionDomain().getCodeSource().getLocation();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { location }, null))
+		{
+			viewType = (Class<Object>)classLoader.loadClass(BuchAnsicht.class.getName());
+			assertNotSame(BuchAnsicht.class, viewType);
+			buch = new Buch("Faust");
+			view = BeanView.view(viewType, buch);
+			assertTrue(viewType.isInstance(view));
+			assertEquals(viewType.getClassLoader(), view.getClass().getClassLoader());
+			assertEquals("Faust", viewType.getMethod("getTitel").invoke(view));
+			viewType.getMethod("setSeiten", int.class).invoke(view, 464);
+			assertEquals(464, buch.getSeiten());
+			viewType.getMethod("setAutor", String.class).invoke(view, "Goethe");
+			assertEquals("Faust von Goethe", viewType.getMethod("getBeschreibung").invoke(view));
+			assertEquals(view, view);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Member;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.annotation.TestTypeAnnotation;
+import io.github.astrapi69.test.object.annotation.classtype.AnnotatedTestClass;
+
+/**
+ * The unit test class for the class {@link ClassHeader}
+ */
+class ClassHeaderTest
+{
+
+	private static ClassHeader parse(final Class<?> cls) throws IOException
+	{
+		String resourceName = "/" + cls.getName().replace('.', '/') + ".class";
+		try (InputStream inputStream = cls.getResourceAsStream(resourceName))
+		{
+			return ClassHeader.parse(ByteBuffer.wrap(inputStream.readAllBytes()));
+		}
+	}
+
+	/**
+	 * Test method for {@link ClassHeader#parse(ByteBuffer)}
+	 */
+	@Test
+	public void testParse() throws IOException
+	{
+		ClassHeader actual;
+
+		actual = parse(Member.class);
+		assertEquals(Member.class.getName(), actual.getClassName());
+		assertEquals(Person.class.getName(), actual.getSuperclassName());
+		assertFalse(actual.isInterface());
+		assertFalse(actual.isAbstract());
+		// new scenario with an annotated class ...
+		actual = parse(AnnotatedTestClass.class);
+		assertTrue(actual.getAnnotationNames().contains(TestTypeAnnotation.class.getName()));
+		// new scenario with an annotation type ...
+		actual = parse(Spalte.class);
+		assertTrue(actual.isAnnotation());
+		assertTrue(actual.isInterface());
+		assertTrue(actual.isAbstract());
+		assertEquals(List.of("java.lang.annotation.Annotation"), actual.getInterfaceNames());
+		assertEquals(List.of(Zuordnung.class.getName(), "java.lang.annotation.Retention",
+			"java.lang.annotation.Target"), actual.getAnnotationNames());
+		// new scenario with the class object ...
+		actual = parse(Object.class);
+		assertNull(actual.getSuperclassName());
+	}
+
+	/**
+	 * Test method for {@link ClassHeader#parse(ByteBuffer)} with invalid class files
+	 */
+	@Test
+	public void testParseInvalidClassFile()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> ClassHeader.parse(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 })));
+		assertThrows(IllegalArgumentException.class, () -> ClassHeader
+			.parse(ByteBuffer.wrap(new byte[] { (byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE })));
+	}
+}
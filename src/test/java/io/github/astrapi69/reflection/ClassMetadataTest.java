@@ -0,0 +1,239 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Member;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.PremiumMember;
+
+/**
+ * The unit test class for the class {@link ClassMetadata}
+ */
+class ClassMetadataTest
+{
+
+	/**
+	 * Test method for {@link ClassMetadata#of(Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		ClassMetadata actual;
+
+		actual = ClassMetadata.of(Person.class);
+		assertNotNull(actual);
+		assertSame(Person.class, actual.getType());
+		assertSame(actual, ClassMetadata.of(Person.class));
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#getFields()} and
+	 * {@link ClassMetadata#getInstanceFields()}
+	 */
+	@Test
+	public void testGetFields()
+	{
+		List<String> actual;
+		ClassMetadata metadata;
+
+		metadata = ClassMetadata.of(PremiumMember.class);
+		actual = metadata.getFields().stream().map(FieldMetadata::getName)
+			.collect(Collectors.toList());
+		assertEquals(List.of(ReflectionExtensions.getAllDeclaredFieldNames(PremiumMember.class)),
+			actual);
+		actual = metadata.getInstanceFields().stream().map(FieldMetadata::getName)
+			.collect(Collectors.toList());
+		assertEquals(List.of("credits", "dateofbirth", "dateofMarriage", "about", "gender",
+			"married", "name", "nickname"), actual);
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#getPropertyAccessors()}
+	 */
+	@Test
+	public void testGetPropertyAccessors()
+	{
+		List<PropertyAccessor> actual;
+
+		actual = ClassMetadata.of(Licht.class).getPropertyAccessors();
+		assertEquals(1, actual.size());
+		assertEquals("an", actual.get(0).getName());
+		assertNotNull(actual.get(0).getReadMethod());
+		assertTrue(actual.get(0).isWritable());
+		assertSame(actual, ClassMetadata.of(Licht.class).getPropertyAccessors());
+		assertFalse(actual.get(0).getField().isStatic());
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#forEachField(FieldVisitor)} and
+	 * {@link ClassMetadata#forEachInstanceField(FieldVisitor)}
+	 */
+	@Test
+	public void testForEachField()
+	{
+		List<String> actual;
+		ClassMetadata metadata;
+
+		metadata = ClassMetadata.of(PremiumMember.class);
+		actual = new ArrayList<>();
+		metadata.forEachField(field -> actual.add(field.getName()));
+		assertEquals(metadata.getFields().size(), actual.size());
+		actual.clear();
+		metadata.forEachInstanceField(field -> actual.add(field.getName()));
+		assertEquals(8, actual.size());
+		assertEquals("credits", actual.get(0));
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#forEachFieldValue(Object, FieldValueVisitor)}
+	 */
+	@Test
+	public void testForEachFieldValue()
+	{
+		Map<String, Object> actual;
+
+		actual = new HashMap<>();
+		ClassMetadata.of(Person.class).forEachFieldValue(Person.builder().name("Alex").build(),
+			(field, value) -> actual.put(field.getName(), value));
+		assertEquals(5, actual.size());
+		assertEquals("Alex", actual.get("name"));
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#getSuperclassMetadata()}
+	 */
+	@Test
+	public void testGetSuperclassMetadata()
+	{
+		ClassMetadata expected;
+		ClassMetadata actual;
+
+		actual = ClassMetadata.of(PremiumMember.class).getSuperclassMetadata();
+		expected = ClassMetadata.of(Member.class);
+		assertSame(expected, actual);
+		// new scenario: the superclass metadata is shared
+		actual = ClassMetadata.of(Member.class).getSuperclassMetadata();
+		expected = ClassMetadata.of(Person.class);
+		assertSame(expected, actual);
+		// new scenario: no superclass other than Object
+		actual = ClassMetadata.of(Person.class).getSuperclassMetadata();
+		assertNull(actual);
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#getDeclaredFields()}
+	 */
+	@Test
+	public void testGetDeclaredFields()
+	{
+		List<String> expected;
+		List<String> actual;
+
+		actual = ClassMetadata.of(Member.class).getDeclaredFields().stream()
+			.map(FieldMetadata::getName).collect(Collectors.toList());
+		assertEquals(3, actual.size());
+		assertTrue(actual.contains("serialVersionUID"));
+		assertTrue(actual.contains("dateofbirth"));
+		assertTrue(actual.contains("dateofMarriage"));
+		// new scenario: declared fields are a prefix of all fields
+		expected = actual;
+		actual = ClassMetadata.of(Member.class).getFields().stream().limit(3)
+			.map(FieldMetadata::getName).collect(Collectors.toList());
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#findField(String)}
+	 */
+	@Test
+	public void testFindField()
+	{
+		FieldMetadata actual;
+
+		actual = ClassMetadata.of(PremiumMember.class).findField("name");
+		assertNotNull(actual);
+		assertEquals(Person.class, actual.getDeclaringClass());
+		// new scenario: field of the class itself
+		actual = ClassMetadata.of(PremiumMember.class).findField("credits");
+		assertNotNull(actual);
+		assertEquals(PremiumMember.class, actual.getDeclaringClass());
+		// new scenario: field from the middle of the hierarchy
+		actual = ClassMetadata.of(PremiumMember.class).findField("dateofbirth");
+		assertNotNull(actual);
+		assertEquals(Member.class, actual.getDeclaringClass());
+		// new scenario: unknown field
+		actual = ClassMetadata.of(PremiumMember.class).findField("foo");
+		assertNull(actual);
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#getFields(java.util.function.Predicate)}
+	 */
+	@Test
+	public void testGetFieldsWithSelector()
+	{
+		List<FieldMetadata> actual;
+
+		actual = ClassMetadata.of(PremiumMember.class)
+			.getFields(FieldMetadata.withModifiers(FieldModifier.STATIC));
+		assertEquals(3, actual.size());
+		// new scenario: exclude static fields
+		actual = ClassMetadata.of(PremiumMember.class)
+			.getFields(FieldMetadata.withoutModifiers(FieldModifier.STATIC));
+		assertEquals(ClassMetadata.of(PremiumMember.class).getInstanceFields(), actual);
+	}
+
+	/**
+	 * Test method for {@link ClassMetadata#getAccessorNames()}
+	 */
+	@Test
+	public void testGetAccessorNames()
+	{
+		Map<String, AccessorNames> actual;
+
+		actual = ClassMetadata.of(PremiumMember.class).getAccessorNames();
+		assertSame(actual, ClassMetadata.of(PremiumMember.class).getAccessorNames());
+		assertEquals("getCredits", actual.get("credits").getGetterName());
+		assertEquals("setName", actual.get("name").getSetterName());
+		assertEquals("isMarried", actual.get("married").getIsName());
+		assertSame(ClassMetadata.of(Person.class).findField("name").getAccessorNames(),
+			actual.get("name"));
+	}
+}
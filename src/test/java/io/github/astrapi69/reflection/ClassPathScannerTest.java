@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Member;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.PremiumMember;
+import io.github.astrapi69.test.object.annotation.TestTypeAnnotation;
+import io.github.astrapi69.test.object.annotation.classtype.AnnotatedTestClass;
+
+/**
+ * The unit test class for the class {@link ClassPathScanner}
+ */
+class ClassPathScannerTest
+{
+
+	/**
+	 * Test method for {@link ClassPathScanner#getClassHeaders()} with a directory
+	 */
+	@Test
+	public void testGetClassHeaders() throws IOException
+	{
+		List<ClassHeader> actual;
+		ClassPathScanner classPathScanner;
+		Optional<ClassHeader> header;
+
+		classPathScanner = ClassPathScanner.of(getClass().getClassLoader(),
+			"io.github.astrapi69.reflection");
+		actual = classPathScanner.getClassHeaders();
+		assertSame(actual.get(0), classPathScanner.getClassHeaders().get(0));
+		header = actual.stream()
+			.filter(classHeader -> classHeader.getClassName().equals(Buch.class.getName()))
+			.findFirst();
+		assertTrue(header.isPresent());
+		assertEquals(Object.class.getName(), header.get().getSuperclassName());
+		assertTrue(header.get().getInterfaceNames().isEmpty());
+		header = actual.stream().filter(
+			classHeader -> classHeader.getClassName().equals(Spalte.class.getName()))
+			.findFirst();
+		assertTrue(header.isPresent());
+		assertTrue(header.get().isAnnotation());
+		assertTrue(header.get().isInterface());
+		assertEquals(List.of(Zuordnung.class.getName(), "java.lang.annotation.Retention",
+			"java.lang.annotation.Target"), header.get().getAnnotationNames());
+	}
+
+	/**
+	 * Test method for {@link ClassPathScanner#findSubTypesOf(Class)} with a jar file
+	 */
+	@Test
+	public void testFindSubTypesOf() throws IOException, ClassNotFoundException
+	{
+		List<Class<? extends Person>> actual;
+		ClassPathScanner classPathScanner;
+
+		classPathScanner = ClassPathScanner.of("io.github.astrapi69.test.object");
+		actual = classPathScanner.findSubTypesOf(Person.class);
+		assertTrue(actual.contains(Member.class));
+		assertTrue(actual.contains(PremiumMember.class));
+		assertFalse(actual.contains(Person.class));
+		// new scenario with an interface outside of the scanned packages ...
+		assertTrue(classPathScanner.findSubTypesOf(Comparable.class).stream()
+			.allMatch(Comparable.class::isAssignableFrom));
+	}
+
+	/**
+	 * Test method for {@link ClassPathScanner#findAnnotatedWith(Class)}
+	 */
+	@Test
+	public void testFindAnnotatedWith() throws IOException, ClassNotFoundException
+	{
+		List<Class<?>> actual;
+
+		actual = ClassPathScanner.of("io.github.astrapi69.test.object")
+			.findAnnotatedWith(TestTypeAnnotation.class);
+		assertEquals(List.of(AnnotatedTestClass.class), actual);
+		// new scenario with a meta-annotation ...
+		actual = ClassPathScanner
+			.of(getClass().getClassLoader(), "io.github.astrapi69.reflection")
+			.findAnnotatedWith(Zuordnung.class);
+		assertEquals(List.of(Spalte.class), actual);
+	}
+
+	/**
+	 * Test method for {@link ClassPathScanner#loadClasses(java.util.function.Predicate)}
+	 */
+	@Test
+	public void testLoadClasses() throws IOException, ClassNotFoundException
+	{
+		List<Class<?>> actual;
+
+		actual = ClassPathScanner.of(getClass().getClassLoader(), "io.github.astrapi69.reflection")
+			.loadClasses(header -> header.getClassName().equals(Buch.class.getName()));
+		assertEquals(List.of(Buch.class), actual);
+		// new scenario with a package that does not exist ...
+		actual = ClassPathScanner.of("io.github.astrapi69.notexisting")
+			.loadClasses(header -> true);
+		assertTrue(actual.isEmpty());
+	}
+}
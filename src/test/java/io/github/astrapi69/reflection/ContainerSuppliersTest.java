@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link ContainerSuppliers}
+ */
+class ContainerSuppliersTest
+{
+
+	/**
+	 * Test method for {@link ContainerSuppliers#newInstance(Object)}
+	 */
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void testNewInstance()
+	{
+		Object actual;
+
+		actual = ContainerSuppliers.newInstance(new ConcurrentHashMap<String, String>());
+		assertEquals(ConcurrentHashMap.class, actual.getClass());
+		// new scenario: ArrayDeque
+		actual = ContainerSuppliers.newInstance(new ArrayDeque<>(ListFactory.newArrayList(1, 2)));
+		assertEquals(ArrayDeque.class, actual.getClass());
+		assertTrue(((ArrayDeque<?>)actual).isEmpty());
+		// new scenario: TreeSet with comparator
+		TreeSet<String> treeSet = new TreeSet<>(Comparator.reverseOrder());
+		treeSet.add("a");
+		TreeSet<String> treeSetCopy = ContainerSuppliers.newInstance(treeSet);
+		assertTrue(treeSetCopy.isEmpty());
+		assertSame(treeSet.comparator(), treeSetCopy.comparator());
+		// new scenario: EnumMap keeps the key type
+		EnumMap<Gender, String> enumMap = new EnumMap<>(Gender.class);
+		enumMap.put(Gender.MALE, "m");
+		EnumMap<Gender, String> enumMapCopy = ContainerSuppliers.newInstance(enumMap);
+		assertTrue(enumMapCopy.isEmpty());
+		assertNotSame(enumMap, enumMapCopy);
+		enumMapCopy.put(Gender.FEMALE, "f");
+		assertThrows(ClassCastException.class, () -> ((Map)enumMapCopy).put("foo", "bar"));
+		// new scenario: EnumSet keeps the element type
+		EnumSet<Gender> enumSet = EnumSet.of(Gender.MALE);
+		EnumSet<Gender> enumSetCopy = ContainerSuppliers.newInstance(enumSet);
+		assertTrue(enumSetCopy.isEmpty());
+		assertEquals(EnumSet.allOf(Gender.class), EnumSet.complementOf(enumSetCopy));
+		// new scenario: unmodifiable collections fall back to their interface
+		List<Integer> list = ContainerSuppliers.newInstance(Collections.unmodifiableList(
+			ListFactory.newArrayList(1)));
+		list.add(1);
+		Set<Integer> set = ContainerSuppliers.newInstance(Collections.singleton(1));
+		set.add(1);
+		// new scenario: no container
+		assertThrows(IllegalArgumentException.class, () -> ContainerSuppliers.newInstance("foo"));
+	}
+
+	/**
+	 * Test method for {@link ContainerSuppliers#register(Class, java.util.function.IntFunction)}
+	 */
+	@Test
+	public void testRegister()
+	{
+		int[] expectedSize = new int[1];
+		ArrayDeque<Integer> source = new ArrayDeque<>(ListFactory.newArrayList(1, 2, 3));
+
+		ContainerSuppliers.register(ArrayDeque.class, size -> {
+			expectedSize[0] = size;
+			return new ArrayDeque<>(size);
+		});
+		try
+		{
+			ContainerSuppliers.newInstance(source);
+			assertEquals(3, expectedSize[0]);
+		}
+		finally
+		{
+			ContainerSuppliers.register(ArrayDeque.class, ArrayDeque::new);
+		}
+	}
+
+	/**
+	 * Test method for {@link ContainerSuppliers#unregister(Class)} with a container that falls back
+	 * to its interface
+	 */
+	@Test
+	public void testUnregisterDoesNotAffectFallback()
+	{
+		Object actual;
+
+		ContainerSuppliers.unregister(HashMap.class);
+		ContainerSuppliers.unregister(ArrayList.class);
+		try
+		{
+			actual = ContainerSuppliers.newInstance(new Verzeichnis(1));
+			assertEquals(HashMap.class, actual.getClass());
+			actual = ContainerSuppliers.newInstance(Collections.unmodifiableList(
+				ListFactory.newArrayList(1)));
+			assertEquals(ArrayList.class, actual.getClass());
+			// new scenario: the unregistered class itself is created over its default constructor
+			actual = ContainerSuppliers.newInstance(new HashMap<>());
+			assertEquals(HashMap.class, actual.getClass());
+		}
+		finally
+		{
+			ContainerSuppliers.register(HashMap.class,
+				size -> new HashMap<>(InstanceFactory.hashCapacity(size)));
+			ContainerSuppliers.register(ArrayList.class, ArrayList::new);
+		}
+	}
+
+	/**
+	 * Test that a registered supplier does not prevent the collection of the class loader of the
+	 * container class
+	 */
+	@Test
+	public void testRegisterDoesNotPinClassLoader() throws Exception
+	{
+		WeakReference<ClassLoader> classLoaderReference = registerFromIsolatedClassLoader();
+		for (int i = 0; classLoaderReference.get() != null && i < 100; i++)
+		{
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertNull(classLoaderReference.get());
+	}
+
+	@SuppressWarnings("unchecked")
+	private WeakReference<ClassLoader> registerFromIsolatedClassLoader() throws Exception
+	{
+		URL location = Licht.class.getProtectionDomain().getCodeSource().getLocation();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { location }, null))
+		{
+			Class<Object> isolatedClass = (Class<Object>)classLoader
+				.loadClass(Licht.class.getName());
+			assertNotSame(Licht.class, isolatedClass);
+			ContainerSuppliers.register(isolatedClass, size -> new Object());
+			return new WeakReference<>(classLoader);
+		}
+	}
+
+	static class Verzeichnis extends HashMap<String, String>
+	{
+		private static final long serialVersionUID = 1L;
+
+		Verzeichnis(final int initialCapacity)
+		{
+			super(initialCapacity);
+		}
+	}
+}
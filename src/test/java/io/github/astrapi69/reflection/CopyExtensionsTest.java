@@ -0,0 +1,226 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.collection.set.SetFactory;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.PremiumMember;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link CopyExtensions}
+ */
+class CopyExtensionsTest
+{
+
+	/**
+	 * Test method for {@link CopyExtensions} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(CopyExtensions.class);
+	}
+
+	/**
+	 * Test method for {@link CopyExtensions#copyCollection(java.util.Collection)}
+	 */
+	@Test
+	public void testCopyCollection()
+	{
+		TreeSet<String> expected;
+		TreeSet<String> actual;
+
+		expected = new TreeSet<>(Comparator.reverseOrder());
+		expected.add("a");
+		expected.add("b");
+		actual = CopyExtensions.copyCollection(expected);
+		assertEquals(expected, actual);
+		assertNotSame(expected, actual);
+		assertSame(expected.comparator(), actual.comparator());
+		assertEquals("b", actual.first());
+		// new scenario: null
+		assertNull(CopyExtensions.copyCollection(null));
+	}
+
+	/**
+	 * Test method for {@link CopyExtensions#copyMap(Map)}
+	 */
+	@Test
+	public void testCopyMap()
+	{
+		Map<String, Person> expected;
+		Map<String, Person> actual;
+
+		expected = new HashMap<>();
+		expected.put("alex", Person.builder().name("Alex").build());
+		actual = CopyExtensions.copyMap(expected);
+		assertEquals(expected, actual);
+		assertNotSame(expected, actual);
+		assertSame(expected.get("alex"), actual.get("alex"));
+	}
+
+	/**
+	 * Test method for {@link CopyExtensions#deepCopy(Object)}
+	 */
+	@Test
+	public void testDeepCopy()
+	{
+		PremiumMember expected;
+		PremiumMember actual;
+
+		expected = PremiumMember.buildPremiumMember().name("Alex").gender(Gender.MALE)
+			.dateofbirth(new Date(0L)).credits("100").build();
+		actual = CopyExtensions.deepCopy(expected);
+		assertEquals(expected, actual);
+		assertNotSame(expected, actual);
+		assertNotSame(expected.getDateofbirth(), actual.getDateofbirth());
+		assertSame(expected.getGender(), actual.getGender());
+		// new scenario: null
+		assertNull(CopyExtensions.deepCopy(null));
+		// new scenario: immutable objects are shared
+		String text = "foo";
+		assertSame(text, CopyExtensions.deepCopy(text));
+	}
+
+	/**
+	 * Test method for {@link CopyExtensions#deepCopy(Object)} with shared references and cycles
+	 */
+	@Test
+	public void testDeepCopyWithCycles()
+	{
+		List<Object> expected;
+		List<Object> actual;
+		Person person;
+
+		person = Person.builder().name("Alex").build();
+		expected = new ArrayList<>();
+		expected.add(expected);
+		expected.add(person);
+		expected.add(person);
+		actual = CopyExtensions.deepCopy(expected);
+		assertNotSame(expected, actual);
+		assertEquals(3, actual.size());
+		assertSame(actual, actual.get(0));
+		assertNotSame(person, actual.get(1));
+		assertEquals(person, actual.get(1));
+		assertSame(actual.get(1), actual.get(2));
+	}
+
+	/**
+	 * Test method for {@link CopyExtensions#deepCopy(Object)} with a large list that is copied in
+	 * parallel
+	 */
+	@Test
+	public void testDeepCopyLargeList()
+	{
+		List<Person> expected;
+		List<Person> actual;
+		Person shared;
+
+		shared = Person.builder().name("shared").build();
+		expected = new ArrayList<>();
+		for (int i = 0; i < CopyExtensions.PARALLEL_THRESHOLD * 4; i++)
+		{
+			expected.add(i % 2 == 0 ? shared : Person.builder().name("p" + i).build());
+		}
+		actual = CopyExtensions.deepCopy(expected);
+		assertEquals(expected, actual);
+		for (int i = 0; i < expected.size(); i++)
+		{
+			assertNotSame(expected.get(i), actual.get(i));
+		}
+		assertSame(actual.get(0), actual.get(2));
+		// new scenario: map with a mutable value
+		List<Integer> numbers = ListFactory.newArrayList(1, 2);
+		Map<String, Object> map = new HashMap<>();
+		map.put("numbers", numbers);
+		Map<String, Object> mapCopy = CopyExtensions.deepCopy(map);
+		assertEquals(map, mapCopy);
+		assertNotSame(numbers, mapCopy.get("numbers"));
+	}
+
+	/**
+	 * Test method for {@link CopyExtensions#deepCopy(Object)} with a large list whose elements
+	 * contain sets with a shared element
+	 */
+	@Test
+	public void testDeepCopyLargeListWithSets()
+	{
+		List<Gruppe> expected;
+		List<Gruppe> actual;
+		Stichwort shared;
+		Stichwort own;
+		Gruppe gruppe;
+		Stichwort sharedCopy;
+
+		shared = new Stichwort();
+		shared.name = "shared";
+		shared.verlauf = new ArrayList<>();
+		for (int i = 0; i < CopyExtensions.PARALLEL_THRESHOLD * 8; i++)
+		{
+			shared.verlauf.add("v" + i);
+		}
+		expected = new ArrayList<>();
+		for (int i = 0; i < CopyExtensions.PARALLEL_THRESHOLD * 2; i++)
+		{
+			own = new Stichwort();
+			own.name = "s" + i;
+			gruppe = new Gruppe();
+			gruppe.stichworte = SetFactory.newHashSet(shared, own);
+			expected.add(gruppe);
+		}
+		actual = CopyExtensions.deepCopy(expected);
+		sharedCopy = actual.get(0).stichworte.stream()
+			.filter(stichwort -> "shared".equals(stichwort.name)).findFirst().orElse(null);
+		assertNotNull(sharedCopy);
+		assertNotSame(shared, sharedCopy);
+		for (Gruppe copy : actual)
+		{
+			assertEquals(2, copy.stichworte.size());
+			assertTrue(copy.stichworte.contains(sharedCopy));
+		}
+	}
+}
@@ -0,0 +1,307 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.test.object.A;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link DeltaPatches}
+ */
+class DeltaPatchesTest
+{
+
+	/**
+	 * Test method for {@link DeltaPatches} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(DeltaPatches.class);
+	}
+
+	/**
+	 * Test method for {@link DeltaPatches#diff(Object, Object)} and
+	 * {@link DeltaPatches#apply(byte[], Object)}
+	 */
+	@Test
+	public void testDiffAndApply()
+	{
+		Messwert previous;
+		Messwert current;
+		Messwert actual;
+		byte[] patch;
+
+		previous = new Messwert();
+		current = new Messwert();
+		current.setGueltig(true);
+		current.setStufe((byte)-1);
+		current.setEinheit(Character.MAX_VALUE);
+		current.setKanal(Short.MIN_VALUE);
+		current.setAnzahl(-7);
+		current.setZeitpunkt(Long.MAX_VALUE);
+		current.setFaktor(-0.5f);
+		current.setWert(Double.NEGATIVE_INFINITY);
+		current.setBezeichnung("Temperatur");
+		patch = DeltaPatches.diff(previous, current);
+		actual = new Messwert();
+		assertSame(actual, DeltaPatches.apply(patch, actual));
+		assertEquals(current, actual);
+		// new scenario without changes ...
+		patch = DeltaPatches.diff(current, actual);
+		// the fingerprint and a bitmap of two bytes for nine fields
+		assertEquals(6, patch.length);
+		assertEquals(current, DeltaPatches.apply(patch, actual));
+		// new scenario with one changed field ...
+		actual.setAnzahl(8);
+		patch = DeltaPatches.diff(Snapshot.of(current), actual);
+		assertEquals(10, patch.length);
+		assertEquals(8, DeltaPatches.apply(patch, current).getAnzahl());
+		// new scenario with a string that is longer than 65535 bytes ...
+		current.setBezeichnung("ä".repeat(70_000));
+		patch = DeltaPatches.diff(previous, current);
+		actual = DeltaPatches.apply(patch, new Messwert());
+		assertEquals(current.getBezeichnung(), actual.getBezeichnung());
+	}
+
+	/**
+	 * Test method for {@link DeltaPatches#apply(byte[], Object)} with references
+	 */
+	@Test
+	public void testApplyWithReferences()
+	{
+		Person previous;
+		Person current;
+		Person actual;
+		Kiste previousKiste;
+		Kiste currentKiste;
+		Kiste actualKiste;
+		byte[] patch;
+
+		previous = Person.builder().name("Alex").gender(Gender.FEMALE).married(false).about(null)
+			.build();
+		current = Person.builder().name("Alex").gender(Gender.MALE).married(true).about(null)
+			.build();
+		actual = DeltaPatches.apply(DeltaPatches.diff(previous, current),
+			Person.builder().name("Alex").gender(Gender.FEMALE).married(false).about("x")
+				.build());
+		assertEquals(Gender.MALE, actual.getGender());
+		assertEquals(Boolean.TRUE, actual.getMarried());
+		assertEquals("x", actual.getAbout());
+		// new scenario with a serialized value ...
+		previousKiste = new Kiste();
+		currentKiste = new Kiste();
+		currentKiste.inhalt = new BigDecimal("1.25");
+		currentKiste.zahlen = new int[] { 1, 2 };
+		actualKiste = DeltaPatches.apply(DeltaPatches.diff(previousKiste, currentKiste),
+			new Kiste());
+		assertEquals(new BigDecimal("1.25"), actualKiste.inhalt);
+		assertTrue(Arrays.equals(new int[] { 1, 2 }, actualKiste.zahlen));
+		// new scenario with a value that can not be encoded ...
+		currentKiste.inhalt = new A();
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.diff(previousKiste, currentKiste));
+		// new scenario with a serialized class that is not allowed ...
+		currentKiste.inhalt = new AtomicInteger(1);
+		currentKiste.zahlen = null;
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.diff(previousKiste, currentKiste));
+		// new scenario with a patch that contains a serialized class that is not allowed ...
+		currentKiste.inhalt = BigDecimal.ONE;
+		patch = replaceSerializedValue(DeltaPatches.diff(previousKiste, currentKiste),
+			new AtomicInteger(1));
+		actualKiste = new Kiste();
+		Kiste target = actualKiste;
+		assertThrows(IllegalArgumentException.class, () -> DeltaPatches.apply(patch, target));
+		assertNull(actualKiste.inhalt);
+	}
+
+	/**
+	 * Test method for {@link DeltaPatches#diff(Object, Object)} and
+	 * {@link DeltaPatches#apply(byte[], Object)} with immutable collections of the jdk and nested
+	 * custom types
+	 */
+	@Test
+	public void testDiffAndApplyWithSerializedValues()
+	{
+		Kiste previous;
+		Kiste current;
+		Kiste actual;
+
+		previous = new Kiste();
+		current = new Kiste();
+		current.inhalt = List.of("x");
+		current.namen = Collections.unmodifiableList(new ArrayList<>(List.of("a", "b")));
+		actual = DeltaPatches.apply(DeltaPatches.diff(previous, current), new Kiste());
+		assertEquals(List.of("x"), actual.inhalt);
+		assertThrows(UnsupportedOperationException.class, () -> actual.namen.add("c"));
+		assertEquals(List.of("a", "b"), actual.namen);
+		// new scenario with an immutable map ...
+		current.inhalt = Map.of("k", 1);
+		current.namen = List.of();
+		DeltaPatches.apply(DeltaPatches.diff(previous, current), actual);
+		assertEquals(Map.of("k", 1), actual.inhalt);
+		assertEquals(List.of(), actual.namen);
+		// new scenario with a custom type as declared field type ...
+		current.deckel = new Deckel();
+		DeltaPatches.apply(DeltaPatches.diff(previous, current), actual);
+		assertNull(actual.deckel.etikett);
+		// new scenario with a nested custom type ...
+		current.deckel.etikett = new Etikett();
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.diff(previous, current));
+		// new scenario with a custom type in a field of type object ...
+		current.deckel = null;
+		current.inhalt = new Etikett();
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.diff(previous, current));
+	}
+
+	/**
+	 * Test method for {@link DeltaPatches#apply(byte[], Object)} with invalid patches
+	 */
+	@Test
+	public void testApplyInvalidPatch()
+	{
+		byte[] patch;
+
+		patch = DeltaPatches.diff(new Messwert(), new Messwert());
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.apply(patch, new Mitglied()));
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.apply(Arrays.copyOf(patch, 5), new Messwert()));
+		// new scenario with trailing bytes ...
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.apply(Arrays.copyOf(patch, patch.length + 1), new Messwert()));
+	}
+
+	/**
+	 * Test method for {@link DeltaPatches#apply(byte[], Object)} with corrupted values
+	 */
+	@Test
+	public void testApplyCorruptedValue()
+	{
+		Messwert current;
+		Messwert actual;
+		byte[] patch;
+		byte[] corrupted;
+
+		current = new Messwert();
+		current.setBezeichnung("");
+		patch = DeltaPatches.diff(new Messwert(), current);
+		// the fingerprint, the bitmap, the type tag and the length of the string
+		assertEquals(11, patch.length);
+		// new scenario with a negative length ...
+		corrupted = patch.clone();
+		corrupted[7] = (byte)0x80;
+		actual = new Messwert();
+		byte[] negativeLength = corrupted;
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.apply(negativeLength, new Messwert()));
+		// new scenario with a length greater than the patch ...
+		corrupted = patch.clone();
+		corrupted[7] = (byte)0x7f;
+		byte[] hugeLength = corrupted;
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.apply(hugeLength, new Messwert()));
+		// new scenario with an integer for the string field ...
+		corrupted = patch.clone();
+		corrupted[6] = 4;
+		byte[] wrongType = corrupted;
+		assertThrows(IllegalArgumentException.class,
+			() -> DeltaPatches.apply(wrongType, actual));
+		assertNull(actual.getBezeichnung());
+	}
+
+	/**
+	 * Replaces the serialized value at the end of the given patch with the given value
+	 */
+	private static byte[] replaceSerializedValue(final byte[] patch, final Object value)
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes))
+		{
+			objectOutput.writeObject(value);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		// the fingerprint, the bitmap and the type tag
+		ByteBuffer buffer = ByteBuffer.allocate(10 + bytes.size());
+		buffer.put(patch, 0, 6).putInt(bytes.size()).put(bytes.toByteArray());
+		return buffer.array();
+	}
+
+	static class Kiste
+	{
+		Object inhalt;
+
+		int[] zahlen;
+
+		List<String> namen;
+
+		Deckel deckel;
+	}
+
+	static class Deckel implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		Etikett etikett;
+	}
+
+	static class Etikett implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		String text = "Kiste";
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+/**
+ * The unit test class for the class {@link DirtyChecker}
+ */
+class DirtyCheckerTest
+{
+
+	/**
+	 * Test method for {@link DirtyChecker} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(DirtyChecker.class);
+	}
+
+	/**
+	 * Test method for {@link DirtyChecker#isDirty(Snapshot, Object)}
+	 */
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void testIsDirty()
+	{
+		Messwert messwert;
+		Snapshot<Messwert> snapshot;
+
+		messwert = new Messwert();
+		messwert.setWert(Double.NaN);
+		messwert.setBezeichnung("Druck");
+		snapshot = Snapshot.of(messwert);
+		assertFalse(DirtyChecker.isDirty(snapshot, messwert));
+		// new scenario with an equal but not identical reference ...
+		messwert.setBezeichnung(new String("Druck"));
+		assertFalse(DirtyChecker.isDirty(snapshot, messwert));
+		// new scenario with a changed primitive ...
+		messwert.setFaktor(1.0f);
+		assertTrue(DirtyChecker.isDirty(snapshot, messwert));
+		// new scenario with another class ...
+		assertThrows(IllegalArgumentException.class,
+			() -> DirtyChecker.isDirty((Snapshot)snapshot, new Mitglied()));
+	}
+
+	/**
+	 * Test method for {@link DirtyChecker#getDirtyFields(Snapshot, Object)}
+	 */
+	@Test
+	public void testGetDirtyFields()
+	{
+		List<FieldMetadata> actual;
+		Messwert messwert;
+		Snapshot<Messwert> snapshot;
+
+		messwert = new Messwert();
+		snapshot = Snapshot.of(messwert);
+		actual = DirtyChecker.getDirtyFields(snapshot, messwert);
+		assertTrue(actual.isEmpty());
+		// new scenario with changed fields ...
+		messwert.setAnzahl(3);
+		messwert.setGueltig(true);
+		messwert.setBezeichnung("Druck");
+		actual = DirtyChecker.getDirtyFields(snapshot, messwert);
+		assertEquals(3, actual.size());
+		assertEquals("gueltig", actual.get(0).getName());
+		assertEquals("anzahl", actual.get(1).getName());
+		assertEquals("bezeichnung", actual.get(2).getName());
+	}
+
+	/**
+	 * Test method for {@link DirtyChecker#getDirtyFields(Map)}
+	 */
+	@Test
+	public void testGetDirtyFieldsOfMap()
+	{
+		Map<Messwert, List<FieldMetadata>> actual;
+		Map<Messwert, Snapshot<Messwert>> snapshots;
+		Messwert messwert;
+
+		for (int size : new int[] { 10, DirtyChecker.PARALLEL_THRESHOLD * 2 })
+		{
+			snapshots = new IdentityHashMap<>();
+			for (int i = 0; i < size; i++)
+			{
+				messwert = new Messwert();
+				messwert.setAnzahl(i);
+				snapshots.put(messwert, Snapshot.of(messwert));
+			}
+			for (Messwert each : snapshots.keySet())
+			{
+				if (each.getAnzahl() % 2 == 0)
+				{
+					each.setZeitpunkt(1L);
+				}
+			}
+			actual = DirtyChecker.getDirtyFields(snapshots);
+			assertEquals(size / 2, actual.size());
+			for (Map.Entry<Messwert, List<FieldMetadata>> entry : actual.entrySet())
+			{
+				assertEquals(0, entry.getKey().getAnzahl() % 2);
+				assertEquals("zeitpunkt", entry.getValue().get(0).getName());
+			}
+		}
+		assertTrue(DirtyChecker.getDirtyFields(new HashMap<Messwert, Snapshot<Messwert>>())
+			.isEmpty());
+	}
+}
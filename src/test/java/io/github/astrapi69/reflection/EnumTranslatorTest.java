@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.map.MapFactory;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link EnumTranslator}
+ */
+class EnumTranslatorTest
+{
+
+	/**
+	 * Test method for {@link EnumTranslator#of(Class, Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		EnumTranslator<Gender, Geschlecht> translator;
+
+		translator = EnumTranslator.of(Gender.class, Geschlecht.class);
+		assertSame(translator, EnumTranslator.of(Gender.class, Geschlecht.class));
+		assertEquals(Gender.class, translator.getSourceType());
+		assertEquals(Geschlecht.class, translator.getTargetType());
+		assertEquals(Geschlecht.MALE, translator.translate(Gender.MALE));
+		assertEquals(Geschlecht.FEMALE, translator.translate(Gender.FEMALE));
+		assertNull(translator.translate(null));
+		// new scenario: no constant with the same name
+		assertThrows(IllegalArgumentException.class,
+			() -> EnumTranslator.of(Gender.class, Geschlecht.class).translate(Gender.UNDEFINED));
+		// new scenario: same enum type
+		assertSame(Gender.UNDEFINED,
+			EnumTranslator.of(Gender.class, Gender.class).translate(Gender.UNDEFINED));
+	}
+
+	/**
+	 * Test method for {@link EnumTranslator#of(Class, Class, Map)}
+	 */
+	@Test
+	public void testOfWithRenames()
+	{
+		EnumTranslator<Gender, Geschlecht> translator;
+		Map<String, String> renames;
+
+		renames = MapFactory.newHashMap();
+		renames.put("UNDEFINED", "UNKNOWN");
+		translator = EnumTranslator.of(Gender.class, Geschlecht.class, renames);
+		assertEquals(Geschlecht.UNKNOWN, translator.translate(Gender.UNDEFINED));
+		assertEquals(Geschlecht.MALE, translator.translate(Gender.MALE));
+	}
+
+	/**
+	 * Test method for {@link EnumTranslator#translateValue(Enum, Class)}
+	 */
+	@Test
+	public void testTranslateValue()
+	{
+		Object expected;
+		Object actual;
+
+		actual = EnumTranslator.translateValue(Geschlecht.FEMALE, Gender.class);
+		expected = Gender.FEMALE;
+		assertSame(expected, actual);
+		// new scenario: the target type is not an enum
+		assertThrows(IllegalArgumentException.class,
+			() -> EnumTranslator.translateValue(Geschlecht.FEMALE, String.class));
+	}
+}
@@ -0,0 +1,59 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the enum {@link FieldKind}
+ */
+class FieldKindTest
+{
+
+	/**
+	 * Test method for {@link FieldKind#of(Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		for (FieldKind kind : FieldKind.values())
+		{
+			if (kind.isPrimitive())
+			{
+				assertEquals(kind, FieldKind.of(kind.getType()));
+			}
+		}
+		assertEquals(FieldKind.REFERENCE, FieldKind.of(Integer.class));
+		assertEquals(FieldKind.REFERENCE, FieldKind.of(int[].class));
+		assertFalse(FieldKind.REFERENCE.isPrimitive());
+		assertTrue(FieldKind.INT.isPrimitive());
+		assertThrows(IllegalArgumentException.class, () -> FieldKind.of(void.class));
+	}
+}
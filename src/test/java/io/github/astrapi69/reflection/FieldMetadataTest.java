@@ -0,0 +1,219 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.Television;
+
+/**
+ * The unit test class for the class {@link FieldMetadata}
+ */
+class FieldMetadataTest
+{
+
+	/**
+	 * Test method for {@link FieldMetadata#getValue(Object)} and
+	 * {@link FieldMetadata#setValue(Object, Object)}
+	 */
+	@Test
+	public void testGetAndSetValue() throws NoSuchFieldException
+	{
+		FieldMetadata fieldMetadata;
+		Person person;
+
+		person = Person.builder().name("Alex").build();
+		fieldMetadata = FieldMetadata.of(Person.class.getDeclaredField("name"));
+		assertEquals("name", fieldMetadata.getName());
+		assertEquals(String.class, fieldMetadata.getType());
+		assertEquals(Person.class, fieldMetadata.getDeclaringClass());
+		assertEquals("Alex", fieldMetadata.getValue(person));
+		fieldMetadata.setValue(person, "Leo");
+		assertEquals("Leo", person.getName());
+		assertEquals("io.github.astrapi69.test.object.Person.name", fieldMetadata.toString());
+	}
+
+	/**
+	 * Test method for {@link FieldMetadata} with static and final fields
+	 */
+	@Test
+	public void testStaticAndFinalFields() throws NoSuchFieldException
+	{
+		FieldMetadata fieldMetadata;
+		Licht licht;
+
+		fieldMetadata = FieldMetadata.of(StaticBox.class.getDeclaredField("value"));
+		assertTrue(fieldMetadata.isStatic());
+		fieldMetadata.setValue(null, "static");
+		assertEquals("static", StaticBox.getValue());
+		fieldMetadata.setValue(null, null);
+		// new scenario with a final instance field ...
+		licht = Licht.builder().an(false).build();
+		fieldMetadata = FieldMetadata.of(Licht.class.getDeclaredField("an"));
+		assertFalse(fieldMetadata.isStatic());
+		fieldMetadata.setValue(licht, true);
+		assertEquals(true, fieldMetadata.getValue(licht));
+		// new scenario with a static final field ...
+		fieldMetadata = FieldMetadata.of(Person.class.getDeclaredField("serialVersionUID"));
+		assertTrue(fieldMetadata.isReadable());
+		assertFalse(fieldMetadata.isWritable());
+		FieldMetadata readOnly = fieldMetadata;
+		assertThrows(UnsupportedOperationException.class, () -> readOnly.setValue(null, 2L));
+	}
+
+	/**
+	 * Test method for the primitive getters and for {@link FieldMetadata#accept(Object,
+	 * FieldValueVisitor)}
+	 */
+	@Test
+	public void testPrimitiveGettersAndAccept() throws NoSuchFieldException
+	{
+		FieldMetadata channel;
+		FieldMetadata on;
+		Television television;
+		int[] visitedInt = new int[1];
+		boolean[] visitedBoolean = new boolean[1];
+
+		television = new Television(7, true);
+		channel = FieldMetadata.of(Television.class.getDeclaredField("channel"));
+		on = FieldMetadata.of(Television.class.getDeclaredField("on"));
+		assertEquals(FieldKind.INT, channel.getKind());
+		assertEquals(7, channel.getInt(television));
+		assertTrue(on.getBoolean(television));
+		assertThrows(IllegalArgumentException.class, () -> channel.getLong(television));
+
+		FieldValueVisitor visitor = new FieldValueVisitor()
+		{
+			@Override
+			public void visitObject(FieldMetadata field, Object value)
+			{
+				throw new IllegalStateException("primitive values should not be boxed");
+			}
+
+			@Override
+			public void visitInt(FieldMetadata field, int value)
+			{
+				visitedInt[0] = value;
+			}
+
+			@Override
+			public void visitBoolean(FieldMetadata field, boolean value)
+			{
+				visitedBoolean[0] = value;
+			}
+		};
+		channel.accept(television, visitor);
+		on.accept(television, visitor);
+		assertEquals(7, visitedInt[0]);
+		assertTrue(visitedBoolean[0]);
+	}
+
+	/**
+	 * Test method for {@link FieldMetadata#hasModifier(FieldModifier)},
+	 * {@link FieldMetadata#withModifiers(FieldModifier...)} and
+	 * {@link FieldMetadata#withoutModifiers(FieldModifier...)}
+	 */
+	@Test
+	public void testModifiers() throws NoSuchFieldException
+	{
+		FieldMetadata fieldMetadata;
+
+		fieldMetadata = FieldMetadata.of(Person.class.getDeclaredField("serialVersionUID"));
+		assertTrue(fieldMetadata.hasModifier(FieldModifier.STATIC));
+		assertTrue(fieldMetadata.hasModifier(FieldModifier.FINAL));
+		assertTrue(fieldMetadata.isFinal());
+		assertFalse(fieldMetadata.isTransient());
+		assertTrue(fieldMetadata.getModifierSet().contains(FieldModifier.PRIVATE));
+		assertTrue(FieldMetadata.withModifiers(FieldModifier.STATIC, FieldModifier.FINAL)
+			.test(fieldMetadata));
+		assertFalse(FieldMetadata.withoutModifiers(FieldModifier.STATIC).test(fieldMetadata));
+		// new scenario with a non static field ...
+		fieldMetadata = FieldMetadata.of(Person.class.getDeclaredField("name"));
+		assertFalse(fieldMetadata.hasModifier(FieldModifier.STATIC));
+		assertFalse(fieldMetadata.isFinal());
+		assertFalse(FieldMetadata.withModifiers(FieldModifier.PRIVATE, FieldModifier.FINAL)
+			.test(fieldMetadata));
+		assertTrue(FieldMetadata.withoutModifiers(FieldModifier.STATIC, FieldModifier.FINAL)
+			.test(fieldMetadata));
+	}
+
+	/**
+	 * Test method for {@link FieldMetadata#getAnnotation(Class)},
+	 * {@link FieldMetadata#isAnnotationPresent(Class)} and {@link FieldMetadata#getAllAnnotations()}
+	 */
+	@Test
+	public void testAnnotations() throws NoSuchFieldException
+	{
+		FieldMetadata fieldMetadata;
+
+		fieldMetadata = FieldMetadata.of(Buch.class.getDeclaredField("titel"));
+		assertTrue(fieldMetadata.isAnnotationPresent(Spalte.class));
+		assertTrue(fieldMetadata.isAnnotationPresent(Zuordnung.class));
+		assertEquals("titel", fieldMetadata.getAnnotation(Spalte.class).value());
+		assertEquals("spalte", fieldMetadata.getAnnotation(Zuordnung.class).value());
+		assertEquals(2, fieldMetadata.getAllAnnotations().size());
+		// new scenario with a field without annotations ...
+		fieldMetadata = FieldMetadata.of(Buch.class.getDeclaredField("autor"));
+		assertFalse(fieldMetadata.isAnnotationPresent(Zuordnung.class));
+		assertNull(fieldMetadata.getAnnotation(Zuordnung.class));
+		assertTrue(fieldMetadata.getAllAnnotations().isEmpty());
+	}
+
+	/**
+	 * Test method for the typed setter methods of {@link FieldMetadata}
+	 */
+	@Test
+	public void testPrimitiveSetters() throws NoSuchFieldException
+	{
+		FieldMetadata fieldMetadata;
+		Messwert messwert;
+
+		messwert = new Messwert();
+		fieldMetadata = FieldMetadata.of(Messwert.class.getDeclaredField("anzahl"));
+		fieldMetadata.setInt(messwert, 42);
+		assertEquals(42, messwert.getAnzahl());
+		assertEquals(42, fieldMetadata.getInt(messwert));
+		fieldMetadata = FieldMetadata.of(Messwert.class.getDeclaredField("wert"));
+		fieldMetadata.setDouble(messwert, 2.5d);
+		assertEquals(2.5d, messwert.getWert());
+		FieldMetadata.of(Messwert.class.getDeclaredField("gueltig")).setBoolean(messwert, true);
+		assertTrue(messwert.isGueltig());
+		FieldMetadata.of(Messwert.class.getDeclaredField("einheit")).setChar(messwert, 'K');
+		assertEquals('K', messwert.getEinheit());
+		// new scenario with a wrong type ...
+		assertThrows(IllegalArgumentException.class, () -> FieldMetadata
+			.of(Messwert.class.getDeclaredField("anzahl")).setLong(messwert, 1L));
+		// new scenario with a final field ...
+		assertThrows(UnsupportedOperationException.class, () -> FieldMetadata
+			.of(Integer.class.getDeclaredField("MAX_VALUE")).setInt(null, 1));
+	}
+}
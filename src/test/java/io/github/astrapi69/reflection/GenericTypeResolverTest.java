@@ -0,0 +1,172 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link GenericTypeResolver}
+ */
+class GenericTypeResolverTest
+{
+
+	/**
+	 * Test method for {@link GenericTypeResolver} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(GenericTypeResolver.class);
+	}
+
+	/**
+	 * Test method for {@link GenericTypeResolver#resolve(Class, String)}
+	 */
+	@Test
+	public void testResolve()
+	{
+		ResolvedFieldType actual;
+
+		actual = GenericTypeResolver.resolve(LichtAblage.class, "eintraege");
+		assertEquals(List.class, actual.getRawType());
+		assertEquals(Licht.class, actual.getElementType());
+		assertEquals(Licht.class, actual.getElementClass());
+		assertTrue(actual.getType() instanceof ParameterizedType);
+		assertEquals("java.util.List<io.github.astrapi69.reflection.Licht>",
+			actual.getType().getTypeName());
+		// new scenario: map with a generic value type
+		actual = GenericTypeResolver.resolve(LichtAblage.class, "index");
+		assertEquals(String.class, actual.getKeyType());
+		assertEquals(List.class, actual.getValueClass());
+		assertEquals(Licht.class,
+			((ParameterizedType)actual.getValueType()).getActualTypeArguments()[0]);
+		// new scenario: type variable
+		actual = GenericTypeResolver.resolve(LichtAblage.class, "aktuell");
+		assertEquals(Licht.class, actual.getType());
+		assertNull(actual.getElementType());
+		// new scenario: generic array
+		actual = GenericTypeResolver.resolve(LichtAblage.class, "feld");
+		assertEquals(Licht[].class, actual.getType());
+		assertEquals(Licht.class, actual.getElementType());
+		// new scenario: wildcard
+		actual = GenericTypeResolver.resolve(LichtAblage.class, "auswahl");
+		assertTrue(actual.getElementType() instanceof WildcardType);
+		assertEquals(Licht.class, actual.getElementClass());
+		// new scenario: unbound type variable
+		actual = GenericTypeResolver.resolve(Ablage.class, "aktuell");
+		assertTrue(actual.getType() instanceof TypeVariable);
+		assertEquals(Object.class, actual.getRawType());
+		// new scenario: unknown field
+		assertNull(GenericTypeResolver.resolve(LichtAblage.class, "foo"));
+	}
+
+	/**
+	 * Test method for {@link GenericTypeResolver#resolve(Class, java.lang.reflect.Field)}
+	 */
+	@Test
+	public void testResolveField() throws NoSuchFieldException
+	{
+		ResolvedFieldType actual;
+
+		actual = GenericTypeResolver.resolve(LichtAblage.class,
+			Ablage.class.getDeclaredField("eintraege"));
+		assertSame(GenericTypeResolver.resolve(LichtAblage.class, "eintraege"), actual);
+		assertThrows(IllegalArgumentException.class, () -> GenericTypeResolver
+			.resolve(LichtAblage.class, Person.class.getDeclaredField("name")));
+	}
+
+	/**
+	 * Test method for {@link GenericTypeResolver#getResolvedFieldTypes(Class)}
+	 */
+	@Test
+	public void testGetResolvedFieldTypes()
+	{
+		Map<String, ResolvedFieldType> actual;
+
+		actual = GenericTypeResolver.getResolvedFieldTypes(LichtAblage.class);
+		assertSame(actual, GenericTypeResolver.getResolvedFieldTypes(LichtAblage.class));
+		assertEquals(6, actual.size());
+		assertEquals(String.class, actual.get("name").getType());
+	}
+
+	/**
+	 * Test method for {@link GenericTypeResolver#resolveTypeArgument(Type, Class, int)}
+	 */
+	@Test
+	public void testResolveTypeArgument() throws NoSuchFieldException
+	{
+		Type actual;
+
+		actual = GenericTypeResolver.resolveTypeArgument(
+			Ablage.class.getDeclaredField("index").getGenericType(), Map.class, 1);
+		assertEquals(List.class, GenericTypeResolver.getRawType(actual));
+		// new scenario: a class that binds the type argument in the superclass
+		actual = GenericTypeResolver.resolveTypeArgument(Namen.class, Collection.class, 0);
+		assertEquals(String.class, actual);
+		// new scenario: no subtype
+		assertNull(GenericTypeResolver.resolveTypeArgument(String.class, Collection.class, 0));
+	}
+
+	/**
+	 * Test method for {@link GenericTypeResolver#resolveType(Class, Type)}
+	 */
+	@Test
+	public void testResolveType() throws NoSuchFieldException
+	{
+		Type actual;
+
+		actual = GenericTypeResolver.resolveType(LichtAblage.class,
+			Ablage.class.getDeclaredField("eintraege").getGenericType());
+		assertEquals(Licht.class, ((ParameterizedType)actual).getActualTypeArguments()[0]);
+		assertEquals(actual, actual);
+		assertEquals(actual.hashCode(), GenericTypeResolver
+			.resolveType(LichtAblage.class, Ablage.class.getDeclaredField("eintraege")
+				.getGenericType()).hashCode());
+	}
+
+	static class Namen extends ArrayList<String>
+	{
+		private static final long serialVersionUID = 1L;
+	}
+}
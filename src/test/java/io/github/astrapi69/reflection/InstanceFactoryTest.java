@@ -27,21 +27,29 @@ package io.github.astrapi69.reflection;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
@@ -73,6 +81,28 @@ class InstanceFactoryTest
 		beanTester.testBean(InstanceFactory.class);
 	}
 
+	/**
+	 * Test method for {@link InstanceFactory#newRecordInstance(Class, Object...)}
+	 */
+	@Test
+	public void testNewRecordInstance()
+	{
+		Kunde expected;
+		Kunde actual;
+
+		actual = InstanceFactory.newRecordInstance(Kunde.class, "Alex", 42, true);
+		expected = new Kunde("Alex", 42, true);
+		assertEquals(expected, actual);
+		// new scenario without component values ...
+		actual = InstanceFactory.newRecordInstance(Kunde.class);
+		expected = new Kunde(null, 0, false);
+		assertEquals(expected, actual);
+		// new scenario over newInstance ...
+		actual = InstanceFactory.newInstance(Kunde.class, "Leo", 7, false);
+		expected = new Kunde("Leo", 7, false);
+		assertEquals(expected, actual);
+	}
+
 	/**
 	 * Test method for {@link InstanceFactory#newEmptyArrayInstance(Object[])}
 	 */
@@ -145,6 +175,11 @@ class InstanceFactoryTest
 		expected = InstanceFactory.newArray(Double[].class, length);
 		actual = ReflectionExtensions.copyOfArray(expected);
 		assertArrayEquals((Object[])expected, (Object[])actual);
+		assertEquals(Double[].class, expected.getClass());
+		assertEquals(length, ((Double[])expected).length);
+		// new scenario with nested array class ...
+		expected = InstanceFactory.newArray(int[][].class, length);
+		assertEquals(int[][].class, expected.getClass());
 	}
 
 	/**
@@ -562,6 +597,106 @@ class InstanceFactoryTest
 		setActual = (Set<A>)actual.get();
 		setExpected = SetFactory.newLinkedHashSet();
 		assertEquals(setActual, setExpected);
+		// new scenario with ConcurrentHashMap ...
+		actual = InstanceFactory.newGenericOptionalInstance(new ConcurrentHashMap<>(map));
+		assertTrue(actual.isPresent());
+		assertEquals(ConcurrentHashMap.class, actual.get().getClass());
+		assertTrue(((Map<?, ?>)actual.get()).isEmpty());
+		// new scenario with TreeSet ...
+		actual = InstanceFactory.newGenericOptionalInstance(
+			new TreeSet<>(ListFactory.newArrayList("b", "a")));
+		assertTrue(actual.isPresent());
+		assertEquals(TreeSet.class, actual.get().getClass());
+	}
+
+	/**
+	 * Test method for {@link InstanceFactory#newInstances(Class, int)}
+	 */
+	@Test
+	public void testNewInstances()
+	{
+		Person[] persons;
+		Licht[] lichter;
+		Kunde[] kunden;
+		List<?>[] lists;
+		// new scenario with default constructor ...
+		persons = InstanceFactory.newInstances(Person.class, 100);
+		assertEquals(100, persons.length);
+		assertEquals(Person[].class, persons.getClass());
+		for (Person person : persons)
+		{
+			assertNotNull(person);
+		}
+		assertNotSame(persons[0], persons[1]);
+		// new scenario without default constructor ...
+		lichter = InstanceFactory.newInstances(Licht.class, 3);
+		assertEquals(3, lichter.length);
+		assertNotNull(lichter[2]);
+		// new scenario with record ...
+		kunden = InstanceFactory.newInstances(Kunde.class, 2);
+		assertEquals(new Kunde(null, 0, false), kunden[1]);
+		// new scenario with list interface ...
+		lists = InstanceFactory.newInstances(List.class, 2);
+		assertEquals(ArrayList.class, lists[0].getClass());
+		assertNotSame(lists[0], lists[1]);
+		// new scenario with empty array ...
+		persons = InstanceFactory.newInstances(Person.class, 0);
+		assertEquals(0, persons.length);
+		// new scenario with abstract class ...
+		assertThrows(IllegalArgumentException.class,
+			() -> InstanceFactory.newInstances(Number.class, 1));
+		// new scenario with array class ...
+		assertThrows(IllegalArgumentException.class,
+			() -> InstanceFactory.newInstances(String[].class, 1));
+	}
+
+	/**
+	 * Test method for {@link InstanceFactory#newInstances(Class, int, boolean)}
+	 */
+	@Test
+	public void testNewInstancesParallel()
+	{
+		Person[] persons;
+		Set<Person> identities;
+
+		persons = InstanceFactory.newInstances(Person.class, 10000, true);
+		assertEquals(10000, persons.length);
+		identities = Collections.newSetFromMap(new IdentityHashMap<>());
+		identities.addAll(Arrays.asList(persons));
+		identities.remove(null);
+		assertEquals(10000, identities.size());
+	}
+
+	/**
+	 * Test method for {@link InstanceFactory#newInstanceStream(Class, int)}
+	 */
+	@Test
+	public void testNewInstanceStream()
+	{
+		List<Person> persons;
+
+		persons = InstanceFactory.newInstanceStream(Person.class, 5).collect(Collectors.toList());
+		assertEquals(5, persons.size());
+		assertTrue(persons.stream().allMatch(Person.class::isInstance));
+		// new scenario with parallel stream ...
+		assertEquals(1000,
+			InstanceFactory.newInstanceStream(Person.class, 1000).parallel().count());
+	}
+
+	/**
+	 * Test method for {@link InstanceFactory#newInstanceFunction(Class)}
+	 */
+	@Test
+	public void testNewInstanceFunction()
+	{
+		IntFunction<Person> function;
+		Person[] persons;
+
+		function = InstanceFactory.newInstanceFunction(Person.class);
+		assertNotSame(function.apply(0), function.apply(0));
+		persons = new Person[4];
+		Arrays.setAll(persons, function);
+		assertTrue(Arrays.stream(persons).allMatch(Person.class::isInstance));
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link MethodInvoker}
+ */
+class MethodInvokerTest
+{
+
+	/**
+	 * Test method for {@link MethodInvoker#of(Class, String, Class...)} and
+	 * {@link MethodInvoker#of(java.lang.reflect.Method)}
+	 */
+	@Test
+	public void testOf() throws NoSuchMethodException, IllegalAccessException
+	{
+		MethodInvoker methodInvoker;
+
+		methodInvoker = MethodInvoker.of(Person.class, "getName");
+		assertSame(methodInvoker, MethodInvoker.of(Person.class, "getName"));
+		assertSame(methodInvoker, MethodInvoker.of(Person.class.getDeclaredMethod("getName")));
+		assertEquals("getName", methodInvoker.getName());
+		assertEquals(String.class, methodInvoker.getReturnType());
+		assertEquals(0, methodInvoker.getParameterCount());
+		assertFalse(methodInvoker.isStatic());
+		// new scenario with an inherited method ...
+		methodInvoker = MethodInvoker.of(ArrayList.class, "hashCode");
+		assertEquals(1, methodInvoker.invokeInt0(new ArrayList<>()));
+		// new scenario with a method that does not exist ...
+		assertThrows(NoSuchMethodException.class,
+			() -> MethodInvoker.of(Person.class, "getName", String.class));
+	}
+
+	/**
+	 * Test method for {@link MethodInvoker#invoke0(Object)} to
+	 * {@link MethodInvoker#invoke3(Object, Object, Object, Object)}
+	 */
+	@Test
+	public void testInvokeFixedArity() throws NoSuchMethodException, IllegalAccessException
+	{
+		Person person;
+
+		person = Person.builder().name("Alex").build();
+		assertEquals("Alex", MethodInvoker.of(Person.class, "getName").invoke0(person));
+		assertSame(person,
+			MethodInvoker.of(Person.class, "setName", String.class).invoke1(person, "Leo"));
+		assertEquals("Leo", person.getName());
+		assertNull(MethodInvoker.of(ArrayList.class, "clear").invoke0(new ArrayList<>()));
+		assertEquals("ab",
+			MethodInvoker.of(String.class, "concat", String.class).invoke1("a", "b"));
+		assertEquals("ac", MethodInvoker.of(String.class, "replace", char.class, char.class)
+			.invoke2("ab", 'b', 'c'));
+		assertEquals("bc", MethodInvoker.of(String.class, "valueOf", char[].class, int.class,
+			int.class).invoke3(null, new char[] { 'a', 'b', 'c' }, 1, 2));
+		// new scenario with a wrong number of arguments ...
+		assertThrows(IllegalArgumentException.class,
+			() -> MethodInvoker.of(Person.class, "getName").invoke1(person, "Leo"));
+		// new scenario with an exception of the invoked method ...
+		assertThrows(NumberFormatException.class,
+			() -> MethodInvoker.of(Integer.class, "parseInt", String.class).invoke1(null, "x"));
+	}
+
+	/**
+	 * Test method for {@link MethodInvoker#invoke(Object, Object...)}
+	 */
+	@Test
+	public void testInvoke() throws NoSuchMethodException, IllegalAccessException
+	{
+		MethodInvoker methodInvoker;
+
+		methodInvoker = MethodInvoker.of(String.class, "regionMatches", int.class, String.class,
+			int.class, int.class);
+		assertEquals(Boolean.TRUE, methodInvoker.invoke("abcd", 1, "xbc", 1, 2));
+		assertThrows(IllegalArgumentException.class,
+			() -> methodInvoker.invoke("abcd", 1, "xbc"));
+		assertEquals("Alex", MethodInvoker.of(Person.class, "getName")
+			.invoke(Person.builder().name("Alex").build()));
+	}
+
+	/**
+	 * Test method for the primitive invoke methods of {@link MethodInvoker}
+	 */
+	@Test
+	public void testInvokePrimitive() throws NoSuchMethodException, IllegalAccessException
+	{
+		MethodInvoker methodInvoker;
+
+		assertTrue(MethodInvoker.of(Licht.class, "isAn")
+			.invokeBoolean0(Licht.builder().an(true).build()));
+		assertTrue(MethodInvoker.of(String.class, "startsWith", String.class)
+			.invokeBoolean1("abc", "ab"));
+		methodInvoker = MethodInvoker.of(Integer.class, "parseInt", String.class);
+		assertEquals(42, methodInvoker.invokeInt1(null, "42"));
+		assertEquals(42L, methodInvoker.invokeLong1(null, "42"));
+		assertEquals(42.0d, methodInvoker.invokeDouble1(null, "42"));
+		assertThrows(IllegalArgumentException.class,
+			() -> methodInvoker.invokeBoolean1(null, "42"));
+		assertEquals(3L, MethodInvoker.of(String.class, "length").invokeLong0("abc"));
+		assertEquals(2.5d, MethodInvoker.of(Float.class, "floatValue").invokeDouble0(2.5f));
+		assertEquals('b', MethodInvoker.of(String.class, "charAt", int.class).invokeInt1("abc", 1));
+		// new scenario with a method that returns an object ...
+		assertThrows(IllegalArgumentException.class,
+			() -> MethodInvoker.of(String.class, "trim").invokeInt0("abc"));
+	}
+}
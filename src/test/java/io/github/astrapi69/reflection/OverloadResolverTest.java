@@ -0,0 +1,170 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link OverloadResolver}
+ */
+class OverloadResolverTest
+{
+
+	/**
+	 * Test method for {@link OverloadResolver#of(Class, String)}
+	 */
+	@Test
+	public void testOf()
+	{
+		OverloadResolver overloadResolver;
+
+		overloadResolver = OverloadResolver.of(Rechner.class, "beschreibe");
+		assertSame(overloadResolver, OverloadResolver.of(Rechner.class, "beschreibe"));
+		assertEquals(Rechner.class, overloadResolver.getType());
+		assertEquals("beschreibe", overloadResolver.getMethodName());
+		assertEquals(3, overloadResolver.getMethods().size());
+	}
+
+	/**
+	 * Test method for {@link OverloadResolver#resolve(Class...)}
+	 */
+	@Test
+	public void testResolve() throws NoSuchMethodException
+	{
+		Method expected;
+		Method actual;
+		OverloadResolver overloadResolver;
+
+		overloadResolver = OverloadResolver.of(Rechner.class, "beschreibe");
+		expected = Rechner.class.getDeclaredMethod("beschreibe", String.class);
+		actual = overloadResolver.resolve(String.class);
+		assertEquals(expected, actual);
+		// new scenario with a null argument ...
+		actual = overloadResolver.resolve((Class<?>)null);
+		assertEquals(expected, actual);
+		// new scenario with a super type ...
+		expected = Rechner.class.getDeclaredMethod("beschreibe", CharSequence.class);
+		actual = overloadResolver.resolve(StringBuilder.class);
+		assertEquals(expected, actual);
+		// new scenario with unboxing and widening ...
+		overloadResolver = OverloadResolver.of(Rechner.class, "summe");
+		expected = Rechner.class.getDeclaredMethod("summe", int.class, int.class);
+		actual = overloadResolver.resolve(Integer.class, Short.class);
+		assertEquals(expected, actual);
+		expected = Rechner.class.getDeclaredMethod("summe", long.class, long.class);
+		actual = overloadResolver.resolve(Long.class, Integer.class);
+		assertEquals(expected, actual);
+		// new scenario with variable arity ...
+		expected = Rechner.class.getDeclaredMethod("summe", double[].class);
+		actual = overloadResolver.resolve(Double.class, Integer.class);
+		assertEquals(expected, actual);
+		actual = overloadResolver.resolve();
+		assertEquals(expected, actual);
+		// new scenario with no applicable method ...
+		assertThrows(NoSuchMethodException.class,
+			() -> OverloadResolver.of(Rechner.class, "summe").resolve(String.class));
+		// new scenario with an ambiguous method call ...
+		assertThrows(IllegalArgumentException.class,
+			() -> OverloadResolver.of(Rechner.class, "verbinde").resolve(String.class,
+				String.class));
+	}
+
+	/**
+	 * Test method for {@link OverloadResolver#invoke(Object, Object...)}
+	 */
+	@Test
+	public void testInvoke() throws NoSuchMethodException, IllegalAccessException
+	{
+		OverloadResolver overloadResolver;
+		Rechner rechner;
+
+		rechner = new Rechner();
+		overloadResolver = OverloadResolver.of(Rechner.class, "beschreibe");
+		// more argument classes than the inline cache can hold
+		for (int i = 0; i < 2; i++)
+		{
+			assertEquals("String", overloadResolver.invoke(rechner, "a"));
+			assertEquals("CharSequence",
+				overloadResolver.invoke(rechner, new StringBuilder("a")));
+			assertEquals("Object", overloadResolver.invoke(rechner, 1));
+			assertEquals("Object", overloadResolver.invoke(rechner, 1L));
+			assertEquals("Object", overloadResolver.invoke(rechner, List.of()));
+			assertEquals("String", overloadResolver.invoke(rechner, (Object)null));
+		}
+		overloadResolver = OverloadResolver.of(Rechner.class, "summe");
+		assertEquals(3, overloadResolver.invoke(rechner, 1, 2));
+		assertEquals(3L, overloadResolver.invoke(rechner, 1L, 2));
+		assertEquals(6.5d, overloadResolver.invoke(rechner, 1, 2, 3.5d));
+		assertEquals(0.0d, overloadResolver.invoke(rechner));
+		assertEquals(2.0d, overloadResolver.invoke(rechner, (Object)new double[] { 2.0d }));
+		// new scenario with a static method ...
+		assertEquals("static a", OverloadResolver.of(Rechner.class, "statisch").invoke(null, "a"));
+	}
+
+	/**
+	 * Test that the resolutions of an {@link OverloadResolver} do not prevent the collection of
+	 * the class loader of an argument class
+	 */
+	@Test
+	public void testArgumentClassLoaderIsCollected() throws Exception
+	{
+		WeakReference<ClassLoader> classLoaderReference = invokeWithIsolatedArgument();
+		for (int i = 0; classLoaderReference.get() != null && i < 100; i++)
+		{
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertNull(classLoaderReference.get());
+		// new scenario: resolver is still usable after the collection ...
+		assertEquals("String",
+			OverloadResolver.of(Rechner.class, "beschreibe").invoke(new Rechner(), "text"));
+	}
+
+	private WeakReference<ClassLoader> invokeWithIsolatedArgument() throws Exception
+	{
+		URL location = Licht.class.getProtectionDomain().getCodeSource().getLocation();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { location }, null))
+		{
+			Class<?> isolatedClass = classLoader.loadClass(Licht.class.getName());
+			assertNotSame(Licht.class, isolatedClass);
+			Object argument = InstanceFactory.newInstance(isolatedClass);
+			assertEquals("Object", OverloadResolver.of(Rechner.class, "beschreibe")
+				.invoke(new Rechner(), argument));
+			return new WeakReference<>(classLoader);
+		}
+	}
+}
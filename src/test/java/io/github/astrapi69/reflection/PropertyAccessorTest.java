@@ -0,0 +1,91 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.Television;
+
+/**
+ * The unit test class for the class {@link PropertyAccessor}
+ */
+class PropertyAccessorTest
+{
+
+	/**
+	 * Test method for {@link PropertyAccessor#of(Class, FieldMetadata)}
+	 */
+	@Test
+	public void testOf() throws NoSuchFieldException
+	{
+		PropertyAccessor accessor;
+
+		accessor = PropertyAccessor.of(Person.class,
+			FieldMetadata.of(Person.class.getDeclaredField("name")));
+		assertEquals("name", accessor.getName());
+		assertEquals(String.class, accessor.getType());
+		assertEquals("getName", accessor.getReadMethod().getName());
+		assertEquals("setName", accessor.getWriteMethod().getName());
+		// new scenario with a boolean getter ...
+		accessor = PropertyAccessor.of(Television.class,
+			FieldMetadata.of(Television.class.getDeclaredField("on")));
+		assertEquals("isOn", accessor.getReadMethod().getName());
+		// new scenario with a missing setter ...
+		accessor = PropertyAccessor.of(Licht.class,
+			FieldMetadata.of(Licht.class.getDeclaredField("an")));
+		assertNotNull(accessor.getReadMethod());
+		assertNull(accessor.getWriteMethod());
+	}
+
+	/**
+	 * Test method for {@link PropertyAccessor#getValue(Object)} and
+	 * {@link PropertyAccessor#setValue(Object, Object)}
+	 */
+	@Test
+	public void testGetAndSetValue() throws NoSuchFieldException
+	{
+		PropertyAccessor accessor;
+		Television television;
+		Licht licht;
+
+		television = new Television(1, false);
+		accessor = PropertyAccessor.of(Television.class,
+			FieldMetadata.of(Television.class.getDeclaredField("channel")));
+		assertEquals(1, accessor.getValue(television));
+		accessor.setValue(television, 5);
+		assertEquals(5, television.getChannel());
+		// new scenario with direct field access ...
+		licht = Licht.builder().an(false).build();
+		accessor = PropertyAccessor.of(Licht.class,
+			FieldMetadata.of(Licht.class.getDeclaredField("an")));
+		accessor.setValue(licht, true);
+		assertEquals(true, accessor.getValue(licht));
+	}
+}
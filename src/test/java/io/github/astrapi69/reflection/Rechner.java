@@ -0,0 +1,79 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+class Rechner
+{
+
+	static String statisch(final Object value)
+	{
+		return "static " + value;
+	}
+
+	String beschreibe(final Object value)
+	{
+		return "Object";
+	}
+
+	String beschreibe(final CharSequence value)
+	{
+		return "CharSequence";
+	}
+
+	String beschreibe(final String value)
+	{
+		return "String";
+	}
+
+	int summe(final int first, final int second)
+	{
+		return first + second;
+	}
+
+	long summe(final long first, final long second)
+	{
+		return first + second;
+	}
+
+	double summe(final double... values)
+	{
+		double sum = 0;
+		for (double value : values)
+		{
+			sum += value;
+		}
+		return sum;
+	}
+
+	String verbinde(final String first, final Object second)
+	{
+		return first + second;
+	}
+
+	String verbinde(final Object first, final String second)
+	{
+		return first + second;
+	}
+}
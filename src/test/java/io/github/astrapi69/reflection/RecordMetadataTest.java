@@ -0,0 +1,167 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.list.ListFactory;
+
+/**
+ * The unit test class for the class {@link RecordMetadata}
+ */
+class RecordMetadataTest
+{
+
+	/**
+	 * Test method for {@link RecordMetadata#of(Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		List<String> expected;
+		List<String> actual;
+		RecordMetadata<Kunde> recordMetadata;
+
+		recordMetadata = RecordMetadata.of(Kunde.class);
+		assertSame(recordMetadata, RecordMetadata.of(Kunde.class));
+		assertEquals(Kunde.class, recordMetadata.getType());
+		actual = recordMetadata.getComponentNames();
+		expected = ListFactory.newArrayList("name", "alter", "aktiv");
+		assertEquals(expected, actual);
+		assertEquals(ListFactory.newArrayList(String.class, int.class, boolean.class),
+			recordMetadata.getComponentTypes());
+		assertEquals(1, recordMetadata.indexOf("alter"));
+		assertEquals(-1, recordMetadata.indexOf("foo"));
+	}
+
+	/**
+	 * Test method for {@link RecordMetadata#newInstance(Object...)} and
+	 * {@link RecordMetadata#newDefaultInstance()}
+	 */
+	@Test
+	public void testNewInstance()
+	{
+		Kunde expected;
+		Kunde actual;
+		RecordMetadata<Kunde> recordMetadata;
+
+		recordMetadata = RecordMetadata.of(Kunde.class);
+		actual = recordMetadata.newInstance("Alex", 42, true);
+		expected = new Kunde("Alex", 42, true);
+		assertEquals(expected, actual);
+		// new scenario with default values ...
+		actual = recordMetadata.newDefaultInstance();
+		expected = new Kunde(null, 0, false);
+		assertEquals(expected, actual);
+		// new scenario with invalid values ...
+		assertThrows(IllegalArgumentException.class,
+			() -> RecordMetadata.of(Kunde.class).newInstance("Alex", 42));
+		assertThrows(IllegalArgumentException.class,
+			() -> RecordMetadata.of(Kunde.class).newInstance("Alex", null, true));
+		assertThrows(IllegalArgumentException.class,
+			() -> RecordMetadata.of(Kunde.class).newInstance("Alex", "42", true));
+		// new scenario with exception from the canonical constructor ...
+		assertEquals(new Notiz("Termin"), RecordMetadata.of(Notiz.class).newInstance(" Termin "));
+		assertThrows(ClassCastException.class,
+			() -> RecordMetadata.of(Notiz.class).newInstance(42));
+	}
+
+	/**
+	 * Test method for {@link RecordMetadata#fromMap(Map)}
+	 */
+	@Test
+	public void testFromMap()
+	{
+		Kunde expected;
+		Kunde actual;
+		Map<String, Object> values;
+
+		values = new HashMap<>();
+		values.put("name", "Alex");
+		values.put("alter", null);
+		actual = RecordMetadata.of(Kunde.class).fromMap(values);
+		expected = new Kunde("Alex", 0, false);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link RecordMetadata#getComponentValues(Record)} and
+	 * {@link RecordMetadata#getComponentValue(Record, String)}
+	 */
+	@Test
+	public void testGetComponentValues()
+	{
+		Kunde kunde;
+		RecordMetadata<Kunde> recordMetadata;
+
+		recordMetadata = RecordMetadata.of(Kunde.class);
+		kunde = new Kunde("Alex", 42, true);
+		assertArrayEquals(new Object[] { "Alex", 42, true },
+			recordMetadata.getComponentValues(kunde));
+		assertEquals(42, recordMetadata.getComponentValue(kunde, "alter"));
+		assertThrows(IllegalArgumentException.class,
+			() -> RecordMetadata.of(Kunde.class).getComponentValue(kunde, "foo"));
+	}
+
+	/**
+	 * Test method for {@link RecordMetadata#copy(Record)} and the with methods
+	 */
+	@Test
+	public void testCopyAndWith()
+	{
+		Kunde expected;
+		Kunde actual;
+		Kunde kunde;
+		RecordMetadata<Kunde> recordMetadata;
+		Map<String, Object> changes;
+
+		recordMetadata = RecordMetadata.of(Kunde.class);
+		kunde = new Kunde("Alex", 42, true);
+		actual = recordMetadata.copy(kunde);
+		assertEquals(kunde, actual);
+		assertNotSame(kunde, actual);
+		// new scenario with a changed component ...
+		actual = recordMetadata.with(kunde, "alter", 43);
+		expected = new Kunde("Alex", 43, true);
+		assertEquals(expected, actual);
+		// new scenario with a map of changes ...
+		changes = new HashMap<>();
+		changes.put("name", "Leo");
+		changes.put("aktiv", false);
+		actual = recordMetadata.with(kunde, changes);
+		expected = new Kunde("Leo", 42, false);
+		assertEquals(expected, actual);
+	}
+}
@@ -0,0 +1,322 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link ReflectionCache}
+ */
+class ReflectionCacheTest
+{
+
+	/**
+	 * Test method for {@link ReflectionCache#get(Class)} with many concurrent threads
+	 */
+	@Test
+	public void testGetComputesOnlyOnceUnderContention() throws Exception
+	{
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		int threads = 32;
+		ReflectionCache<String> cache = new ReflectionCache<>(cls -> {
+			computations.incrementAndGet();
+			try
+			{
+				Thread.sleep(50);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			return cls.getName();
+		});
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		try
+		{
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++)
+			{
+				results.add(executorService.submit(() -> {
+					start.await();
+					return cache.get(Person.class);
+				}));
+			}
+			start.countDown();
+			for (Future<String> result : results)
+			{
+				assertEquals(Person.class.getName(), result.get());
+			}
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+		assertEquals(1, computations.get());
+		assertEquals(1, cache.size());
+	}
+
+	/**
+	 * Test method for {@link ReflectionCache#get(Class)} with a failing loader
+	 */
+	@Test
+	public void testGetWithFailingLoader()
+	{
+		AtomicInteger computations = new AtomicInteger();
+		ReflectionCache<String> cache = new ReflectionCache<>(cls -> {
+			if (computations.incrementAndGet() == 1)
+			{
+				throw new IllegalArgumentException("first try fails");
+			}
+			return cls.getSimpleName();
+		});
+		assertThrows(IllegalArgumentException.class, () -> cache.get(Person.class));
+		assertNull(cache.getIfPresent(Person.class));
+		assertEquals("Person", cache.get(Person.class));
+		assertEquals(2, computations.get());
+	}
+
+	/**
+	 * Test method for {@link ReflectionCache#get(Class)} with a recursive loader
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testGetWithRecursiveLoader()
+	{
+		ReflectionCache<Object>[] holder = new ReflectionCache[1];
+		holder[0] = new ReflectionCache<>(cls -> holder[0].get(cls));
+		assertThrows(IllegalStateException.class, () -> holder[0].get(Person.class));
+		assertEquals(0, holder[0].size());
+	}
+
+	/**
+	 * Test method for {@link ReflectionCache#invalidate(Class)} and
+	 * {@link ReflectionCache#invalidateAll()}
+	 */
+	@Test
+	public void testInvalidate()
+	{
+		ReflectionCache<Object> cache = new ReflectionCache<>(cls -> new Object());
+		Object first = cache.get(Person.class);
+		assertSame(first, cache.get(Person.class));
+		cache.invalidate(Person.class);
+		assertNull(cache.getIfPresent(Person.class));
+		Object second = cache.get(Person.class);
+		assertEquals(1, cache.size());
+		assertSame(second, cache.getIfPresent(Person.class));
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+	}
+
+	/**
+	 * Test method for {@link ReflectionCache#getCachedClasses()}
+	 */
+	@Test
+	public void testGetCachedClasses()
+	{
+		ReflectionCache<Object> cache = new ReflectionCache<>(cls -> new Object());
+		assertTrue(cache.getCachedClasses().isEmpty());
+		cache.get(Person.class);
+		cache.get(String.class);
+		assertEquals(List.of(Person.class, String.class), cache.getCachedClasses());
+		cache.invalidate(Person.class);
+		assertEquals(List.of(String.class), cache.getCachedClasses());
+	}
+
+	/**
+	 * Test method for {@link ReflectionCache#get(Class)} with a bounded cache
+	 */
+	@Test
+	public void testGetWithMaximumSize()
+	{
+		AtomicInteger computations = new AtomicInteger();
+		ReflectionCache<String> cache = new ReflectionCache<>(cls -> {
+			computations.incrementAndGet();
+			return cls.getSimpleName();
+		}, 2);
+		assertEquals(2, cache.getMaximumSize());
+		cache.get(Person.class);
+		cache.get(String.class);
+		cache.get(Person.class);
+		cache.get(Integer.class);
+		assertEquals(2, cache.size());
+		assertEquals("Person", cache.getIfPresent(Person.class));
+		assertNull(cache.getIfPresent(String.class));
+		assertEquals("Integer", cache.getIfPresent(Integer.class));
+		assertEquals(3, computations.get());
+		// new scenario with a smaller maximum size ...
+		cache.setMaximumSize(1);
+		assertEquals(1, cache.size());
+		assertEquals("Integer", cache.getIfPresent(Integer.class));
+		assertThrows(IllegalArgumentException.class, () -> cache.setMaximumSize(-1));
+	}
+
+	/**
+	 * Test method for {@link ReflectionCache#invalidate(ClassLoader)}
+	 */
+	@Test
+	public void testInvalidateClassLoader() throws Exception
+	{
+		ReflectionCache<String> cache = new ReflectionCache<>(Class::getName);
+		try (URLClassLoader classLoader = newIsolatedClassLoader())
+		{
+			Class<?> isolatedClass = classLoader.loadClass(Licht.class.getName());
+			cache.get(isolatedClass);
+			cache.get(Licht.class);
+			assertEquals(2, cache.size());
+			cache.invalidate(classLoader);
+			assertEquals(1, cache.size());
+			assertNull(cache.getIfPresent(isolatedClass));
+			assertEquals(Licht.class.getName(), cache.getIfPresent(Licht.class));
+		}
+	}
+
+	/**
+	 * Test that the reflection caches do not prevent the collection of a class loader
+	 */
+	@Test
+	public void testClassLoaderIsCollected() throws Exception
+	{
+		WeakReference<ClassLoader> classLoaderReference = populateCachesFromIsolatedClassLoader();
+		for (int i = 0; classLoaderReference.get() != null && i < 100; i++)
+		{
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertNull(classLoaderReference.get());
+		// new scenario with pairs of classes from a child class loader and the application ...
+		classLoaderReference = populatePairCachesFromChildClassLoader();
+		for (int i = 0; classLoaderReference.get() != null && i < 100; i++)
+		{
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertNull(classLoaderReference.get());
+	}
+
+	private WeakReference<ClassLoader> populatePairCachesFromChildClassLoader() throws Exception
+	{
+		try (URLClassLoader classLoader = newChildClassLoader(Geschlecht.class.getName(),
+			Mitglied.class.getName(), BuchAnsicht.class.getName()))
+		{
+			Class<?> childEnum = classLoader.loadClass(Geschlecht.class.getName());
+			assertNotSame(Geschlecht.class, childEnum);
+			assertSame(classLoader, childEnum.getClassLoader());
+			assertSame(Geschlecht.FEMALE, ReflectionExtensions
+				.copyOfEnumValue(childEnum.getEnumConstants()[1], Geschlecht.class));
+			assertEquals("FEMALE", ReflectionExtensions
+				.copyOfEnumValue(Geschlecht.FEMALE, childEnum).toString());
+			Class<?> childBean = classLoader.loadClass(Mitglied.class.getName());
+			Object childMitglied = InstanceFactory.newInstance(childBean);
+			ReflectionExtensions.setFieldValue(childMitglied, childBean.getDeclaredField("name"),
+				"Alex");
+			ReflectionExtensions.setFieldValue(childMitglied,
+				childBean.getDeclaredField("gender"), childEnum.getEnumConstants()[0]);
+			Mitglied mitglied = mapChildBean(childBean, childMitglied);
+			assertEquals("Alex", mitglied.getName());
+			assertSame(Geschlecht.MALE, mitglied.getGender());
+			Class<?> childView = classLoader.loadClass(BuchAnsicht.class.getName());
+			Object view = BeanView.view(childView, new Buch("Faust"));
+			assertEquals("Faust", childView.getMethod("getTitel").invoke(view));
+			return new WeakReference<>(classLoader);
+		}
+	}
+
+	private WeakReference<ClassLoader> populateCachesFromIsolatedClassLoader() throws Exception
+	{
+		try (URLClassLoader classLoader = newIsolatedClassLoader())
+		{
+			Class<?> isolatedClass = classLoader.loadClass(Licht.class.getName());
+			assertNotSame(Licht.class, isolatedClass);
+			assertEquals(1, ClassMetadata.of(isolatedClass).getPropertyAccessors().size());
+			Object instance = InstanceFactory.newInstance(isolatedClass);
+			assertEquals(1, BeanMapConverter.toMap(instance).size());
+			Class<?> isolatedEnum = classLoader.loadClass(Geschlecht.class.getName());
+			assertSame(Geschlecht.MALE, ReflectionExtensions
+				.copyOfEnumValue(isolatedEnum.getEnumConstants()[0], Geschlecht.class));
+			return new WeakReference<>(classLoader);
+		}
+	}
+
+	private static URLClassLoader newIsolatedClassLoader()
+	{
+		URL location = Licht.class.getProtectionDomain().getCodeSource().getLocation();
+		return new URLClassLoader(new URL[] { location }, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <S> Mitglied mapChildBean(final Class<S> childBean, final Object childMitglied)
+	{
+		return BeanMapper.of(childBean, Mitglied.class).map((S)childMitglied, new Mitglied());
+	}
+
+	/**
+	 * Creates a class loader with the application class loader as parent that defines the classes
+	 * with the given names itself
+	 */
+	private static URLClassLoader newChildClassLoader(final String... classNames)
+	{
+		URL location = Licht.class.getProtectionDomain().getCodeSource().getLocation();
+		Set<String> names = Set.of(classNames);
+		return new URLClassLoader(new URL[] { location }, ReflectionCacheTest.class.getClassLoader())
+		{
+			@Override
+			protected Class<?> loadClass(final String name, final boolean resolve)
+				throws ClassNotFoundException
+			{
+				if (!names.contains(name))
+				{
+					return super.loadClass(name, resolve);
+				}
+				synchronized (getClassLoadingLock(name))
+				{
+					Class<?> loaded = findLoadedClass(name);
+					return loaded != null ? loaded : findClass(name);
+				}
+			}
+		};
+	}
+}
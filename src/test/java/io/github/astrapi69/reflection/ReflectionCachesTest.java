@@ -0,0 +1,95 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link ReflectionCaches}
+ */
+class ReflectionCachesTest
+{
+
+	/**
+	 * Test method for {@link ReflectionCaches}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ReflectionCaches.class);
+	}
+
+	/**
+	 * Test method for {@link ReflectionCaches#invalidate(ClassLoader)} and
+	 * {@link ReflectionCaches#invalidateAll()}
+	 */
+	@Test
+	public void testInvalidate()
+	{
+		ReflectionCache<String> cache = new ReflectionCache<>(Class::getName);
+		cache.get(Person.class);
+		cache.get(Licht.class);
+		ReflectionCaches.invalidate(Licht.class.getClassLoader());
+		assertNull(cache.getIfPresent(Licht.class));
+		cache.get(String.class);
+		ReflectionCaches.invalidate(null);
+		assertNull(cache.getIfPresent(String.class));
+		ReflectionCaches.invalidateAll();
+		assertEquals(0, cache.size());
+	}
+
+	/**
+	 * Test method for {@link ReflectionCaches#setMaximumSize(int)}
+	 */
+	@Test
+	public void testSetMaximumSize()
+	{
+		int defaultMaximumSize = ReflectionCaches.getDefaultMaximumSize();
+		try
+		{
+			ReflectionCache<String> cache = new ReflectionCache<>(Class::getName);
+			cache.get(Person.class);
+			cache.get(Licht.class);
+			ReflectionCaches.setMaximumSize(1);
+			assertEquals(1, ReflectionCaches.getDefaultMaximumSize());
+			assertEquals(1, cache.getMaximumSize());
+			assertEquals(1, cache.size());
+			assertEquals(1, new ReflectionCache<>(Class::getName).getMaximumSize());
+			assertThrows(IllegalArgumentException.class, () -> ReflectionCaches.setMaximumSize(-1));
+		}
+		finally
+		{
+			ReflectionCaches.setMaximumSize(defaultMaximumSize);
+		}
+	}
+}
@@ -28,25 +28,35 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
 
 import io.github.astrapi69.collection.array.ArrayFactory;
 import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.collection.set.SetFactory;
+import io.github.astrapi69.test.object.Employee;
 import io.github.astrapi69.test.object.Member;
 import io.github.astrapi69.test.object.Person;
 import io.github.astrapi69.test.object.PremiumMember;
 import io.github.astrapi69.test.object.PrimitiveArrays;
+import io.github.astrapi69.test.object.Television;
 import io.github.astrapi69.test.object.enumeration.Gender;
 
 /**
@@ -131,6 +141,13 @@ public class ReflectionExtensionsTest
 		actual = ReflectionExtensions.copyOfEnumValue(Person.builder().build(), Person.class);
 		expected = null;
 		assertEquals(actual, expected);
+		// test new scenario with an equivalent enum type ...
+		actual = ReflectionExtensions.copyOfEnumValue(Gender.MALE, Geschlecht.class);
+		expected = Geschlecht.MALE;
+		assertSame(expected, actual);
+		// test new scenario with a null value ...
+		actual = ReflectionExtensions.copyOfEnumValue(null, Gender.class);
+		assertNull(actual);
 	}
 
 	/**
@@ -239,6 +256,13 @@ public class ReflectionExtensionsTest
 
 		expected = "Name";
 		assertEquals(expected, actual);
+		// new scenario: the first character is already in upper case
+		expected = "Name";
+		actual = ReflectionExtensions.firstCharacterToUpperCase(expected);
+		assertSame(expected, actual);
+		// new scenario: empty string
+		actual = ReflectionExtensions.firstCharacterToUpperCase("");
+		assertEquals("", actual);
 	}
 
 	/**
@@ -394,6 +418,22 @@ public class ReflectionExtensionsTest
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link ReflectionExtensions#findDeclaredField(Class, String)}
+	 */
+	@Test
+	public void testFindDeclaredField()
+	{
+		Optional<Field> actual;
+
+		actual = ReflectionExtensions.findDeclaredField(PremiumMember.class, "name");
+		assertTrue(actual.isPresent());
+		assertEquals(Person.class, actual.get().getDeclaringClass());
+		// new scenario: unknown field
+		actual = ReflectionExtensions.findDeclaredField(PremiumMember.class, "foo");
+		assertFalse(actual.isPresent());
+	}
+
 	/**
 	 * Test method for {@link ReflectionExtensions#getDeclaredFieldNames(Class)}
 	 */
@@ -648,6 +688,21 @@ public class ReflectionExtensionsTest
 		assertNotNull(methodNames.get("married"));
 	}
 
+	/**
+	 * Test method for {@link ReflectionExtensions#getFieldModifiers(Field)}
+	 */
+	@Test
+	public void testGetFieldModifiers() throws NoSuchFieldException, SecurityException
+	{
+		Set<FieldModifier> expected;
+		Set<FieldModifier> actual;
+
+		actual = ReflectionExtensions
+			.getFieldModifiers(Person.class.getDeclaredField("serialVersionUID"));
+		expected = EnumSet.of(FieldModifier.PRIVATE, FieldModifier.STATIC, FieldModifier.FINAL);
+		assertEquals(expected, actual);
+	}
+
 	/**
 	 * Test method for {@link ReflectionExtensions#getModifiers(java.lang.reflect.Field)}.
 	 *
@@ -696,6 +751,49 @@ public class ReflectionExtensionsTest
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link ReflectionExtensions#setFieldValue(Object, Field, Object)} with
+	 * collections that can not be created with the same type
+	 *
+	 * @throws NoSuchFieldException
+	 *             is thrown if no such field exists.
+	 * @throws IllegalAccessException
+	 *             is thrown if an illegal on create an instance or access a method.
+	 */
+	@Test
+	public void testSetFieldValueWithContainerOfOtherType()
+		throws NoSuchFieldException, IllegalAccessException
+	{
+		Regal regal;
+		Regal anderesRegal;
+		Stapel stapel;
+		List<String> buecher;
+		List<String> kopie;
+
+		regal = new Regal();
+		buecher = List.of("Faust");
+		stapel = new Stapel("Eingang");
+		stapel.add("Ilias");
+		ReflectionExtensions.setFieldValue(regal, Regal.class.getDeclaredField("buecher"),
+			buecher);
+		ReflectionExtensions.setFieldValue(regal, Regal.class.getDeclaredField("stapel"),
+			stapel);
+		assertSame(buecher, regal.buecher);
+		assertThrows(UnsupportedOperationException.class, () -> regal.buecher.add("Ilias"));
+		assertSame(stapel, regal.stapel);
+		// new scenario with copyFieldValue ...
+		anderesRegal = new Regal();
+		ReflectionExtensions.copyFieldValue(regal, anderesRegal, "buecher");
+		ReflectionExtensions.copyFieldValue(regal, anderesRegal, "stapel");
+		assertSame(buecher, anderesRegal.buecher);
+		assertSame(stapel, anderesRegal.stapel);
+		// new scenario with a collection of the same type ...
+		kopie = new ArrayList<>(buecher);
+		ReflectionExtensions.setFieldValue(regal, Regal.class.getDeclaredField("buecher"), kopie);
+		assertNotSame(kopie, regal.buecher);
+		assertEquals(kopie, regal.buecher);
+	}
+
 	/**
 	 * Test method for {@link ReflectionExtensions#setFieldValue(Class, String, Object)}.
 	 *
@@ -722,6 +820,40 @@ public class ReflectionExtensionsTest
 		actual = StaticBox.getValue();
 		expected = null;
 		assertEquals(expected, actual);
+		// new scenario with a static final field ...
+		assertThrows(IllegalAccessException.class,
+			() -> ReflectionExtensions.setFieldValue(Person.class, "serialVersionUID", 2L));
+		// new scenario with an unknown field ...
+		assertThrows(NoSuchFieldException.class,
+			() -> ReflectionExtensions.setFieldValue(StaticBox.class, "foo", "bar"));
+	}
+
+	/**
+	 * Test method for {@link ReflectionExtensions#setStaticFieldValues(Class, Map)}
+	 *
+	 * @throws IllegalAccessException
+	 *             is thrown if an illegal on create an instance or access of a method
+	 * @throws NoSuchFieldException
+	 *             is thrown if no such field exists.
+	 */
+	@Test
+	public void testSetStaticFieldValues() throws NoSuchFieldException, IllegalAccessException
+	{
+		Map<String, Object> fieldValues;
+
+		fieldValues = new LinkedHashMap<>();
+		fieldValues.put("value", "Leo");
+		fieldValues.put("counter", 3);
+		ReflectionExtensions.setStaticFieldValues(StaticBox.class, fieldValues);
+		assertEquals("Leo", StaticBox.getValue());
+		assertEquals(3, StaticBox.getCounter());
+		// new scenario with an unknown field, no value is set ...
+		fieldValues.put("value", null);
+		fieldValues.put("foo", "bar");
+		assertThrows(NoSuchFieldException.class,
+			() -> ReflectionExtensions.setStaticFieldValues(StaticBox.class, fieldValues));
+		assertEquals("Leo", StaticBox.getValue());
+		ReflectionExtensions.setFieldValue(StaticBox.class, "value", (Object)null);
 	}
 
 
@@ -769,6 +901,52 @@ public class ReflectionExtensionsTest
 		ReflectionExtensions.setFieldValue(primitiveArrays, dest, declaredField);
 		assertArrayEquals(primitiveArrays.getBooleanArray(), dest.getBooleanArray());
 
+		Employee employee = Employee.builder().id("1").build();
+		employee.setSubOrdinates(SetFactory.newHashSet(Employee.builder().id("2").build()));
+		Employee destinationEmployee = Employee.builder().id("3").build();
+		declaredField = ReflectionExtensions.getDeclaredField(employee, "subOrdinates");
+		ReflectionExtensions.setFieldValue(employee, destinationEmployee, declaredField);
+		assertEquals(employee.getSubOrdinates(), destinationEmployee.getSubOrdinates());
+		assertNotSame(employee.getSubOrdinates(), destinationEmployee.getSubOrdinates());
+
+	}
+
+	/**
+	 * Test method for {@link ReflectionExtensions#forEachField(Class, FieldVisitor)}
+	 */
+	@Test
+	public void testForEachField()
+	{
+		List<String> actual;
+
+		actual = new ArrayList<>();
+		ReflectionExtensions.forEachField(Member.class, field -> actual.add(field.getName()));
+		assertEquals(Arrays.asList(ReflectionExtensions.getAllDeclaredFieldNames(Member.class)),
+			actual);
+	}
+
+	/**
+	 * Test method for {@link ReflectionExtensions#forEachFieldValue(Object, FieldValueVisitor)}
+	 */
+	@Test
+	public void testForEachFieldValue()
+	{
+		long[] sum = new long[1];
+
+		ReflectionExtensions.forEachFieldValue(new Television(4, true), new FieldValueVisitor()
+		{
+			@Override
+			public void visitObject(FieldMetadata field, Object value)
+			{
+			}
+
+			@Override
+			public void visitInt(FieldMetadata field, int value)
+			{
+				sum[0] += value;
+			}
+		});
+		assertEquals(4, sum[0]);
 	}
 
 }
@@ -0,0 +1,141 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Member;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link ReflectionWarmUp}
+ */
+class ReflectionWarmUpTest
+{
+
+	/**
+	 * Test method for {@link ReflectionWarmUp#of(int)}
+	 */
+	@Test
+	public void testOf()
+	{
+		ReflectionWarmUp warmUp;
+
+		warmUp = ReflectionWarmUp.of(2);
+		assertEquals(2, warmUp.getParallelism());
+		assertEquals(Thread.currentThread().getContextClassLoader(), warmUp.getClassLoader());
+		// new scenario with default parallelism ...
+		warmUp = ReflectionWarmUp.of();
+		assertEquals(Runtime.getRuntime().availableProcessors(), warmUp.getParallelism());
+		// new scenario with invalid parallelism ...
+		assertThrows(IllegalArgumentException.class, () -> ReflectionWarmUp.of(0));
+	}
+
+	/**
+	 * Test method for {@link ReflectionWarmUp#warmUp(Class...)}
+	 */
+	@Test
+	public void testWarmUp() throws InterruptedException
+	{
+		Map<Class<?>, Duration> actual;
+
+		actual = ReflectionWarmUp.of(2).warmUp(Person.class, Licht.class, Kunde.class,
+			Number.class, Gender.class, Summierer.class, int[].class, Person.class);
+		assertEquals(List.of(Person.class, Licht.class, Kunde.class, Number.class, Gender.class,
+			Summierer.class, int[].class), new ArrayList<>(actual.keySet()));
+		for (Duration duration : actual.values())
+		{
+			assertFalse(duration.isNegative());
+		}
+		assertTrue(ClassMetadata.getCachedClasses().contains(Licht.class));
+		assertThrows(UnsupportedOperationException.class, () -> actual.remove(Person.class));
+		// new scenario without classes ...
+		assertTrue(ReflectionWarmUp.of(2).warmUp().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link ReflectionWarmUp#warmUpPackages(String...)}
+	 */
+	@Test
+	public void testWarmUpPackages() throws IOException, InterruptedException
+	{
+		Map<Class<?>, Duration> actual;
+
+		actual = ReflectionWarmUp.of(4).warmUpPackages("io.github.astrapi69.test.object");
+		assertTrue(actual.containsKey(Person.class));
+		assertTrue(actual.containsKey(Member.class));
+		assertTrue(actual.containsKey(Gender.class));
+		// new scenario with not existing package ...
+		actual = ReflectionWarmUp.of(4).warmUpPackages("io.github.astrapi69.notexisting");
+		assertTrue(actual.isEmpty());
+	}
+
+	/**
+	 * Test method for {@link ReflectionWarmUp#recordClassList(Path)} and
+	 * {@link ReflectionWarmUp#warmUpClassList(Path)}
+	 */
+	@Test
+	public void testRecordAndWarmUpClassList() throws IOException, InterruptedException
+	{
+		Path classList;
+		List<String> lines;
+		int count;
+		Map<Class<?>, Duration> actual;
+
+		classList = Files.createTempFile("reflection-warm-up", ".txt");
+		try
+		{
+			ClassMetadata.of(Person.class);
+			count = ReflectionWarmUp.recordClassList(classList);
+			lines = Files.readAllLines(classList);
+			assertEquals(count, lines.size());
+			assertTrue(lines.contains(Person.class.getName()));
+			// new scenario with comments, empty lines and a missing class ...
+			Files.write(classList, List.of("# recorded class list", "", Person.class.getName(),
+				" " + Licht.class.getName() + " ", "io.github.astrapi69.notexisting.Missing"));
+			actual = ReflectionWarmUp.of(2).warmUpClassList(classList);
+			assertEquals(List.of(Person.class, Licht.class), new ArrayList<>(actual.keySet()));
+		}
+		finally
+		{
+			Files.delete(classList);
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link Snapshot}
+ */
+class SnapshotTest
+{
+
+	private static Messwert newMesswert()
+	{
+		Messwert messwert = new Messwert();
+		messwert.setGueltig(true);
+		messwert.setStufe((byte)-3);
+		messwert.setEinheit('K');
+		messwert.setKanal((short)7);
+		messwert.setAnzahl(-42);
+		messwert.setZeitpunkt(Long.MIN_VALUE);
+		messwert.setFaktor(-1.5f);
+		messwert.setWert(Double.NaN);
+		messwert.setBezeichnung("Temperatur");
+		return messwert;
+	}
+
+	/**
+	 * Test method for {@link Snapshot#of(Object)} and {@link Snapshot#restore(Object)}
+	 */
+	@Test
+	public void testOfAndRestore()
+	{
+		Messwert expected;
+		Messwert actual;
+		Snapshot<Messwert> snapshot;
+		Person person;
+		Snapshot<Person> personSnapshot;
+
+		expected = newMesswert();
+		actual = newMesswert();
+		snapshot = Snapshot.of(actual);
+		assertEquals(Messwert.class, snapshot.getType());
+		actual.setGueltig(false);
+		actual.setStufe((byte)0);
+		actual.setEinheit('C');
+		actual.setKanal((short)0);
+		actual.setAnzahl(0);
+		actual.setZeitpunkt(0L);
+		actual.setFaktor(0f);
+		actual.setWert(0d);
+		actual.setBezeichnung(null);
+		assertSame(actual, snapshot.restore(actual));
+		assertEquals(expected, actual);
+		// new scenario with a restore to another object ...
+		actual = snapshot.restore(new Messwert());
+		assertEquals(expected, actual);
+		// new scenario with an object with an enum field ...
+		person = Person.builder().name("Alex").gender(Gender.FEMALE).build();
+		personSnapshot = Snapshot.of(person);
+		person.setName("Leo");
+		person.setGender(Gender.MALE);
+		personSnapshot.restore(person);
+		assertEquals("Alex", person.getName());
+		assertEquals(Gender.FEMALE, person.getGender());
+	}
+
+	/**
+	 * Test method for {@link Snapshot#restore(Object)} with an object of another class
+	 */
+	@Test
+	public void testRestoreWithAnotherClass()
+	{
+		Snapshot<Object> snapshot;
+
+		snapshot = Snapshot.of(new Messwert());
+		assertThrows(IllegalArgumentException.class, () -> snapshot.restore(new Mitglied()));
+	}
+}
@@ -28,8 +28,22 @@ class StaticBox
 {
 	private static String value;
 
+	private static int counter;
+
+	private static boolean enabled;
+
 	public static String getValue()
 	{
 		return value;
 	}
+
+	public static int getCounter()
+	{
+		return counter;
+	}
+
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
 }
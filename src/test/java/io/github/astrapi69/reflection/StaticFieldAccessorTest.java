@@ -0,0 +1,108 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link StaticFieldAccessor}
+ */
+class StaticFieldAccessorTest
+{
+
+	/**
+	 * Test method for {@link StaticFieldAccessor#of(Class, String)}
+	 */
+	@Test
+	public void testOf() throws NoSuchFieldException, IllegalAccessException
+	{
+		StaticFieldAccessor accessor;
+
+		accessor = StaticFieldAccessor.of(StaticBox.class, "value");
+		assertSame(accessor, StaticFieldAccessor.of(StaticBox.class, "value"));
+		assertEquals("value", accessor.getName());
+		assertEquals(String.class, accessor.getType());
+		assertFalse(accessor.isFinal());
+		// new scenario: final field
+		accessor = StaticFieldAccessor.of(Person.class, "serialVersionUID");
+		assertTrue(accessor.isFinal());
+		assertEquals(1L, accessor.get());
+		StaticFieldAccessor finalAccessor = accessor;
+		assertThrows(UnsupportedOperationException.class, () -> finalAccessor.set(2L));
+		// new scenario: unknown field
+		assertThrows(NoSuchFieldException.class,
+			() -> StaticFieldAccessor.of(StaticBox.class, "foo"));
+		// new scenario: instance field
+		assertThrows(IllegalArgumentException.class,
+			() -> StaticFieldAccessor.of(Person.class, "name"));
+	}
+
+	/**
+	 * Test method for {@link StaticFieldAccessor#get()} and {@link StaticFieldAccessor#set(Object)}
+	 */
+	@Test
+	public void testGetAndSet() throws NoSuchFieldException, IllegalAccessException
+	{
+		StaticFieldAccessor accessor;
+
+		accessor = StaticFieldAccessor.of(StaticBox.class, "enabled");
+		accessor.set(true);
+		assertEquals(true, accessor.get());
+		assertTrue(StaticBox.isEnabled());
+		accessor.setVolatile(false);
+		assertEquals(false, accessor.getVolatile());
+		assertFalse(StaticBox.isEnabled());
+		// new scenario: wrong value types
+		StaticFieldAccessor booleanAccessor = accessor;
+		assertThrows(IllegalArgumentException.class, () -> booleanAccessor.set("true"));
+		assertThrows(IllegalArgumentException.class, () -> booleanAccessor.set(null));
+	}
+
+	/**
+	 * Test method for the atomic operations of {@link StaticFieldAccessor}
+	 */
+	@Test
+	public void testAtomicOperations() throws NoSuchFieldException, IllegalAccessException
+	{
+		StaticFieldAccessor accessor;
+
+		accessor = StaticFieldAccessor.of(StaticBox.class, "counter");
+		accessor.set(0);
+		assertEquals(0, accessor.getAndAdd(5));
+		assertEquals(5, StaticBox.getCounter());
+		assertTrue(accessor.compareAndSet(5, 7));
+		assertFalse(accessor.compareAndSet(5, 9));
+		assertEquals(7, accessor.getAndSet(0));
+		assertEquals(0, StaticBox.getCounter());
+	}
+}